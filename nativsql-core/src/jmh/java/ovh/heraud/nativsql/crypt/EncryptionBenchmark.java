@@ -0,0 +1,74 @@
+package ovh.heraud.nativsql.crypt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ovh.heraud.nativsql.annotation.DbDataType;
+import ovh.heraud.nativsql.annotation.type.ParamKey;
+import ovh.heraud.nativsql.annotation.type.TypeParamKey;
+
+/**
+ * Compares the throughput of encrypting and decrypting one field value through
+ * {@link EncryptionUtils}, per reversible algorithm, storage and value length.
+ * The {@link CryptConfig} is resolved once, as the {@code AnnotationManager}
+ * does for a field.
+ *
+ * <p>
+ * Run with {@code ./gradlew :nativsql-core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EncryptionBenchmark {
+
+    private static final byte[] KEY = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    @Param({ "GCM", "GCM_DETERMINISTIC" })
+    public CryptAlgorithm algorithm;
+
+    @Param({ "STRING", "BYTE_ARRAY" })
+    public DbDataType storage;
+
+    @Param({ "16", "1024" })
+    public int valueLength;
+
+    private Map<ParamKey, Object> params;
+
+    private String plain;
+
+    private Object stored;
+
+    @Setup
+    public void setUp() {
+        params = new HashMap<>();
+        params.put(TypeParamKey.ENCRYPTED, true);
+        params.put(TypeParamKey.ALGO, new CryptAlgorithm[] { algorithm });
+        params.put(TypeParamKey.KEY_PROVIDER, (CryptKeyProvider) () -> KEY);
+        params.put(TypeParamKey.PREFIX, "{ENC}");
+        params.put(TypeParamKey.DB_DATA_TYPE, storage);
+        params.put(TypeParamKey.CRYPT_CONFIG, EncryptionUtils.buildCryptConfig(params));
+        plain = "x".repeat(valueLength);
+        stored = EncryptionUtils.encrypt(plain, params);
+    }
+
+    @Benchmark
+    public Object encrypt() {
+        return EncryptionUtils.encrypt(plain, params);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return EncryptionUtils.decrypt(stored, "value", params);
+    }
+}
@@ -1,6 +1,7 @@
 package ovh.heraud.nativsql.annotation;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -20,6 +21,8 @@ import ovh.heraud.nativsql.annotation.type.TypeParam;
 import ovh.heraud.nativsql.annotation.type.TypeParamKey;
 import ovh.heraud.nativsql.crypt.CryptAlgorithm;
 import ovh.heraud.nativsql.crypt.CryptKeyProvider;
+import ovh.heraud.nativsql.crypt.EncryptionUtils;
+import ovh.heraud.nativsql.domain.Lazy;
 import ovh.heraud.nativsql.exception.NativSQLException;
 import ovh.heraud.nativsql.util.CompositeTypeInfo;
 import ovh.heraud.nativsql.util.FieldAccessor;
@@ -176,6 +179,25 @@ public class AnnotationManager {
         });
     }
 
+    /**
+     * Gets the class of the values of a field: its type, or E for a
+     * {@code Lazy<E>} field.
+     */
+    private static Class<?> getValueClass(FieldAccessor<?> fieldAccessor) {
+        if (fieldAccessor.getType() == Lazy.class
+                && fieldAccessor.getGenericType() instanceof ParameterizedType parameterized) {
+            java.lang.reflect.Type elementType = parameterized.getActualTypeArguments()[0];
+            if (elementType instanceof Class<?> elementClass) {
+                return elementClass;
+            }
+            if (elementType instanceof ParameterizedType parameterizedElement
+                    && parameterizedElement.getRawType() instanceof Class<?> rawClass) {
+                return rawClass;
+            }
+        }
+        return fieldAccessor.getType();
+    }
+
     private TypeInfo getTypeInfoValue(FieldAccessor<?> fieldAccessor) {
         Map<ParamKey, Object> params = new HashMap<>(scanCryptParams(fieldAccessor));
         Type type = fieldAccessor.getAnnotation(Type.class);
@@ -183,11 +205,12 @@ public class AnnotationManager {
             params.put(TypeParamKey.DB_DATA_TYPE, type.value());
         }
 
-        // Pull JSON flag from field annotation or class annotation
+        // Pull JSON flag from field annotation or class annotation (of E for Lazy<E>)
         Class<?> fieldType = fieldAccessor.getType();
+        Class<?> valueType = getValueClass(fieldAccessor);
         if (fieldAccessor.getAnnotation(Json.class) != null
-                || getAnnotation(fieldType, Json.class) != null
-                || jsonClassCache.contains(fieldType)) {
+                || getAnnotation(valueType, Json.class) != null
+                || jsonClassCache.contains(valueType)) {
             params.put(TypeParamKey.JSON, Boolean.TRUE);
         }
 
@@ -241,6 +264,7 @@ public class AnnotationManager {
                 throw new NativSQLException("Encrypted field '" + fieldAccessor.getName()
                         + "': @Type must be STRING or BYTE_ARRAY, got " + dbDataType);
             }
+            params.put(TypeParamKey.CRYPT_CONFIG, EncryptionUtils.buildCryptConfig(params));
         }
         return new TypeInfo(params);
     }
@@ -498,6 +522,24 @@ public class AnnotationManager {
             existing.put(TypeParamKey.PREFIX, prefix);
         if (cost != null)
             existing.put(TypeParamKey.COST, cost);
+        existing.put(TypeParamKey.CRYPT_CONFIG, EncryptionUtils.buildCryptConfig(existing));
+    }
+
+    /**
+     * Rebuilds the resolved crypt configuration of every encrypted field loaded
+     * so far, calling each {@link CryptKeyProvider} again.
+     * Call it after rotating keys: values are otherwise encrypted and decrypted
+     * with the key read when the field was first mapped. Safe while the fields
+     * are being read and written: the new configuration is published through
+     * {@link TypeInfo#replaceParam}.
+     */
+    public void refreshCryptConfigs() {
+        for (TypeInfo typeInfo : typeCache.values()) {
+            Map<ParamKey, Object> params = typeInfo.getParams();
+            if (params.containsKey(TypeParamKey.ENCRYPTED)) {
+                typeInfo.replaceParam(TypeParamKey.CRYPT_CONFIG, EncryptionUtils.buildCryptConfig(params));
+            }
+        }
     }
 
     /**
@@ -563,7 +605,7 @@ public class AnnotationManager {
             FieldKey key = entry.getKey();
             TypeInfo typeInfo = entry.getValue();
             FieldAccessor<Object> fa = ReflectionUtils.getFields(key.clazz()).getOrNull(key.fieldName());
-            if (fa != null && fa.getType() == targetType) {
+            if (fa != null && getValueClass(fa) == targetType) {
                 typeInfo.getParams().put(TypeParamKey.JSON, Boolean.TRUE);
             }
         }
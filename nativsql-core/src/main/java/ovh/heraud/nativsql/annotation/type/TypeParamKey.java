@@ -58,5 +58,13 @@ public enum TypeParamKey implements ParamKey {
      * Set by {@link ovh.heraud.nativsql.annotation.CompositeType} on the type class,
      * or programmatically via {@code setCompositeTypeInfo}.
      */
-    COMPOSITE
+    COMPOSITE,
+
+    /**
+     * Set for {@link Encrypted} fields when their {@code TypeInfo} is built —
+     * the {@code CryptConfig} resolved once from the other crypt params (key,
+     * algorithms, prefix, storage). Rebuilt by
+     * {@code AnnotationManager.refreshCryptConfigs()} on key rotation.
+     */
+    CRYPT_CONFIG
 }
@@ -0,0 +1,81 @@
+package ovh.heraud.nativsql.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * {@link EntityCache} backed by Caffeine, bounded by a maximum number of
+ * entity ids and a time-to-live after the first write of an id.
+ * Requires {@code com.github.ben-manes.caffeine:caffeine} on the classpath (an
+ * optional dependency of NativSQL).
+ *
+ * @param <T> the entity type
+ */
+public class CaffeineEntityCache<T> implements EntityCache<T> {
+    private final Cache<Object, Map<String, T>> cache;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param ttl         the time after which an entity is re-read from the
+     *                    database, or null for no expiry
+     * @param maximumSize the maximum number of cached entity ids (must be > 0)
+     * @throws NativSQLException if maximumSize is not positive or ttl is not
+     *                            positive
+     */
+    public CaffeineEntityCache(Duration ttl, long maximumSize) {
+        if (maximumSize <= 0) {
+            throw new NativSQLException("maximumSize must be greater than 0");
+        }
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize).recordStats();
+        if (ttl != null) {
+            if (ttl.isZero() || ttl.isNegative()) {
+                throw new NativSQLException("ttl must be a positive duration");
+            }
+            builder.expireAfterWrite(ttl);
+        }
+        this.cache = builder.build();
+    }
+
+    @Override
+    public T get(Object id, String columnSet) {
+        Map<String, T> byColumnSet = cache.getIfPresent(id);
+        T entity = byColumnSet != null ? byColumnSet.get(columnSet) : null;
+        if (entity != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return entity;
+    }
+
+    @Override
+    public void put(Object id, String columnSet, T entity) {
+        cache.asMap().computeIfAbsent(id, key -> new ConcurrentHashMap<>()).put(columnSet, entity);
+    }
+
+    @Override
+    public void invalidate(Object id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public EntityCacheStats getStats() {
+        return new EntityCacheStats(hitCount.sum(), missCount.sum(), cache.stats().evictionCount(),
+                cache.estimatedSize());
+    }
+}
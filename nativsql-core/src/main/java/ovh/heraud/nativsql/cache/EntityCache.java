@@ -0,0 +1,50 @@
+package ovh.heraud.nativsql.cache;
+
+/**
+ * Second-level cache of entities read by id, plugged into a repository with
+ * {@code GenericRepository.setEntityCache(...)}.
+ * Entries are keyed by the entity id and by the set of selected columns, since
+ * an entity read with some columns cannot answer a read of other columns.
+ * The repository stores and returns copies of the cached entities, and
+ * invalidates them on its own updates and deletes.
+ * Implementations must be thread-safe.
+ *
+ * @param <T> the entity type
+ */
+public interface EntityCache<T> {
+
+    /**
+     * Gets a cached entity.
+     *
+     * @param id        the entity id
+     * @param columnSet the canonical (sorted, comma-separated) selected columns
+     * @return the cached entity, or null on a miss
+     */
+    T get(Object id, String columnSet);
+
+    /**
+     * Caches an entity read with the given columns.
+     *
+     * @param id        the entity id
+     * @param columnSet the canonical (sorted, comma-separated) selected columns
+     * @param entity    the entity
+     */
+    void put(Object id, String columnSet, T entity);
+
+    /**
+     * Removes every cached column set of an entity.
+     *
+     * @param id the entity id
+     */
+    void invalidate(Object id);
+
+    /**
+     * Removes every cached entity.
+     */
+    void invalidateAll();
+
+    /**
+     * Gets the hit/miss statistics of this cache.
+     */
+    EntityCacheStats getStats();
+}
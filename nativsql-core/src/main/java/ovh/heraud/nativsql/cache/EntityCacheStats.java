@@ -0,0 +1,21 @@
+package ovh.heraud.nativsql.cache;
+
+/**
+ * Statistics of an {@link EntityCache}.
+ *
+ * @param hitCount      the number of reads answered by the cache
+ * @param missCount     the number of reads that went to the database
+ * @param evictionCount the number of entries evicted for size or expiry
+ * @param size          the approximate number of cached entity ids
+ */
+public record EntityCacheStats(long hitCount, long missCount, long evictionCount, long size) {
+
+    /**
+     * Gets the ratio of reads answered by the cache, or 1.0 when there was no
+     * read.
+     */
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+}
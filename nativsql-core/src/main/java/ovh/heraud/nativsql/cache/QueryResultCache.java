@@ -0,0 +1,157 @@
+package ovh.heraud.nativsql.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Spring bean caching the results of queries marked with {@code cacheFor(Duration)},
+ * shared by all the repositories so that any write to a table, from any
+ * repository, invalidates the cached results of that table.
+ * Size-bounded (least recently used entries are evicted first), with a
+ * per-entry time-to-live. Concurrent misses on the same key are coalesced
+ * through a {@link SingleFlight}: a single caller runs the query and the others
+ * wait for its result.
+ */
+@Component
+public class QueryResultCache {
+
+    /** Default maximum number of cached results. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final int maximumSize;
+    private final Map<Object, Entry> entries;
+    private final SingleFlight loading = new SingleFlight();
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+
+    private record Entry(String table, Object value, long expiresAtNanos) {
+    }
+
+    public QueryResultCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of cached results (must be > 0)
+     * @throws NativSQLException if maximumSize is not positive
+     */
+    public QueryResultCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new NativSQLException("maximumSize must be greater than 0");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > QueryResultCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached result for a key, or runs the loader and caches its result
+     * for the given time-to-live. When another thread is already loading the
+     * same key, waits for its result instead of running the loader.
+     * A result loaded while the table was written is returned but not cached.
+     *
+     * @param table  the table queried, used for invalidation
+     * @param key    the cache key (e.g. the SQL and its parameters)
+     * @param ttl    the time-to-live of the result
+     * @param loader runs the query
+     * @return the cached or loaded result
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String table, Object key, Duration ttl, Supplier<V> loader) {
+        Object cached = getIfPresent(key);
+        if (cached != null) {
+            return (V) cached;
+        }
+        return loading.execute(key, () -> {
+            long version = tableVersion(table).get();
+            V value = loader.get();
+            if (value != null && tableVersion(table).get() == version) {
+                synchronized (entries) {
+                    entries.put(key, new Entry(table, value, System.nanoTime() + ttl.toNanos()));
+                }
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Removes the cached results of a table and discards the results of the
+     * queries on that table currently running.
+     *
+     * @param table the table written
+     */
+    public void invalidateTable(String table) {
+        tableVersion(table).incrementAndGet();
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().table().equals(table)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether a query on the table was ever loaded through this cache,
+     * cached or still running. Writes to other tables have nothing to
+     * invalidate.
+     *
+     * @param table the table
+     * @return true once a query on the table was loaded
+     */
+    public boolean hasQueried(String table) {
+        return tableVersions.containsKey(table);
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void invalidateAll() {
+        tableVersions.values().forEach(AtomicLong::incrementAndGet);
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Gets the number of cached results, including expired ones not yet removed.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Object getIfPresent(Object key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    private AtomicLong tableVersion(String table) {
+        return tableVersions.computeIfAbsent(table, t -> new AtomicLong());
+    }
+}
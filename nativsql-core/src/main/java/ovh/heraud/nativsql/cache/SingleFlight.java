@@ -0,0 +1,58 @@
+package ovh.heraud.nativsql.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same work: while a loader runs for a
+ * key, other callers with an equal key wait for its result (or its exception)
+ * instead of running their own. Nothing is kept once the loader completes.
+ */
+public class SingleFlight {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the loader, or waits for the result of the loader already running for
+     * an equal key.
+     *
+     * @param key    identifies the work (e.g. the SQL and its parameters)
+     * @param loader does the work
+     * @return the result of the loader, shared by all the concurrent callers
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Object key, Supplier<V> loader) {
+        CompletableFuture<Object> ownLoad = new CompletableFuture<>();
+        CompletableFuture<Object> otherLoad = inFlight.putIfAbsent(key, ownLoad);
+        if (otherLoad != null) {
+            return (V) await(otherLoad);
+        }
+        try {
+            V value = loader.get();
+            ownLoad.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            ownLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ownLoad);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
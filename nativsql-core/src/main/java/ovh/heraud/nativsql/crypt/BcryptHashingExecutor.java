@@ -0,0 +1,216 @@
+package ovh.heraud.nativsql.crypt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Bounds the bcrypt hashes of one-way {@code @Encrypted} fields. At most
+ * {@code maxConcurrentHashes} hashes run at once, whatever the number of
+ * writing threads, so a burst of writes (e.g. a login storm) cannot take every
+ * CPU.
+ *
+ * <p>
+ * A hash first takes a permit. When none is free, the caller waits up to
+ * {@code maxWait} and then fails with {@link CryptErrorCode#HASHING_BUSY};
+ * {@link Duration#ZERO} fails fast instead of waiting.
+ *
+ * <p>
+ * {@link #hash(CryptUtils, String)} runs the hash on the calling thread, once it
+ * holds a permit: a single write has nothing to wait for but its own hash.
+ * {@link #hashAll(CryptUtils, List)} hashes several values in parallel on the
+ * executor threads; the caller takes the permit of each value before handing
+ * it over, so a batch never queues more hashes than the limit.
+ *
+ * <p>
+ * {@link EncryptionUtils} hashes through {@link #getDefault()}.
+ */
+public class BcryptHashingExecutor {
+
+    /** Default time a hash waits for a permit. */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+    private static volatile BcryptHashingExecutor defaultExecutor;
+
+    private final Semaphore permits;
+
+    private final Duration maxWait;
+
+    private final ExecutorService executor;
+
+    /**
+     * Creates an executor running one hash per available processor, waiting at
+     * most {@link #DEFAULT_MAX_WAIT} for a permit.
+     */
+    public BcryptHashingExecutor() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Creates an executor.
+     *
+     * @param maxConcurrentHashes the maximum number of concurrent hashes (must be
+     *                            > 0)
+     * @param maxWait             the time a hash waits for a permit before failing
+     *                            with HASHING_BUSY; {@link Duration#ZERO} fails
+     *                            fast (must not be null or negative)
+     * @throws NativSQLException if maxConcurrentHashes is not positive or maxWait
+     *                           is null or negative
+     */
+    public BcryptHashingExecutor(int maxConcurrentHashes, Duration maxWait) {
+        if (maxConcurrentHashes <= 0) {
+            throw new NativSQLException("maxConcurrentHashes must be greater than 0");
+        }
+        if (maxWait == null || maxWait.isNegative()) {
+            throw new NativSQLException("maxWait must not be null or negative");
+        }
+        this.permits = new Semaphore(maxConcurrentHashes, true);
+        this.maxWait = maxWait;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrentHashes, runnable -> {
+            Thread thread = new Thread(runnable, "nativsql-bcrypt-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the executor used by {@link EncryptionUtils}, created on first use
+     * with the default settings.
+     */
+    public static BcryptHashingExecutor getDefault() {
+        BcryptHashingExecutor current = defaultExecutor;
+        if (current == null) {
+            synchronized (BcryptHashingExecutor.class) {
+                current = defaultExecutor;
+                if (current == null) {
+                    current = new BcryptHashingExecutor();
+                    defaultExecutor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replaces the executor used by {@link EncryptionUtils}. The previous one
+     * completes the hashes it already runs.
+     *
+     * @param executor the new executor (must not be null)
+     * @throws NativSQLException if executor is null
+     */
+    public static void setDefault(BcryptHashingExecutor executor) {
+        if (executor == null) {
+            throw new NativSQLException("executor cannot be null");
+        }
+        defaultExecutor = executor;
+    }
+
+    /**
+     * Hashes a value on the calling thread, once a permit is free.
+     *
+     * @param utils the CryptUtils holding the bcrypt strength
+     * @param plain the value to hash — never null
+     * @return the bcrypt hash
+     * @throws CryptException(HASHING_BUSY) if no permit is free within maxWait
+     * @throws CryptException(ENCODE_FAILED) if hashing fails
+     */
+    public String hash(CryptUtils utils, String plain) {
+        acquire();
+        try {
+            return utils.hashBcrypt(plain);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Hashes several values in parallel and waits for all of them. Null values
+     * stay null.
+     *
+     * <p>
+     * The permit of each value is taken by the caller before the value is handed
+     * to the executor threads, so the caller blocks (or fails) while the limit
+     * is reached; the hashes already handed over still complete.
+     *
+     * @param utils  the CryptUtils holding the bcrypt strength
+     * @param plains the values to hash
+     * @return the bcrypt hashes, in the order of {@code plains}
+     * @throws CryptException(HASHING_BUSY) if no permit is free within maxWait
+     * @throws CryptException(ENCODE_FAILED) if hashing fails
+     */
+    public List<String> hashAll(CryptUtils utils, List<String> plains) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(plains.size());
+        try {
+            for (String plain : plains) {
+                if (plain == null) {
+                    futures.add(CompletableFuture.completedFuture(null));
+                    continue;
+                }
+                acquire();
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return utils.hashBcrypt(plain);
+                    } finally {
+                        permits.release();
+                    }
+                }, executor));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(false));
+            throw e;
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<String> future : futures) {
+                hashes.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return hashes;
+    }
+
+    /**
+     * Stops the executor threads once the hashes handed over complete.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the number of hashes that can start right away.
+     */
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        boolean acquired;
+        try {
+            acquired = maxWait.isZero()
+                    ? permits.tryAcquire()
+                    : permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CryptException(CryptErrorCode.HASHING_BUSY,
+                    "Interrupted while waiting to hash a value [HASHING_BUSY]", e);
+        }
+        if (!acquired) {
+            throw new CryptException(CryptErrorCode.HASHING_BUSY,
+                    "Too many concurrent bcrypt hashes, no permit within " + maxWait + " [HASHING_BUSY]");
+        }
+    }
+}
@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
  *
  * GCM   : AES/GCM/NoPadding with a random 12-byte IV and 128-bit auth tag.
  *         Non-deterministic (IV is random) — WHERE equality on GCM-encrypted fields is not supported.
+ * GCM_DETERMINISTIC: AES/GCM/NoPadding with a synthetic IV derived from the plaintext.
+ *         Deterministic — WHERE equality (EQUALS, IN) is supported and can use an index.
  * BCRYPT: one-way bcrypt hash — irreversible, used for passwords.
  *         Verification is the caller's responsibility ({@code BCrypt.checkpw(input, storedHash)}).
  */
@@ -21,6 +23,15 @@ public enum CryptAlgorithm {
      */
     GCM("AES/GCM/NoPadding", false, false),
 
+    /**
+     * AES/GCM/NoPadding with a synthetic IV: the IV is the HMAC-SHA256 of the
+     * plaintext (under a key derived from the field key), truncated to 12 bytes.
+     * The same plaintext always gives the same ciphertext, so equality lookups
+     * can be done on the ciphertext; in exchange, equal values are visible as
+     * such in the database. Same storage format as {@link #GCM}.
+     */
+    GCM_DETERMINISTIC("AES/GCM/NoPadding", true, false),
+
     /**
      * BCrypt one-way hash — irreversible.
      * No symmetric key required. Use {@code COST} param to override the default work factor (12).
@@ -1,17 +1,17 @@
 package ovh.heraud.nativsql.crypt;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * Resolved encryption configuration for a single mapped field.
- * Pure data object — holds the key and algorithm settings.
- * Encryption and decryption logic lives in {@code AbstractTypeMapper}.
+ * Holds the key and algorithm settings, together with what is derived from them
+ * once instead of per value: the prefix bytes and the shared {@link CryptUtils}.
+ * Encryption and decryption logic lives in {@link EncryptionUtils}.
  *
- * <p>Built at mapper construction time from the resolved {@code TypeParamKey} params.
+ * <p>Built when the field's {@code TypeInfo} is built, from the resolved {@code TypeParamKey} params,
+ * and stored under {@code TypeParamKey.CRYPT_CONFIG}.
  */
 @Getter
-@RequiredArgsConstructor
 public class CryptConfig {
 
     /** Raw AES key bytes. Null for one-way algorithms (e.g. BCRYPT). */
@@ -26,4 +26,18 @@ public class CryptConfig {
     /** True = VARBINARY storage, false = VARCHAR (default). */
     private final boolean binary;
 
+    /** The prefix bytes prepended to BYTE_ARRAY values. Empty when there is no prefix. */
+    private final byte[] prefixBytes;
+
+    /** The CryptUtils for this key and bcrypt cost, shared with the fields using the same ones. */
+    private final CryptUtils cryptUtils;
+
+    public CryptConfig(byte[] key, CryptAlgorithm[] algorithms, String prefix, boolean binary, int cost) {
+        this.key = key;
+        this.algorithms = algorithms;
+        this.prefix = prefix;
+        this.binary = binary;
+        this.prefixBytes = prefix != null ? prefix.getBytes() : new byte[0];
+        this.cryptUtils = EncryptionUtils.getCachedCryptUtils(key, cost);
+    }
 }
@@ -24,5 +24,8 @@ public enum CryptErrorCode {
     ENCODE_FAILED,
 
     /** Attempted to use PREFIX on a one-way algorithm. */
-    PREFIX_NOT_APPLICABLE
+    PREFIX_NOT_APPLICABLE,
+
+    /** No bcrypt hashing permit freed up in time — see {@link BcryptHashingExecutor}. */
+    HASHING_BUSY
 }
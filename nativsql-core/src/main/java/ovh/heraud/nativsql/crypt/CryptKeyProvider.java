@@ -8,8 +8,9 @@ package ovh.heraud.nativsql.crypt;
  * then via a no-arg constructor. If neither is available, a
  * {@link ovh.heraud.nativsql.exception.NativSQLException} is thrown.
  *
- * <p><b>Key lifetime:</b> {@code getKey()} is called once at {@link CryptConfig} construction
- * time. The returned {@code byte[]} is held in memory for the lifetime of the mapper.
+ * <p><b>Key lifetime:</b> {@code getKey()} is called once per field, when its {@link CryptConfig}
+ * is built, and again on {@code AnnotationManager.refreshCryptConfigs()} (key rotation).
+ * The returned {@code byte[]} is held in memory until then.
  * For higher security, delegate to a KMS/HSM that never exports the raw key bytes.
  */
 @FunctionalInterface
@@ -1,16 +1,19 @@
 package ovh.heraud.nativsql.crypt;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.util.Arrays;
 import java.util.Base64;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.Mac;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -23,7 +26,18 @@ import static ovh.heraud.nativsql.crypt.CryptErrorCode.*;
  * No Spring dependency — the key is passed via constructor.
  *
  * <p>GCM format: IV (12 bytes) || ciphertext+tag. The IV is generated fresh for
- * each encrypt call using a {@code static final SecureRandom} instance (thread-safe).
+ * each encrypt call using a per-thread {@code SecureRandom}, so that concurrent
+ * encryptions do not contend on a single generator.
+ *
+ * <p>The {@code SecretKeySpec} is built once per instance and each thread reuses
+ * its own {@code Cipher}, re-initialized for every value: no provider lookup per
+ * value. Instances are meant to be shared (see
+ * {@link EncryptionUtils#getCachedCryptUtils(byte[], int)}).
+ *
+ * <p>Deterministic GCM ({@link CryptAlgorithm#GCM_DETERMINISTIC}) uses the same
+ * format, with an IV computed as HMAC-SHA256(ivKey, plaintext) truncated to 12
+ * bytes, {@code ivKey} being derived from the AES key. Since the IV only repeats
+ * for the same plaintext, GCM nonce reuse never mixes two different values.
  *
  * <p>Never logs any value — neither plain, cipher, nor key bytes.
  */
@@ -31,10 +45,16 @@ public class CryptUtils {
 
     private static final int GCM_IV_LENGTH = 12;
     private static final int GCM_TAG_LENGTH = 128;
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final ThreadLocal<SecureRandom> SECURE_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] SYNTHETIC_IV_LABEL = "nativsql-synthetic-iv".getBytes(StandardCharsets.UTF_8);
 
-    private final byte[] key;
+    private final SecretKeySpec secretKey;
     private final int bcryptStrength;
+    private final SecretKeySpec syntheticIvKey;
+    private final ThreadLocal<Cipher> gcmCipher = new ThreadLocal<>();
+    private final ThreadLocal<Mac> syntheticIvMac = new ThreadLocal<>();
+    private volatile BCryptPasswordEncoder bcryptEncoder;
 
     /**
      * Creates a CryptUtils with the given AES key and default bcrypt strength (12).
@@ -52,10 +72,39 @@ public class CryptUtils {
      * @param bcryptStrength bcrypt work factor (4–31, default 12)
      */
     public CryptUtils(byte[] key, int bcryptStrength) {
-        this.key = key;
+        // A missing key surfaces as an InvalidKeyException on first use
+        this.secretKey = key != null && key.length > 0 ? new SecretKeySpec(key, "AES") : null;
+        this.syntheticIvKey = key != null && key.length > 0 ? deriveSyntheticIvKey(key) : null;
         this.bcryptStrength = bcryptStrength;
     }
 
+    /**
+     * Derives the HMAC key of the synthetic IVs from the AES key, so that the AES
+     * key itself is never used as a MAC key.
+     */
+    private static SecretKeySpec deriveSyntheticIvKey(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            return new SecretKeySpec(mac.doFinal(SYNTHETIC_IV_LABEL), HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new CryptException(ENCODE_FAILED, "Synthetic IV key derivation failed [ENCODE_FAILED]", e);
+        }
+    }
+
+    /**
+     * Returns the GCM Cipher of the current thread, created on first use.
+     * Callers must init it before each use.
+     */
+    private Cipher getGcmCipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+        Cipher cipher = gcmCipher.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CryptAlgorithm.GCM.getTransformation());
+            gcmCipher.set(cipher);
+        }
+        return cipher;
+    }
+
     /**
      * Encrypts {@code plain} using AES/GCM/NoPadding with a fresh random IV.
      * Returns raw bytes: IV (12) || ciphertext+tag.
@@ -65,22 +114,58 @@ public class CryptUtils {
      * @throws CryptException(ENCODE_FAILED) on JCA error
      */
     public byte[] encryptGcm(String plain) {
-        try {
-            byte[] input = plain.getBytes(java.nio.charset.StandardCharsets.UTF_8);
-            SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
-            Cipher cipher = Cipher.getInstance(CryptAlgorithm.GCM.getTransformation());
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        SECURE_RANDOM.get().nextBytes(iv);
+        return encryptGcm(plain.getBytes(StandardCharsets.UTF_8), iv);
+    }
 
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            SECURE_RANDOM.nextBytes(iv);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+    /**
+     * Encrypts {@code plain} using AES/GCM/NoPadding with a synthetic IV derived
+     * from the plaintext: the same plaintext always gives the same bytes, in the
+     * format of {@link #encryptGcm(String)} (so {@link #decryptGcm} reads both).
+     *
+     * @param plain the plaintext to encrypt — never null
+     * @return the ciphertext bytes
+     * @throws CryptException(ENCODE_FAILED) on JCA error
+     */
+    public byte[] encryptGcmDeterministic(String plain) {
+        byte[] input = plain.getBytes(StandardCharsets.UTF_8);
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        try {
+            Mac mac = syntheticIvMac.get();
+            if (mac == null) {
+                mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(syntheticIvKey);
+                syntheticIvMac.set(mac);
+            }
+            System.arraycopy(mac.doFinal(input), 0, iv, 0, GCM_IV_LENGTH);
+        } catch (InvalidKeyException | NoSuchAlgorithmException | IllegalArgumentException e) {
+            throw new CryptException(ENCODE_FAILED, "Encryption failed [ENCODE_FAILED]", e);
+        }
+        return encryptGcm(input, iv);
+    }
 
-            byte[] cipherText = cipher.doFinal(input);
-            byte[] output = new byte[GCM_IV_LENGTH + cipherText.length];
+    private byte[] encryptGcm(byte[] input, byte[] iv) {
+        try {
+            Cipher cipher = getGcmCipher();
+            GCMParameterSpec spec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
+            try {
+                cipher.init(Cipher.ENCRYPT_MODE, secretKey, spec);
+            } catch (InvalidAlgorithmParameterException e) {
+                // A Cipher refuses the IV of its previous encryption, which happens when
+                // the same value is encrypted deterministically twice in a row
+                cipher = Cipher.getInstance(CryptAlgorithm.GCM.getTransformation());
+                gcmCipher.set(cipher);
+                cipher.init(Cipher.ENCRYPT_MODE, secretKey, spec);
+            }
+
+            // Write the ciphertext+tag right after the IV, without an intermediate array
+            byte[] output = new byte[GCM_IV_LENGTH + cipher.getOutputSize(input.length)];
             System.arraycopy(iv, 0, output, 0, GCM_IV_LENGTH);
-            System.arraycopy(cipherText, 0, output, GCM_IV_LENGTH, cipherText.length);
+            cipher.doFinal(input, 0, input.length, output, GCM_IV_LENGTH);
             return output;
         } catch (InvalidKeyException | NoSuchAlgorithmException | NoSuchPaddingException
-                | IllegalBlockSizeException | BadPaddingException
+                | IllegalBlockSizeException | BadPaddingException | ShortBufferException
                 | InvalidAlgorithmParameterException e) {
             throw new CryptException(ENCODE_FAILED, "Encryption failed [ENCODE_FAILED]", e);
         }
@@ -102,14 +187,13 @@ public class CryptUtils {
                     "Decryption failed for column '" + columnName + "' with algo GCM [INVALID_FORMAT]");
         }
         try {
-            byte[] iv = Arrays.copyOfRange(cipherBytes, 0, GCM_IV_LENGTH);
-            byte[] cipherText = Arrays.copyOfRange(cipherBytes, GCM_IV_LENGTH, cipherBytes.length);
-
-            SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
-            Cipher cipher = Cipher.getInstance(CryptAlgorithm.GCM.getTransformation());
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+            // IV and ciphertext+tag are read in place, without copying them out
+            Cipher cipher = getGcmCipher();
+            cipher.init(Cipher.DECRYPT_MODE, secretKey,
+                    new GCMParameterSpec(GCM_TAG_LENGTH, cipherBytes, 0, GCM_IV_LENGTH));
 
-            return new String(cipher.doFinal(cipherText), java.nio.charset.StandardCharsets.UTF_8);
+            byte[] plain = cipher.doFinal(cipherBytes, GCM_IV_LENGTH, cipherBytes.length - GCM_IV_LENGTH);
+            return new String(plain, StandardCharsets.UTF_8);
         } catch (BadPaddingException | IllegalBlockSizeException e) {
             throw new CryptException(AUTH_FAILED,
                     "Decryption failed for column '" + columnName + "' with algo GCM [AUTH_FAILED]", e);
@@ -121,7 +205,10 @@ public class CryptUtils {
     }
 
     /**
-     * Hashes {@code plain} using bcrypt with the configured strength.
+     * Hashes {@code plain} using bcrypt with the configured strength, on the
+     * calling thread. The encoder is created once per instance.
+     * {@link EncryptionUtils} hashes through the bounded
+     * {@link BcryptHashingExecutor} instead.
      *
      * @param plain the value to hash — never null
      * @return the bcrypt hash string
@@ -129,13 +216,22 @@ public class CryptUtils {
      */
     public String hashBcrypt(String plain) {
         try {
-            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(bcryptStrength);
-            return encoder.encode(plain);
+            return getBcryptEncoder().encode(plain);
         } catch (Exception e) {
             throw new CryptException(ENCODE_FAILED, "BCrypt hashing failed [ENCODE_FAILED]", e);
         }
     }
 
+    private BCryptPasswordEncoder getBcryptEncoder() {
+        // Thread-safe and stateless: a duplicate created by a race is harmless
+        BCryptPasswordEncoder encoder = bcryptEncoder;
+        if (encoder == null) {
+            encoder = new BCryptPasswordEncoder(bcryptStrength);
+            bcryptEncoder = encoder;
+        }
+        return encoder;
+    }
+
     /**
      * Encodes raw ciphertext bytes to a Base64 string (standard encoding, no padding stripped).
      */
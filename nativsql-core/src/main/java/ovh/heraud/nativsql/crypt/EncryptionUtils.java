@@ -1,5 +1,7 @@
 package ovh.heraud.nativsql.crypt;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -18,6 +20,11 @@ import ovh.heraud.nativsql.exception.NativSQLException;
  * {@link CryptUtils} instances are cached per {@code (key, cost)} pair so that
  * at
  * most one instance exists per unique encryption key across the JVM.
+ *
+ * <p>
+ * The {@link CryptConfig} is read from {@link TypeParamKey#CRYPT_CONFIG}, resolved
+ * once per field by the {@code AnnotationManager}; it is only built from the
+ * other params when absent (hand-built param maps).
  */
 public final class EncryptionUtils {
 
@@ -31,7 +38,8 @@ public final class EncryptionUtils {
 
     /**
      * Encrypts a plain-text string using the algorithm and key defined in
-     * {@code params}.
+     * {@code params}. One-way hashes run on the calling thread, within the limit
+     * of {@link BcryptHashingExecutor#getDefault()}.
      *
      * @param plain  the serialised value to encrypt
      * @param params the type parameters (ALGO, KEY_PROVIDER, PREFIX, DB_DATA_TYPE,
@@ -40,12 +48,42 @@ public final class EncryptionUtils {
      *         BYTE_ARRAY)
      */
     public static Object encrypt(String plain, Map<ParamKey, Object> params) {
-        CryptConfig cfg = buildCryptConfig(params);
-        CryptUtils utils = getCachedCryptUtils(cfg.getKey(), parseCost(params));
+        CryptConfig cfg = getCryptConfig(params);
+        CryptUtils utils = cfg.getCryptUtils();
+        if (cfg.getAlgorithms()[0].isOneWay()) {
+            return BcryptHashingExecutor.getDefault().hash(utils, plain);
+        }
+        return encryptValue(plain, cfg, utils);
+    }
+
+    /**
+     * Encrypts several plain-text strings sharing the same {@code params}, e.g.
+     * the values of one column across a batch of entities. One-way hashes run in
+     * parallel on {@link BcryptHashingExecutor#getDefault()}; the other values are
+     * encrypted on the calling thread. Null values stay null.
+     *
+     * @param plains the serialised values to encrypt
+     * @param params the type parameters (ALGO, KEY_PROVIDER, PREFIX, DB_DATA_TYPE,
+     *               COST)
+     * @return the encrypted representations, in the order of {@code plains}
+     */
+    public static List<Object> encryptAll(List<String> plains, Map<ParamKey, Object> params) {
+        CryptConfig cfg = getCryptConfig(params);
+        CryptUtils utils = cfg.getCryptUtils();
         if (cfg.getAlgorithms()[0].isOneWay()) {
-            return utils.hashBcrypt(plain);
+            return new ArrayList<>(BcryptHashingExecutor.getDefault().hashAll(utils, plains));
         }
-        byte[] cipherBytes = utils.encryptGcm(plain);
+        List<Object> encrypted = new ArrayList<>(plains.size());
+        for (String plain : plains) {
+            encrypted.add(plain != null ? encryptValue(plain, cfg, utils) : null);
+        }
+        return encrypted;
+    }
+
+    private static Object encryptValue(String plain, CryptConfig cfg, CryptUtils utils) {
+        byte[] cipherBytes = cfg.getAlgorithms()[0].isDeterministic()
+                ? utils.encryptGcmDeterministic(plain)
+                : utils.encryptGcm(plain);
         return prefixEncryptedValue(cipherBytes, cfg);
     }
 
@@ -53,7 +91,7 @@ public final class EncryptionUtils {
         if (!cfg.isBinary()) {
             return cfg.getPrefix() + CryptUtils.toBase64(cipherBytes);
         } else {
-            byte[] prefixBytes = cfg.getPrefix().getBytes();
+            byte[] prefixBytes = cfg.getPrefixBytes();
             byte[] prefixedBytes = new byte[prefixBytes.length + cipherBytes.length];
             System.arraycopy(prefixBytes, 0, prefixedBytes, 0, prefixBytes.length);
             System.arraycopy(cipherBytes, 0, prefixedBytes, prefixBytes.length, cipherBytes.length);
@@ -76,12 +114,11 @@ public final class EncryptionUtils {
      *         algorithms
      */
     public static String decrypt(Object stored, String columnName, Map<ParamKey, Object> params) {
-        CryptConfig cfg = buildCryptConfig(params);
+        CryptConfig cfg = getCryptConfig(params);
         if (cfg.getAlgorithms()[0].isOneWay()) {
             return stored.toString();
         }
-        CryptUtils utils = getCachedCryptUtils(cfg.getKey(), parseCost(params));
-        return decryptValue(stored, columnName, cfg, utils);
+        return decryptValue(stored, columnName, cfg, cfg.getCryptUtils());
     }
 
     private static String decryptValue(Object stored, String columnName, CryptConfig cfg, CryptUtils utils) {
@@ -91,10 +128,9 @@ public final class EncryptionUtils {
                         "Decryption failed for column '" + columnName
                                 + "': expected byte[] for BYTE_ARRAY storage [INVALID_FORMAT]");
             }
-            String prefix = cfg.getPrefix();
+            byte[] prefixBytes = cfg.getPrefixBytes();
             byte[] cipherBytes;
-            if (prefix != null && !prefix.isEmpty()) {
-                byte[] prefixBytes = prefix.getBytes();
+            if (prefixBytes.length > 0) {
                 cipherBytes = new byte[bytes.length - prefixBytes.length];
                 System.arraycopy(bytes, prefixBytes.length, cipherBytes, 0, cipherBytes.length);
             } else {
@@ -120,7 +156,7 @@ public final class EncryptionUtils {
         for (CryptAlgorithm algo : algorithms) {
             try {
                 return switch (algo) {
-                    case GCM -> utils.decryptGcm(cipherBytes, columnName);
+                    case GCM, GCM_DETERMINISTIC -> utils.decryptGcm(cipherBytes, columnName);
                     default -> throw new CryptException(CryptErrorCode.DECODE_FAILED,
                             "Unsupported algorithm for decryption: " + algo + " [DECODE_FAILED]");
                 };
@@ -136,7 +172,23 @@ public final class EncryptionUtils {
     // ---- param helpers ----
 
     /**
-     * Builds a {@link CryptConfig} from the type param map.
+     * Returns the {@link CryptConfig} resolved for the field, or builds it from
+     * the type param map when it was not resolved beforehand.
+     *
+     * @param params the type parameters
+     * @return the resolved CryptConfig
+     */
+    public static CryptConfig getCryptConfig(Map<ParamKey, Object> params) {
+        Object resolved = params.get(TypeParamKey.CRYPT_CONFIG);
+        if (resolved instanceof CryptConfig cfg) {
+            return cfg;
+        }
+        return buildCryptConfig(params);
+    }
+
+    /**
+     * Builds a {@link CryptConfig} from the type param map, reading the key from
+     * the {@link CryptKeyProvider}.
      *
      * @param params the type parameters
      * @return the resolved CryptConfig
@@ -163,7 +215,7 @@ public final class EncryptionUtils {
             throw new NativSQLException(
                     "Encrypted field: DB_DATA_TYPE must be STRING or BYTE_ARRAY, got " + dbDataType);
         }
-        return new CryptConfig(key, algorithms, prefix, binary);
+        return new CryptConfig(key, algorithms, prefix, binary, parseCost(params));
     }
 
     /**
@@ -0,0 +1,171 @@
+package ovh.heraud.nativsql.crypt;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Settings of a whole-table re-encryption, run by
+ * {@code GenericRepository.reEncrypt(ReEncryption)}: the {@code @Encrypted}
+ * columns to rewrite, how their current values were encrypted, and how fast to
+ * go.
+ *
+ * <p>
+ * Values are re-encrypted with the current configuration of their field. By
+ * default they are also decrypted with it (its algorithm cascade and prefix,
+ * e.g. to migrate unprefixed legacy values or a former algorithm); after a key
+ * rotation, {@link #decryptWith(CryptKeyProvider, CryptAlgorithm...)} gives the
+ * former key.
+ */
+public class ReEncryption {
+
+    /** Default number of rows read and updated at once. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final List<String> columns;
+    private CryptKeyProvider sourceKeyProvider;
+    private CryptAlgorithm[] sourceAlgorithms;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int parallelism = 1;
+    private int maxRowsPerSecond = 0;
+    private Object startAfter;
+    private Consumer<ReEncryptionProgress> progressListener = progress -> {
+    };
+
+    private ReEncryption(List<String> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Creates the settings of a re-encryption of the given columns.
+     *
+     * @param columns the property names (camelCase) of {@code @Encrypted} fields
+     * @return the settings
+     * @throws NativSQLException if no column is given
+     */
+    public static ReEncryption of(String... columns) {
+        if (columns == null || columns.length == 0) {
+            throw new NativSQLException("Column list cannot be empty");
+        }
+        return new ReEncryption(List.of(columns));
+    }
+
+    /**
+     * Decrypts the current values with another key and/or algorithms than the
+     * field's (e.g. the key before rotation). Values that only decrypt with the
+     * field's configuration are considered already migrated and left as is.
+     *
+     * @param keyProvider the former key, or null to keep the field's
+     * @param algorithms  the former algorithms, or none to keep the field's
+     */
+    public ReEncryption decryptWith(CryptKeyProvider keyProvider, CryptAlgorithm... algorithms) {
+        this.sourceKeyProvider = keyProvider;
+        this.sourceAlgorithms = algorithms != null && algorithms.length > 0 ? algorithms : null;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows read and updated at once.
+     *
+     * @param batchSize the batch size (must be > 0)
+     * @throws NativSQLException if batchSize is not positive
+     */
+    public ReEncryption batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new NativSQLException("batchSize must be greater than 0");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of batches re-encrypted and written concurrently, on the
+     * repository's parallel executor (or a per-call pool). Rows are still read
+     * in id order by the calling thread.
+     *
+     * @param parallelism the number of concurrent batches (must be > 0)
+     * @throws NativSQLException if parallelism is not positive
+     */
+    public ReEncryption parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new NativSQLException("parallelism must be greater than 0");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Limits the number of rows read per second, to keep the load of the
+     * database acceptable while the application runs.
+     *
+     * @param maxRowsPerSecond the limit, or 0 for none (must be >= 0)
+     * @throws NativSQLException if maxRowsPerSecond is negative
+     */
+    public ReEncryption maxRowsPerSecond(int maxRowsPerSecond) {
+        if (maxRowsPerSecond < 0) {
+            throw new NativSQLException("maxRowsPerSecond must be greater than or equal to 0");
+        }
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        return this;
+    }
+
+    /**
+     * Resumes a re-encryption after the given id, typically the
+     * {@link ReEncryptionProgress#checkpoint()} last reported by an interrupted
+     * run.
+     *
+     * @param id the last id already processed, or null to start from the first row
+     */
+    public ReEncryption startAfter(Object id) {
+        this.startAfter = id;
+        return this;
+    }
+
+    /**
+     * Sets the listener called after each batch, in id order, with the
+     * cumulative progress.
+     *
+     * @param progressListener the listener (must not be null)
+     * @throws NativSQLException if progressListener is null
+     */
+    public ReEncryption onProgress(Consumer<ReEncryptionProgress> progressListener) {
+        if (progressListener == null) {
+            throw new NativSQLException("progressListener cannot be null");
+        }
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public CryptKeyProvider getSourceKeyProvider() {
+        return sourceKeyProvider;
+    }
+
+    public CryptAlgorithm[] getSourceAlgorithms() {
+        return sourceAlgorithms;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getMaxRowsPerSecond() {
+        return maxRowsPerSecond;
+    }
+
+    public Object getStartAfter() {
+        return startAfter;
+    }
+
+    public Consumer<ReEncryptionProgress> getProgressListener() {
+        return progressListener;
+    }
+}
@@ -0,0 +1,26 @@
+package ovh.heraud.nativsql.crypt;
+
+import java.time.Duration;
+
+/**
+ * Progress of a whole-table re-encryption (see {@link ReEncryption}), counting
+ * the batches completed so far.
+ *
+ * @param rowsRead    the number of rows read and processed
+ * @param rowsUpdated the number of rows rewritten (rows already encrypted with
+ *                    the current configuration are not)
+ * @param checkpoint  the id of the last processed row, every row before it being
+ *                    processed too: pass it to {@link ReEncryption#startAfter}
+ *                    to resume; null if no row was processed
+ * @param elapsed     the time spent since the start of the run
+ */
+public record ReEncryptionProgress(long rowsRead, long rowsUpdated, Object checkpoint, Duration elapsed) {
+
+    /**
+     * Gets the average number of rows processed per second.
+     */
+    public double rowsPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? 0 : rowsRead * 1000.0 / millis;
+    }
+}
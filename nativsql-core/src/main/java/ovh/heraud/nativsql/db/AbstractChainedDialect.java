@@ -2,6 +2,9 @@ package ovh.heraud.nativsql.db;
 
 import java.util.Map;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import ovh.heraud.nativsql.annotation.AnnotationManager;
 import ovh.heraud.nativsql.exception.NativSQLException;
 import ovh.heraud.nativsql.mapper.ITypeMapper;
@@ -26,8 +29,18 @@ import ovh.heraud.nativsql.util.FieldAccessor;
  */
 public abstract class AbstractChainedDialect implements DatabaseDialect {
 
+    /**
+     * Name of the optional {@link ObjectMapper} bean used by the JSON mappers of
+     * the dialects, instead of a default {@code new ObjectMapper()}.
+     */
+    public static final String OBJECT_MAPPER_BEAN_NAME = "nativSqlObjectMapper";
+
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
     protected DatabaseDialect nextDialect;
 
+    private volatile ObjectMapper objectMapper = DEFAULT_OBJECT_MAPPER;
+
     /**
      * Create a chained dialect with a next dialect to delegate to.
      *
@@ -45,6 +58,38 @@ public abstract class AbstractChainedDialect implements DatabaseDialect {
         this.nextDialect = null;
     }
 
+    /**
+     * Sets the ObjectMapper of the JSON mappers of this dialect and of the next
+     * ones in the chain, e.g. with the application's modules (jsr310,
+     * Afterburner/Blackbird...) and features. Injected from the
+     * {@value #OBJECT_MAPPER_BEAN_NAME} bean when the dialect is a Spring bean;
+     * must be set before the first query, since the JSON mappers (and their
+     * cached readers/writers) are built from it.
+     *
+     * @param objectMapper the ObjectMapper (must not be null)
+     * @throws NativSQLException if objectMapper is null
+     */
+    @Autowired(required = false)
+    @Qualifier(OBJECT_MAPPER_BEAN_NAME)
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        if (objectMapper == null) {
+            throw new NativSQLException("objectMapper cannot be null");
+        }
+        this.objectMapper = objectMapper;
+        if (nextDialect instanceof AbstractChainedDialect next) {
+            next.setObjectMapper(objectMapper);
+        }
+    }
+
+    /**
+     * Gets the ObjectMapper of the JSON mappers of this dialect.
+     *
+     * @return the configured ObjectMapper, or a default one
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     /**
      * Gets the appropriate TypeMapper for the given class.
      * Default implementation delegates to the next dialect in the chain.
@@ -148,6 +193,38 @@ public abstract class AbstractChainedDialect implements DatabaseDialect {
         throw new NativSQLException("No dialect found in chain to extract exists result");
     }
 
+    @Override
+    public boolean requiresTransactionForStreaming() {
+        if (nextDialect != null) {
+            return nextDialect.requiresTransactionForStreaming();
+        }
+        throw new NativSQLException("No dialect found in chain to check streaming requirements");
+    }
+
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        if (nextDialect != null) {
+            return nextDialect.getStreamingFetchSize(fetchSize);
+        }
+        throw new NativSQLException("No dialect found in chain to get the streaming fetch size");
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        if (nextDialect != null) {
+            return nextDialect.supportsRowValueComparison();
+        }
+        throw new NativSQLException("No dialect found in chain to check row-value comparison support");
+    }
+
+    @Override
+    public String getArrayElementType(Class<?> javaType) {
+        if (nextDialect != null) {
+            return nextDialect.getArrayElementType(javaType);
+        }
+        throw new NativSQLException("No dialect found in chain to get array element type for: " + javaType);
+    }
+
     @Override
     public <T> ITypeMapper<T> getMapperForType(Class<T> targetType) {
         if (nextDialect != null) {
@@ -121,4 +121,34 @@ public interface DatabaseDialect {
      */
     boolean extractExistsResult(Object rawResult);
 
+    /**
+     * Tells whether the JDBC driver only honours the fetch size (i.e. uses a
+     * server-side cursor instead of buffering the whole result) when the
+     * connection is not in auto-commit mode — true for PostgreSQL.
+     * Streaming queries switch auto-commit off for their duration when needed.
+     */
+    boolean requiresTransactionForStreaming();
+
+    /**
+     * Returns the JDBC fetch size to set on a streaming query for the requested
+     * one. Most drivers stream with the requested fetch size as-is; MySQL
+     * Connector/J buffers the whole result unless it is Integer.MIN_VALUE.
+     */
+    int getStreamingFetchSize(int fetchSize);
+
+    /**
+     * Tells whether row-value comparisons such as {@code (a, b) > (:a, :b)} are
+     * supported. When false, keyset pagination falls back to the equivalent
+     * expanded OR form.
+     */
+    boolean supportsRowValueComparison();
+
+    /**
+     * Returns the SQL element type (e.g. "bigint") used to bind a list of values
+     * of the given Java type as a single array parameter, i.e.
+     * {@code column = ANY(:param)} instead of {@code column IN (:p1, :p2, ...)},
+     * or null if the dialect cannot bind such an array for that type.
+     */
+    String getArrayElementType(Class<?> javaType);
+
 }
@@ -1,17 +1,21 @@
 package ovh.heraud.nativsql.db.generic;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ovh.heraud.nativsql.annotation.AnnotationManager;
 import ovh.heraud.nativsql.db.AbstractChainedDialect;
 import ovh.heraud.nativsql.db.DatabaseDialect;
 import ovh.heraud.nativsql.db.IdentifierConverter;
 import ovh.heraud.nativsql.db.SnakeCaseIdentifierConverter;
+import ovh.heraud.nativsql.domain.Lazy;
 import ovh.heraud.nativsql.db.generic.mapper.BigDecimalTypeMapper;
 import ovh.heraud.nativsql.db.generic.mapper.BigIntegerTypeMapper;
 import ovh.heraud.nativsql.db.generic.mapper.BooleanTypeMapper;
@@ -30,7 +34,9 @@ import ovh.heraud.nativsql.db.generic.mapper.ShortTypeMapper;
 import ovh.heraud.nativsql.db.generic.mapper.StringTypeMapper;
 import ovh.heraud.nativsql.db.generic.mapper.UUIDTypeMapper;
 import ovh.heraud.nativsql.annotation.type.TypeParamKey;
+import ovh.heraud.nativsql.exception.NativSQLException;
 import ovh.heraud.nativsql.mapper.ITypeMapper;
+import ovh.heraud.nativsql.mapper.LazyTypeMapper;
 import ovh.heraud.nativsql.util.FieldAccessor;
 
 /**
@@ -54,6 +60,15 @@ public class GenericDialect extends AbstractChainedDialect {
 
     private final IdentifierConverter identifierConverter;
 
+    /** JSON mapper shared by every JSON field, rebuilt if the ObjectMapper changes. */
+    private volatile GenericJSONTypeMapper<?> jsonMapper;
+
+    /** Lazy mappers per element type. */
+    private final Map<Class<?>, LazyTypeMapper<?>> lazyMappers = new ConcurrentHashMap<>();
+
+    /** Lazy mappers of JSON fields per generic element type. */
+    private final Map<Type, LazyTypeMapper<?>> lazyJsonMappers = new ConcurrentHashMap<>();
+
     /**
      * Create a default dialect with a next dialect to delegate to.
      */
@@ -89,6 +104,8 @@ public class GenericDialect extends AbstractChainedDialect {
      * {@link ovh.heraud.nativsql.mapper.AbstractTypeMapper} at
      * map/toDatabase call time using the field's TypeInfo params — no special
      * mapper is needed here.
+     * {@link Lazy} fields get a {@link LazyTypeMapper} around the mapper of their
+     * element type (the JSON mapper for JSON fields).
      * Subclasses can override to add dialect-specific mappings.
      */
     @SuppressWarnings("unchecked")
@@ -103,6 +120,10 @@ public class GenericDialect extends AbstractChainedDialect {
                             + "' — use the boxed type instead (e.g. int → Integer)");
         }
 
+        if (targetType == Lazy.class) {
+            return (ITypeMapper<T>) getLazyMapper(fieldAccessor, annotationManager);
+        }
+
         // Check if it's an enum
         if (targetType.isEnum()) {
             return (ITypeMapper<T>) getEnumMapper();
@@ -121,6 +142,47 @@ public class GenericDialect extends AbstractChainedDialect {
         return getMapperForType(targetType);
     }
 
+    /**
+     * Returns the mapper of a {@code Lazy<E>} field, E being a type supported by
+     * {@link #getMapperForType(Class)}, or a JSON type (field-level {@code @Json},
+     * or E marked or registered as JSON) mapped by {@link #getJsonMapper()}.
+     */
+    private LazyTypeMapper<?> getLazyMapper(FieldAccessor<?> fieldAccessor, AnnotationManager annotationManager) {
+        Type genericType = fieldAccessor.getField() != null ? fieldAccessor.getField().getGenericType() : null;
+        Type elementType = genericType instanceof ParameterizedType parameterized
+                ? parameterized.getActualTypeArguments()[0]
+                : null;
+        Class<?> elementClass = elementType instanceof Class<?> clazz ? clazz
+                : elementType instanceof ParameterizedType parameterizedElement
+                        && parameterizedElement.getRawType() instanceof Class<?> rawClass ? rawClass
+                                : null;
+        if (elementClass == null) {
+            throw new NativSQLException("Field '" + fieldAccessor.getName()
+                    + "' must declare the type of its Lazy value (e.g. Lazy<String>)");
+        }
+        if (annotationManager.getTypeInfo(fieldAccessor).getParams().containsKey(TypeParamKey.JSON)) {
+            return lazyJsonMappers.computeIfAbsent(elementType,
+                    type -> createLazyJsonMapper(elementClass, type));
+        }
+        if (elementType != elementClass) {
+            throw new NativSQLException("Unsupported Lazy value type: " + elementType.getTypeName());
+        }
+        return lazyMappers.computeIfAbsent(elementClass, this::createLazyMapper);
+    }
+
+    private <E> LazyTypeMapper<E> createLazyJsonMapper(Class<E> elementClass, Type elementType) {
+        // JSON objects are mutable: a loaded value is serialized again on write
+        return new LazyTypeMapper<>(this.<E>getJsonMapper(), elementClass, elementType, true);
+    }
+
+    private <E> LazyTypeMapper<E> createLazyMapper(Class<E> elementType) {
+        ITypeMapper<E> elementMapper = getMapperForType(elementType);
+        if (elementMapper == null) {
+            throw new NativSQLException("Unsupported Lazy value type: " + elementType.getName());
+        }
+        return new LazyTypeMapper<>(elementMapper, elementType);
+    }
+
     /**
      * Returns a mapper for the given Java type (non-encrypted path).
      * Extracted to a helper so it can be reused when building encrypted mappers.
@@ -271,9 +333,20 @@ public class GenericDialect extends AbstractChainedDialect {
         return new DefaultTypeMapper<>();
     }
 
+    /**
+     * Gets the JSON mapper of this dialect, built on {@link #getObjectMapper()}
+     * and shared by every JSON field so that its readers and writers are cached
+     * once.
+     */
+    @SuppressWarnings("unchecked")
     @Override
     public <T> ITypeMapper<T> getJsonMapper() {
-        return new GenericJSONTypeMapper<>();
+        GenericJSONTypeMapper<?> mapper = jsonMapper;
+        if (mapper == null || mapper.getObjectMapper() != getObjectMapper()) {
+            mapper = new GenericJSONTypeMapper<>(getObjectMapper());
+            jsonMapper = mapper;
+        }
+        return (ITypeMapper<T>) mapper;
     }
 
     @Override
@@ -299,4 +372,31 @@ public class GenericDialect extends AbstractChainedDialect {
         }
         return ((Number) rawResult).intValue() != 0;
     }
+
+    @Override
+    public boolean requiresTransactionForStreaming() {
+        return false;
+    }
+
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
+    /**
+     * Conservative default: the expanded OR form works everywhere (Oracle only
+     * supports row-value equality, not ordering comparisons).
+     */
+    @Override
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * Array parameters are not portable: IN lists are chunked instead.
+     */
+    @Override
+    public String getArrayElementType(Class<?> javaType) {
+        return null;
+    }
 }
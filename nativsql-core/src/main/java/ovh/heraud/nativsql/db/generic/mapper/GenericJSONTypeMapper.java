@@ -1,18 +1,24 @@
 package ovh.heraud.nativsql.db.generic.mapper;
 
-import java.lang.reflect.Field;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
 import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import ovh.heraud.nativsql.annotation.DbDataType;
 import ovh.heraud.nativsql.annotation.type.ParamKey;
 import ovh.heraud.nativsql.annotation.type.TypeParamKey;
 import ovh.heraud.nativsql.exception.ConversionException;
 import ovh.heraud.nativsql.mapper.AbstractTypeMapper;
 import ovh.heraud.nativsql.util.FieldAccessor;
+import ovh.heraud.nativsql.util.JsonUtils;
 
 /**
  * Generic TypeMapper for JSON types using Jackson serialization.
@@ -21,27 +27,72 @@ import ovh.heraud.nativsql.util.FieldAccessor;
  * Works with MySQL, MariaDB, Oracle, and any database that returns JSON as
  * String.
  *
+ * <p>
+ * Unencrypted columns are read through {@link ResultSet#getCharacterStream(int)}
+ * and parsed straight from the stream (including Oracle CLOBs), without
+ * materializing the document as a String first.
+ *
+ * <p>
+ * An {@link ObjectReader} is built once per generic type of field and an
+ * {@link ObjectWriter} once per value class, both thread-safe: a single
+ * instance serves every JSON field of a dialect.
+ *
  * @param <T> the Java type to map to/from JSON
  */
 public class GenericJSONTypeMapper<T> extends AbstractTypeMapper<T> {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final ConcurrentHashMap<Field, JavaType> TYPE_CACHE = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a JSON mapper with a default ObjectMapper.
+     */
+    public GenericJSONTypeMapper() {
+        this(new ObjectMapper());
+    }
+
+    /**
+     * Creates a JSON mapper on the given ObjectMapper.
+     *
+     * @param objectMapper the ObjectMapper to build the readers and writers from
+     */
+    public GenericJSONTypeMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @Override
+    protected Object readValue(ResultSet rs, int index, Map<ParamKey, Object> params) throws SQLException {
+        if (params.containsKey(TypeParamKey.ENCRYPTED)) {
+            // The ciphertext is decrypted as a whole
+            return super.readValue(rs, index, params);
+        }
+        return rs.getCharacterStream(index);
+    }
 
     @Override
     public T fromValue(Object raw, FieldAccessor<?> fieldAccessor,
             Map<ParamKey, Object> params) throws ConversionException {
-        JavaType javaType = TYPE_CACHE.computeIfAbsent(fieldAccessor.getField(),
-                f -> objectMapper.constructType(f.getGenericType()));
+        ObjectReader reader = readers.computeIfAbsent(fieldAccessor.getGenericType(),
+                type -> objectMapper.readerFor(objectMapper.constructType(type)));
         try {
-            String jsonStr = raw instanceof String str ? str
-                    : raw instanceof Clob clob ? clob.getSubString(1, (int) clob.length())
-                            : raw.toString();
+            // An empty stream fails as "no content", like an empty String
+            if (raw instanceof Reader charStream)
+                return reader.readValue(charStream);
+            if (raw instanceof InputStream inputStream)
+                return reader.readValue(inputStream);
+            if (raw instanceof Clob clob)
+                return reader.readValue(clob.getCharacterStream());
+            String jsonStr = raw instanceof String str ? str : raw.toString();
             if (jsonStr.isEmpty())
-                throw new ConversionException(javaType.getRawClass());
-            return objectMapper.readValue(jsonStr, javaType);
+                throw new ConversionException(fieldAccessor.getType());
+            return reader.readValue(jsonStr);
         } catch (Exception e) {
-            throw new ConversionException(javaType.getRawClass(), e);
+            throw new ConversionException(fieldAccessor.getType(), e);
         }
     }
 
@@ -51,7 +102,8 @@ public class GenericJSONTypeMapper<T> extends AbstractTypeMapper<T> {
         DbDataType dataType = (DbDataType) params.get(TypeParamKey.DB_DATA_TYPE);
         if (dataType == null || dataType == DbDataType.IDENTITY) {
             try {
-                return objectMapper.writeValueAsString(value);
+                ObjectWriter writer = writers.computeIfAbsent(value.getClass(), objectMapper::writerFor);
+                return JsonUtils.writeValueAsString(writer, value);
             } catch (Exception e) {
                 throw new ConversionException(String.class, e);
             }
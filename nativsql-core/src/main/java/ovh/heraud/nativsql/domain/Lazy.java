@@ -0,0 +1,128 @@
+package ovh.heraud.nativsql.domain;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Entity field holder whose value is computed on first access.
+ * Declaring a field as {@code Lazy<String>} (or another scalar type) makes the
+ * row mapper keep the raw column value and defer its conversion — for an
+ * {@code @Encrypted} field, its decryption — until {@link #get()} is called.
+ * Rows whose lazy fields are never read cost nothing to decrypt.
+ *
+ * <p>
+ * A holder read from the database and written back unchanged is stored with
+ * its raw value, without being decrypted and re-encrypted. To change the
+ * value, set a new holder built with {@link #of(Object)}.
+ *
+ * <p>
+ * A JSON field (field-level {@code @Json}, or {@code T} marked or registered as
+ * JSON) can also be declared as {@code Lazy<T>}: the raw JSON text is kept and
+ * parsed on the first {@code get()}, and written back as is if it was never
+ * parsed. Since the parsed object may be modified in place, a loaded JSON
+ * holder is serialized again on write.
+ *
+ * <p>
+ * Holders use identity semantics: {@code equals} and {@code hashCode} are
+ * those of {@link Object}, since comparing values would decrypt or parse them
+ * (and two ciphertexts of the same value differ anyway). Entities comparing
+ * their fields therefore only find equal the entities sharing the same holders;
+ * compare {@code get()} values explicitly when needed.
+ *
+ * @param <T> the type of the value
+ */
+public final class Lazy<T> {
+
+    private final Object raw;
+    private Function<Object, ? extends T> loader;
+    private volatile boolean loaded;
+    private T value;
+
+    private Lazy(Object raw, Function<Object, ? extends T> loader, T value, boolean loaded) {
+        this.raw = raw;
+        this.loader = loader;
+        this.value = value;
+        this.loaded = loaded;
+    }
+
+    /**
+     * Creates a holder of an already known value.
+     *
+     * @param value the value (may be null)
+     * @return the holder
+     */
+    public static <T> Lazy<T> of(T value) {
+        return new Lazy<>(null, null, value, true);
+    }
+
+    /**
+     * Creates a holder of a raw database value, converted by the loader on first
+     * access.
+     *
+     * @param raw    the raw column value (not null)
+     * @param loader converts the raw value, e.g. decrypts it
+     * @return the holder
+     */
+    public static <T> Lazy<T> deferred(Object raw, Function<Object, ? extends T> loader) {
+        return new Lazy<>(Objects.requireNonNull(raw, "raw"), Objects.requireNonNull(loader, "loader"), null,
+                false);
+    }
+
+    /**
+     * Gets the value, converting the raw value on the first call. Thread-safe:
+     * the loader runs at most once, unless it throws.
+     *
+     * @return the value
+     * @throws ovh.heraud.nativsql.exception.NativSQLException if the raw value
+     *                                                         cannot be converted
+     */
+    public T get() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    value = loader.apply(raw);
+                    loader = null;
+                    loaded = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Checks if the value was already computed (always true for {@link #of(Object)}).
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Gets the raw database value this holder was read from, or null if it was
+     * built with {@link #of(Object)}.
+     */
+    public Object getRaw() {
+        return raw;
+    }
+
+    /**
+     * Creates an independent copy of this holder: unloaded, with the same raw
+     * value, if this one is not loaded yet, otherwise holding a copy of the value.
+     *
+     * @param valueCopier copies the loaded value (e.g. a JSON object)
+     * @return the copy
+     */
+    public Lazy<T> copy(UnaryOperator<T> valueCopier) {
+        synchronized (this) {
+            if (!loaded) {
+                return new Lazy<>(raw, loader, null, false);
+            }
+            return new Lazy<>(raw, null, valueCopier.apply(value), true);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return loaded ? "Lazy[" + value + "]" : "Lazy[not loaded]";
+    }
+}
@@ -0,0 +1,23 @@
+package ovh.heraud.nativsql.domain;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query result.
+ * The continuation token is opaque: pass it back unchanged to fetch the next
+ * page. It is null on the last page.
+ *
+ * @param <T>               the element type
+ * @param content           the rows of this page, in query order
+ * @param continuationToken the token to fetch the next page, or null if this is
+ *                          the last page
+ */
+public record Page<T>(List<T> content, String continuationToken) {
+
+    /**
+     * Checks if there is a next page.
+     */
+    public boolean hasNext() {
+        return continuationToken != null;
+    }
+}
@@ -2,6 +2,8 @@ package ovh.heraud.nativsql.mapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.jdbc.support.JdbcUtils;
@@ -39,7 +41,7 @@ public abstract class AbstractTypeMapper<T> implements ITypeMapper<T> {
         Object raw = null;
         try {
             index = rs.findColumn(columnName);
-            raw = JdbcUtils.getResultSetValue(rs, index);
+            raw = readValue(rs, index, params);
         } catch (SQLException e) {
             throw new NativSQLException("Unable to map column " + columnName + "index(" + index + ")", e);
         }
@@ -110,6 +112,54 @@ public abstract class AbstractTypeMapper<T> implements ITypeMapper<T> {
         }
     }
 
+    /**
+     * Converts several values of the same field. Encrypted values are all
+     * serialised first and then encrypted together, so that one-way hashes run
+     * in parallel within the limit of the bcrypt hashing executor.
+     */
+    @Override
+    public final List<Object> toDatabaseAll(List<T> values, Map<ParamKey, Object> params) {
+        if (!params.containsKey(TypeParamKey.ENCRYPTED)) {
+            return ITypeMapper.super.toDatabaseAll(values, params);
+        }
+        Map<ParamKey, Object> stringParams = enrichParamsWithDbDataType(params, DbDataType.STRING);
+        List<String> serialized = new ArrayList<>(values.size());
+        for (T value : values) {
+            if (value == null) {
+                serialized.add(null);
+                continue;
+            }
+            try {
+                serialized.add((String) toDatabaseValue(value, stringParams));
+            } catch (ConversionException e) {
+                throw new NativSQLException("Unable to convert value #######"
+                        + " from class " + value.getClass()
+                        + " to " + e.getTargetName(), e);
+            }
+        }
+        return EncryptionUtils.encryptAll(serialized, params);
+    }
+
+    /**
+     * Reads the raw value of a column, passed to the decryption and then to
+     * {@link #fromValue(Object, FieldAccessor, Map)}.
+     *
+     * <p>
+     * Defaults to {@link JdbcUtils#getResultSetValue(ResultSet, int)}. Mappers
+     * may return a {@code Reader} or {@code InputStream} instead, as long as
+     * they are not encrypted: it is consumed by {@code fromValue} before the
+     * result set moves to the next row.
+     *
+     * @param rs     the result set, positioned on the row
+     * @param index  the column index
+     * @param params the type parameters for this field
+     * @return the raw value, or null for SQL NULL
+     * @throws SQLException if the column cannot be read
+     */
+    protected Object readValue(ResultSet rs, int index, Map<ParamKey, Object> params) throws SQLException {
+        return JdbcUtils.getResultSetValue(rs, index);
+    }
+
     // ---- abstract hooks ----
 
     /**
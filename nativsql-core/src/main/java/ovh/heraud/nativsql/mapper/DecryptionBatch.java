@@ -0,0 +1,100 @@
+package ovh.heraud.nativsql.mapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ovh.heraud.nativsql.annotation.type.ParamKey;
+
+/**
+ * Staging buffer of the encrypted column values read by a
+ * {@link GenericRowMapper} in deferred decryption mode: the raw ciphertext is
+ * kept with the object and property it belongs to, and the whole buffer is
+ * decrypted and mapped in parallel (ForkJoin common pool) by
+ * {@link #decryptAll()}, with the same type mapper call as the serial path.
+ * Not thread-safe while rows are being mapped: one instance per query
+ * execution.
+ */
+public class DecryptionBatch {
+
+    private record PendingValue(Object target, PropertyMetadata<?> property, String columnLabel,
+            Map<ParamKey, Object> params, Object raw) {
+
+        void decrypt() {
+            Object value = property.getTypeMapper().map(columnLabel, property.getFieldAccessor(), params, raw);
+            property.getFieldAccessor().setValue(target, value);
+        }
+    }
+
+    private List<PendingValue> pending = new ArrayList<>();
+
+    /**
+     * Stages an encrypted value to be decrypted into the target's property.
+     */
+    void add(Object target, PropertyMetadata<?> property, String columnLabel, Map<ParamKey, Object> params,
+            Object raw) {
+        pending.add(new PendingValue(target, property, columnLabel, params, raw));
+    }
+
+    /**
+     * Decrypts every staged value in parallel, sets it on its object, and empties
+     * the buffer. Returns once all the values are set.
+     *
+     * @throws ovh.heraud.nativsql.exception.NativSQLException if a value cannot
+     *                                                         be decrypted or
+     *                                                         mapped
+     */
+    public void decryptAll() {
+        List<PendingValue> values = pending;
+        pending = new ArrayList<>();
+        values.parallelStream().forEach(PendingValue::decrypt);
+    }
+
+    /**
+     * Wraps a stream of rows mapped with this batch so that rows are read
+     * {@code batchSize} at a time and the batch is decrypted before they are
+     * handed out. Closing the returned stream closes the rows stream.
+     *
+     * @param rows      the rows, mapped with a row mapper staging into this batch
+     * @param batchSize the number of rows decrypted together (must be > 0)
+     * @return the rows, decrypted
+     */
+    public <R> Stream<R> decryptInBatches(Stream<R> rows, int batchSize) {
+        Iterator<R> iterator = rows.iterator();
+        Spliterator<R> decrypted = new Spliterators.AbstractSpliterator<R>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private final List<R> ready = new ArrayList<>(batchSize);
+            private int position = 0;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super R> action) {
+                if (position == ready.size()) {
+                    ready.clear();
+                    position = 0;
+                    while (ready.size() < batchSize && iterator.hasNext()) {
+                        ready.add(iterator.next());
+                    }
+                    decryptAll();
+                    if (ready.isEmpty()) {
+                        return false;
+                    }
+                }
+                action.accept(ready.get(position++));
+                return true;
+            }
+        };
+        return StreamSupport.stream(decrypted, false).onClose(rows::close);
+    }
+
+    /**
+     * Gets the number of staged values.
+     */
+    public int size() {
+        return pending.size();
+    }
+}
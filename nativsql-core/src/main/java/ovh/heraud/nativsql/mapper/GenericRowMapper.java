@@ -1,19 +1,23 @@
 package ovh.heraud.nativsql.mapper;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import ovh.heraud.nativsql.annotation.type.TypeParamKey;
 import ovh.heraud.nativsql.exception.NativSQLException;
 import ovh.heraud.nativsql.util.TypeInfo;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
 
 /**
  * Generic RowMapper that uses reflection and introspection to map ResultSet
  * rows to Java objects.
- * Supports JOINed tables with dot notation in column names (e.g., "group.id").
+ * Supports JOINed tables with dot notation in column names (e.g., "group.id"),
+ * including nested joins (e.g., "customer.country.id").
  *
  * @param <T> the entity type to map
  */
@@ -51,52 +55,136 @@ public class GenericRowMapper<T> implements RowMapper<T> {
 
     @Override
     public T mapRow(ResultSet rs, int rowNum) throws NativSQLException {
+        return mapRow(rs, null, null);
+    }
+
+    /**
+     * Returns a row mapper for the execution of a single query that instantiates
+     * each distinct joined sub-entity once, identified by its join path and the
+     * value of its "id" column, and shares it between all the rows referencing it.
+     * Joined entities without a selected id column are not shared.
+     * The returned mapper must not be reused across queries.
+     */
+    public RowMapper<T> withIdentityMap() {
+        return withIdentityMap(null);
+    }
+
+    /**
+     * Same as {@link #withIdentityMap()}, also deferring the decryption of
+     * encrypted columns to the given batch when not null (see
+     * {@link #withDeferredDecryption(DecryptionBatch)}).
+     */
+    public RowMapper<T> withIdentityMap(DecryptionBatch decryptionBatch) {
+        JoinedEntityIdentityMap identityMap = new JoinedEntityIdentityMap();
+        return (rs, rowNum) -> mapRow(rs, identityMap, decryptionBatch);
+    }
+
+    /**
+     * Returns a row mapper that does not decrypt encrypted columns: it stages
+     * their raw value in the given batch, leaving the property unset until
+     * {@link DecryptionBatch#decryptAll()} is called. Columns whose type mapper
+     * is not an {@link AbstractTypeMapper} are still decrypted inline.
+     */
+    public RowMapper<T> withDeferredDecryption(DecryptionBatch decryptionBatch) {
+        return (rs, rowNum) -> mapRow(rs, null, decryptionBatch);
+    }
+
+    private T mapRow(ResultSet rs, JoinedEntityIdentityMap identityMap, DecryptionBatch decryptionBatch)
+            throws NativSQLException {
         try {
             T instance = null;
 
             // Single loop through ResultSet columns
             java.sql.ResultSetMetaData metadata = rs.getMetaData();
+            if (identityMap != null) {
+                identityMap.startRow(metadata);
+            }
             for (int i = 1; i <= metadata.getColumnCount(); i++) {
                 String columnLabel = metadata.getColumnLabel(i);
 
                 if (columnLabel.contains(".")) {
-                    // This is a joined property column (e.g., "group.id")
+                    // This is a joined property column (e.g., "group.id" or "customer.country.id")
                     String prefix = columnLabel.substring(0, columnLabel.indexOf("."));
-                    String columnName = columnLabel.substring(columnLabel.indexOf(".") + 1);
-                    JoinedPropertyMetadata joined = subProperties.get(prefix);
-
-                    if (joined != null) {
+                    if (subProperties.containsKey(prefix)) {
                         // Lazy-initialize root instance if needed
                         if (instance == null) {
                             instance = newInstance(rootClass);
                         }
-
-                        // Get or create sub-object instance via delegated mapper
-                        Object subInstance = joined.getFieldAccessor().getValue(instance);
-                        if (subInstance == null) {
-                            subInstance = createSubInstance(joined);
-                            joined.getFieldAccessor().setValue(instance, subInstance);
-                        }
-
-                        // Map this single column to the sub-object using the delegated mapper
-                        joined.getDelegateMapper().mapColumn(subInstance, columnName, rs, columnLabel, prefix);
+                        mapPath(instance, columnLabel, rs, columnLabel, identityMap, decryptionBatch);
                     }
                 } else {
                     // This is a simple property column
                     if (instance == null) {
                         instance = newInstance(rootClass);
                     }
-                    mapColumn(instance, columnLabel, rs, columnLabel, null);
+                    mapColumn(instance, columnLabel, rs, columnLabel, decryptionBatch);
                 }
             }
 
             return instance;
 
-        } catch (ReflectiveOperationException | java.sql.SQLException e) {
+        } catch (ReflectiveOperationException | SQLException e) {
             throw new NativSQLException("Failed to map row to " + rootClass.getSimpleName(), e);
         }
     }
 
+    /**
+     * Maps a single column value to the property at a dot-notation path of a
+     * target object, creating the intermediate joined sub-objects as needed and
+     * delegating each level to the mapper of the joined type.
+     * Columns whose prefix is not a joined property of the target are ignored.
+     *
+     * @param targetObject the object owning the first segment of the path
+     * @param path         the property path relative to the target object (e.g.,
+     *                     "country.name")
+     * @param rs           the result set
+     * @param columnLabel  the actual column label from the result set
+     * @param identityMap  the identity map of the query, or null to create a new
+     *                     sub-object for every row
+     * @param decryptionBatch the batch staging encrypted values, or null to
+     *                     decrypt them inline
+     */
+    private void mapPath(Object targetObject, String path, ResultSet rs, String columnLabel,
+            JoinedEntityIdentityMap identityMap, DecryptionBatch decryptionBatch)
+            throws ReflectiveOperationException, SQLException {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            mapColumn(targetObject, path, rs, columnLabel, decryptionBatch);
+            return;
+        }
+        String prefix = path.substring(0, dot);
+        JoinedPropertyMetadata joined = subProperties.get(prefix);
+        if (joined == null) {
+            return;
+        }
+
+        // Full join path of the sub-object (e.g., "customer.country")
+        String joinPath = columnLabel.substring(0, columnLabel.length() - path.length() + dot);
+        if (identityMap != null && identityMap.isShared(joinPath)) {
+            // Shared instance: its columns were mapped by the row that created it
+            return;
+        }
+
+        // Get or create sub-object instance via delegated mapper
+        Object subInstance = joined.getFieldAccessor().getValue(targetObject);
+        if (subInstance == null) {
+            Object id = identityMap != null ? identityMap.readId(rs, joinPath) : null;
+            Object shared = id != null ? identityMap.get(joinPath, id) : null;
+            if (shared != null) {
+                joined.getFieldAccessor().setValue(targetObject, shared);
+                identityMap.markShared(joinPath);
+                return;
+            }
+            subInstance = createSubInstance(joined);
+            joined.getFieldAccessor().setValue(targetObject, subInstance);
+            if (id != null) {
+                identityMap.put(joinPath, id, subInstance);
+            }
+        }
+        joined.getDelegateMapper().mapPath(subInstance, path.substring(dot + 1), rs, columnLabel, identityMap,
+                decryptionBatch);
+    }
+
     /**
      * Creates a new instance of the given class using its no-arg constructor.
      */
@@ -126,13 +214,13 @@ public class GenericRowMapper<T> implements RowMapper<T> {
      * @param propertyColumnName the column name to search for in this mapper
      * @param rs                 the result set
      * @param columnLabel        the actual column label from the result set
-     * @param prefix             the prefix for this property (e.g., "group" for
-     *                           "group.id"), or null for root properties
+     * @param decryptionBatch    the batch staging encrypted values, or null to
+     *                           decrypt them inline
      * @throws NativSQLException if the property metadata is not found
      */
     private void mapColumn(Object targetObject, String propertyColumnName, ResultSet rs,
             String columnLabel,
-            String prefix)
+            DecryptionBatch decryptionBatch)
             throws NativSQLException {
         PropertyMetadata<?> prop = simpleProperties.get(propertyColumnName);
 
@@ -142,6 +230,16 @@ public class GenericRowMapper<T> implements RowMapper<T> {
         }
 
         TypeInfo typeInfo = prop.getTypeInfo();
+        if (decryptionBatch != null && typeInfo != null
+                && typeInfo.getParams().containsKey(TypeParamKey.ENCRYPTED)
+                && prop.getTypeMapper() instanceof AbstractTypeMapper) {
+            // Same raw read as AbstractTypeMapper.map(ResultSet, ...), decrypted later
+            Object raw = readRawValue(rs, columnLabel);
+            if (raw != null) {
+                decryptionBatch.add(targetObject, prop, columnLabel, typeInfo.getParams(), raw);
+            }
+            return;
+        }
         Object value = typeInfo != null
                 ? prop.getTypeMapper().map(rs, columnLabel, prop.getFieldAccessor(), typeInfo.getParams())
                 : prop.getTypeMapper().map(rs, columnLabel, prop.getFieldAccessor(),
@@ -149,4 +247,14 @@ public class GenericRowMapper<T> implements RowMapper<T> {
         prop.getFieldAccessor().setValue(targetObject, value);
     }
 
+    private static Object readRawValue(ResultSet rs, String columnLabel) throws NativSQLException {
+        Integer index = null;
+        try {
+            index = rs.findColumn(columnLabel);
+            return JdbcUtils.getResultSetValue(rs, index);
+        } catch (SQLException e) {
+            throw new NativSQLException("Unable to map column " + columnLabel + "index(" + index + ")", e);
+        }
+    }
+
 }
\ No newline at end of file
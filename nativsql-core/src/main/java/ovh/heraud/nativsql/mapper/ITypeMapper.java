@@ -1,6 +1,8 @@
 package ovh.heraud.nativsql.mapper;
 
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import ovh.heraud.nativsql.annotation.type.ParamKey;
@@ -59,6 +61,26 @@ public interface ITypeMapper<T> {
 
         Object toDatabase(T value, Map<ParamKey, Object> params);
 
+        /**
+         * Converts several Java values of the same field to their database
+         * representation, e.g. the values of one column across a batch of
+         * entities.
+         * Default implementation converts each value with
+         * {@link #toDatabase(Object, Map)}; {@code AbstractTypeMapper} overrides it
+         * to hash one-way encrypted values in parallel.
+         *
+         * @param values the Java values to convert (null elements map to null)
+         * @param params the type parameters (KEY, ALGO, PREFIX, …)
+         * @return the database representations, in the order of {@code values}
+         */
+        default List<Object> toDatabaseAll(List<T> values, Map<ParamKey, Object> params) {
+                List<Object> converted = new ArrayList<>(values.size());
+                for (T value : values) {
+                        converted.add(toDatabase(value, params));
+                }
+                return converted;
+        }
+
         /**
          * Formats a parameter for use in SQL, applying any necessary database-specific
          * casting or type conversions.
@@ -0,0 +1,70 @@
+package ovh.heraud.nativsql.mapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Identity map of the joined sub-entities mapped by one query, keyed by join
+ * path (e.g. "group" or "customer.country") and by the raw value of the joined
+ * entity's "id" column.
+ * Lets {@link GenericRowMapper} instantiate each distinct joined entity once and
+ * share it between all the rows referencing it.
+ * Not thread-safe: one instance per query execution.
+ */
+class JoinedEntityIdentityMap {
+    private static final String ID_COLUMN = "id";
+
+    private final Map<String, Map<Object, Object>> instancesByPath = new HashMap<>();
+    private final Set<String> sharedPathsInRow = new HashSet<>();
+    private Set<String> columnLabels;
+
+    /**
+     * Resets the per-row state. Reads the column labels on the first row.
+     */
+    void startRow(ResultSetMetaData metadata) throws SQLException {
+        if (columnLabels == null) {
+            columnLabels = new HashSet<>();
+            for (int i = 1; i <= metadata.getColumnCount(); i++) {
+                columnLabels.add(metadata.getColumnLabel(i));
+            }
+        }
+        sharedPathsInRow.clear();
+    }
+
+    /**
+     * Reads the id of the joined entity at the given path in the current row.
+     *
+     * @return the raw id value, or null if the id column is not selected or is
+     *         NULL (e.g. no match for a LEFT JOIN)
+     */
+    Object readId(ResultSet rs, String joinPath) throws SQLException {
+        String idLabel = joinPath + "." + ID_COLUMN;
+        return columnLabels.contains(idLabel) ? rs.getObject(idLabel) : null;
+    }
+
+    Object get(String joinPath, Object id) {
+        Map<Object, Object> instances = instancesByPath.get(joinPath);
+        return instances == null ? null : instances.get(id);
+    }
+
+    void put(String joinPath, Object id, Object instance) {
+        instancesByPath.computeIfAbsent(joinPath, path -> new HashMap<>()).put(id, instance);
+    }
+
+    /**
+     * Marks the joined entity at the given path as reused in the current row, so
+     * its remaining columns are skipped.
+     */
+    void markShared(String joinPath) {
+        sharedPathsInRow.add(joinPath);
+    }
+
+    boolean isShared(String joinPath) {
+        return sharedPathsInRow.contains(joinPath);
+    }
+}
@@ -0,0 +1,99 @@
+package ovh.heraud.nativsql.mapper;
+
+import java.lang.reflect.Type;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.springframework.jdbc.support.JdbcUtils;
+
+import ovh.heraud.nativsql.annotation.type.ParamKey;
+import ovh.heraud.nativsql.domain.Lazy;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.util.FieldAccessor;
+
+/**
+ * Type mapper of {@link Lazy} fields: keeps the raw column value in the holder
+ * and defers the element mapper (decryption included) to the first
+ * {@link Lazy#get()}. A holder read from the database is written back with its
+ * raw value.
+ *
+ * <p>
+ * For mutable values (JSON objects), only a holder whose value was never
+ * loaded is written back raw: once {@code get()} was called, the value may
+ * have been modified in place, so it is serialized again.
+ *
+ * @param <T> the element type
+ */
+public class LazyTypeMapper<T> implements ITypeMapper<Lazy<T>> {
+
+    private final ITypeMapper<T> elementMapper;
+    private final FieldAccessor<T> elementAccessor;
+    private final boolean mutable;
+
+    /**
+     * Creates a lazy mapper of immutable values.
+     *
+     * @param elementMapper the mapper of the element type
+     * @param elementType   the element type (e.g. String for {@code Lazy<String>})
+     */
+    public LazyTypeMapper(ITypeMapper<T> elementMapper, Class<T> elementType) {
+        this(elementMapper, elementType, elementType, false);
+    }
+
+    /**
+     * Creates a lazy mapper.
+     *
+     * @param elementMapper      the mapper of the element type
+     * @param elementType        the raw element type
+     * @param elementGenericType the full element type (e.g. {@code List<Long>}
+     *                           for {@code Lazy<List<Long>>})
+     * @param mutable            whether loaded values may be modified in place
+     */
+    public LazyTypeMapper(ITypeMapper<T> elementMapper, Class<T> elementType, Type elementGenericType,
+            boolean mutable) {
+        this.elementMapper = elementMapper;
+        this.elementAccessor = new FieldAccessor<>(elementType, elementGenericType);
+        this.mutable = mutable;
+    }
+
+    @Override
+    public Lazy<T> map(ResultSet rs, String columnName, FieldAccessor<?> fieldAccessor,
+            Map<ParamKey, Object> params) {
+        Integer index = null;
+        Object raw = null;
+        try {
+            index = rs.findColumn(columnName);
+            raw = JdbcUtils.getResultSetValue(rs, index);
+        } catch (SQLException e) {
+            throw new NativSQLException("Unable to map column " + columnName + "index(" + index + ")", e);
+        }
+        return map(columnName, fieldAccessor, params, raw);
+    }
+
+    @Override
+    public Lazy<T> map(String description, FieldAccessor<?> fieldAccessor, Map<ParamKey, Object> params,
+            Object value) {
+        if (value == null) {
+            return null;
+        }
+        return Lazy.deferred(value, raw -> elementMapper.map(description, elementAccessor, params, raw));
+    }
+
+    @Override
+    public Object toDatabase(Lazy<T> value, Map<ParamKey, Object> params) {
+        if (value == null) {
+            return null;
+        }
+        if (value.getRaw() != null && !(mutable && value.isLoaded())) {
+            // Unchanged since it was read: no decrypt/re-encrypt (or parse/serialize) round trip
+            return value.getRaw();
+        }
+        return elementMapper.toDatabase(value.get(), params);
+    }
+
+    @Override
+    public String formatParameter(String paramName, Map<ParamKey, Object> params) {
+        return elementMapper.formatParameter(paramName, params);
+    }
+}
@@ -0,0 +1,118 @@
+package ovh.heraud.nativsql.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the parent entities of a batched association load, by id. Each slot
+ * collects the children of one parent in two passes ({@link #count} for every
+ * child, then {@link #allocate} for every parent and {@link #add} for every
+ * child), so every child list is created with its exact size.
+ * Long and Integer ids are indexed in a {@link LongObjectMap} (no boxing, no
+ * entry objects); other id types in a HashMap.
+ *
+ * @param <P> the parent entity type
+ * @param <C> the child entity type
+ */
+final class AssociationIndex<P, C> {
+
+    /**
+     * The parent registered for an id, and its children.
+     */
+    static final class Slot<P, C> {
+        final P parent;
+        int childCount = 0;
+        List<C> children;
+
+        private Slot(P parent) {
+            this.parent = parent;
+        }
+    }
+
+    private final LongObjectMap<Slot<P, C>> longSlots;
+    private final Map<Object, Slot<P, C>> slots;
+    private final List<Object> ids;
+
+    /**
+     * @param expectedSize the number of parents
+     * @param numericIds   whether ids are Long or Integer
+     */
+    AssociationIndex(int expectedSize, boolean numericIds) {
+        this.longSlots = numericIds ? new LongObjectMap<>(expectedSize) : null;
+        this.slots = numericIds ? null : new HashMap<>();
+        this.ids = new ArrayList<>(expectedSize);
+    }
+
+    /**
+     * Registers a parent under its id, unless a parent is already registered
+     * under that id.
+     *
+     * @return true if the parent was registered
+     */
+    boolean addParent(Object id, P parent) {
+        Slot<P, C> slot = new Slot<>(parent);
+        Slot<P, C> existing = longSlots != null
+                ? longSlots.putIfAbsent(((Number) id).longValue(), slot)
+                : slots.putIfAbsent(id, slot);
+        if (existing != null) {
+            return false;
+        }
+        ids.add(id);
+        return true;
+    }
+
+    /**
+     * Returns the distinct parent ids, in registration order.
+     */
+    List<Object> getIds() {
+        return ids;
+    }
+
+    /**
+     * First pass: counts a child for the parent with the given id, if any.
+     */
+    void count(Object parentId) {
+        Slot<P, C> slot = get(parentId);
+        if (slot != null) {
+            slot.childCount++;
+        }
+    }
+
+    /**
+     * Returns the child list of a parent, created with the exact number of
+     * children counted for its id. A parent that is not the one registered for
+     * its id (duplicate id) gets an empty list.
+     */
+    List<C> allocate(Object id, P parent) {
+        Slot<P, C> slot = get(id);
+        if (slot == null || slot.parent != parent) {
+            return new ArrayList<>();
+        }
+        if (slot.children == null) {
+            slot.children = new ArrayList<>(slot.childCount);
+        }
+        return slot.children;
+    }
+
+    /**
+     * Second pass: adds a child to the list of the parent with the given id, if any.
+     */
+    void add(Object parentId, C child) {
+        Slot<P, C> slot = get(parentId);
+        if (slot != null) {
+            slot.children.add(child);
+        }
+    }
+
+    private Slot<P, C> get(Object id) {
+        if (id == null) {
+            return null;
+        }
+        if (longSlots != null) {
+            return id instanceof Number number ? longSlots.get(number.longValue()) : null;
+        }
+        return slots.get(id);
+    }
+}
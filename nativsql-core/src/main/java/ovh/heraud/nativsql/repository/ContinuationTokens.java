@@ -0,0 +1,99 @@
+package ovh.heraud.nativsql.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.util.FieldAccessor;
+import ovh.heraud.nativsql.util.Fields;
+
+/**
+ * Encodes and decodes the opaque continuation tokens of keyset pagination:
+ * the ORDER BY column values of the last row of a page, as URL-safe Base64 JSON.
+ * Values are converted back to the entity field types on decode so they bind
+ * with the right SQL type.
+ */
+final class ContinuationTokens {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private ContinuationTokens() {
+    }
+
+    /**
+     * Builds the token for the rows after the given entity.
+     *
+     * @param entity       the last entity of the page
+     * @param orderColumns the ORDER BY columns of the query
+     * @param entityFields the entity fields
+     * @return the continuation token
+     * @throws NativSQLException if an ORDER BY column is a joined column or its
+     *                           value is null (e.g. not selected)
+     */
+    static String encode(Object entity, List<String> orderColumns, Fields entityFields) {
+        Map<String, Object> key = new LinkedHashMap<>();
+        for (String column : orderColumns) {
+            if (column.contains(".")) {
+                throw new NativSQLException("Continuation tokens only support root entity ORDER BY columns, got '"
+                        + column + "'");
+            }
+            Object value = entityFields.get(column).getValue(entity);
+            if (value == null) {
+                throw new NativSQLException("ORDER BY column '" + column
+                        + "' must be selected and non-null to build a continuation token");
+            }
+            key.put(column, value);
+        }
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(key);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new NativSQLException("Failed to encode continuation token: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decodes a token into the key expected by {@code FindQuery.after(Map)}.
+     *
+     * @param token        the continuation token
+     * @param entityFields the entity fields
+     * @return the ORDER BY column values, typed as the entity fields
+     * @throws NativSQLException if the token is malformed or does not match the
+     *                           entity
+     */
+    static Map<String, Object> decode(String token, Fields entityFields) {
+        Map<String, Object> raw;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            raw = OBJECT_MAPPER.readValue(json, new TypeReference<LinkedHashMap<String, Object>>() {
+            });
+        } catch (Exception e) {
+            throw new NativSQLException("Invalid continuation token", e);
+        }
+        Map<String, Object> key = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : raw.entrySet()) {
+            FieldAccessor<Object> field = entityFields.getOrNull(entry.getKey());
+            if (field == null || entry.getValue() == null) {
+                throw new NativSQLException("Invalid continuation token");
+            }
+            try {
+                key.put(entry.getKey(), OBJECT_MAPPER.convertValue(entry.getValue(), field.getType()));
+            } catch (IllegalArgumentException e) {
+                throw new NativSQLException("Invalid continuation token", e);
+            }
+        }
+        return key;
+    }
+}
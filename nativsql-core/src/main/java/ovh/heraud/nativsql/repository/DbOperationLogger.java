@@ -1,6 +1,7 @@
 package ovh.heraud.nativsql.repository;
 
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -335,6 +336,64 @@ public class DbOperationLogger {
         }
     }
 
+    /**
+     * Opens a streaming database operation with logging (methodName extracted from call stack).
+     *
+     * @see #executeStream(Class, String, String, String, String, Map, SqlCallable)
+     */
+    public <T> Stream<T> executeStream(Class<?> repositoryClass, String operation, String table, String sql,
+            Map<String, Object> params, SqlCallable<Stream<T>> callable) {
+        return executeStream(repositoryClass, getCallerMethodName(), operation, table, sql, params, callable);
+    }
+
+    /**
+     * Opens a streaming database operation with logging.
+     * Logs DB.BEGIN with SQL and params when the stream is opened, and DB.END
+     * with the duration when the stream is closed — the timing therefore covers
+     * the whole consumption, not only the statement execution. Errors raised
+     * while opening are logged as DB.ERROR and wrapped like {@code execute}.
+     *
+     * @param <T>              the stream element type
+     * @param repositoryClass  the repository class
+     * @param methodName       the method name
+     * @param operation        the operation type (usually SELECT)
+     * @param table            the table name
+     * @param sql              the SQL query
+     * @param params           the SQL parameters (logged at DEBUG level)
+     * @param callable         opens the stream
+     * @return the opened stream; must be closed by the caller
+     * @throws NativSQLException if the stream cannot be opened
+     */
+    public <T> Stream<T> executeStream(Class<?> repositoryClass, String methodName, String operation, String table,
+            String sql, Map<String, Object> params, SqlCallable<Stream<T>> callable) {
+        String opId = executionMetrics.generateOperationId();
+        String repositoryName = getSimpleClassName(repositoryClass);
+        String opLabel = repositoryName + "." + methodName + " - " + operation + " " + table + " [" + opId + "]";
+
+        logger.info("DB.BEGIN {}", opLabel);
+        if (logger.isDebugEnabled()) {
+            logger.debug("DB.SQL {} - {}", opLabel, sql);
+            if (params != null && !params.isEmpty()) {
+                logger.debug("DB.PARAMS {} - {}", opLabel, params);
+            }
+        }
+        long startTime = executionMetrics.getCurrentTimeMillis();
+
+        try {
+            Stream<T> stream = callable.call();
+            return stream.onClose(() -> {
+                long duration = executionMetrics.getCurrentTimeMillis() - startTime;
+                logger.info("DB.END {} - {}ms", opLabel, duration);
+            });
+        } catch (NativSQLException e) {
+            logger.error("DB.ERROR {} - {}", opLabel, e.getMessage(), e);
+            throw e;
+        } catch (Throwable t) {
+            logger.error("DB.ERROR {} - {}", opLabel, t.getMessage(), t);
+            throw new NativSQLException("Error executing " + operation + " on " + table + ": " + t.getMessage(), t);
+        }
+    }
+
     /**
      * Functional interface for SQL operations that return a value.
      */
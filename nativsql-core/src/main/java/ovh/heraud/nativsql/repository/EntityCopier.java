@@ -0,0 +1,195 @@
+package ovh.heraud.nativsql.repository;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.annotation.type.TypeParamKey;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.domain.Lazy;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.util.FieldAccessor;
+import ovh.heraud.nativsql.util.ReflectionUtils;
+
+/**
+ * Copies entities handed out by the caches, so that a caller modifying its
+ * entity, in place or through one of its values, never changes what other
+ * callers get. Mutable values are copied along with the entity:
+ * <ul>
+ * <li>lists, sets and maps (as ArrayList, LinkedHashSet/TreeSet and
+ * LinkedHashMap/TreeMap), arrays and their elements,</li>
+ * <li>dates ({@code java.util.Date} and its SQL subclasses),</li>
+ * <li>JSON values, through a serialization round trip with the ObjectMapper of
+ * the dialect,</li>
+ * <li>{@link Lazy} holders, still unloaded if they were,</li>
+ * <li>associated entities ({@link IEntity} values).</li>
+ * </ul>
+ * Values of other types (strings, numbers, enums, java.time types...) are
+ * immutable and shared; so are values of other mutable types, such as
+ * composite types.
+ */
+final class EntityCopier {
+
+    private static final Map<Class<?>, List<FieldAccessor<?>>> COPIED_FIELDS = new ConcurrentHashMap<>();
+
+    private final AnnotationManager annotationManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param annotationManager tells JSON fields apart
+     * @param objectMapper      copies the JSON values
+     */
+    EntityCopier(AnnotationManager annotationManager, ObjectMapper objectMapper) {
+        this.annotationManager = annotationManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Copies the given fields of an entity into a new instance of its class.
+     *
+     * @param entity the entity to copy
+     * @param fields the names of the fields to copy, or null for all of them
+     * @return the copy
+     */
+    <E> E copy(E entity, String[] fields) {
+        @SuppressWarnings("unchecked")
+        E copy = (E) ReflectionUtils.instantiate(entity.getClass(), "id");
+        for (FieldAccessor<?> field : getCopiedFields(entity.getClass())) {
+            if (fields == null || contains(fields, field.getName())) {
+                copyField(field, entity, copy);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Copies the given entities, or returns null for a null list.
+     */
+    <E> List<E> copyAll(List<E> entities) {
+        if (entities == null) {
+            return null;
+        }
+        List<E> copies = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            copies.add(entity != null ? copy(entity, null) : null);
+        }
+        return copies;
+    }
+
+    private void copyField(FieldAccessor<?> field, Object source, Object target) {
+        Object value = field.getValue(source);
+        boolean json = Boolean.TRUE.equals(annotationManager.getTypeInfo(field).getParam(TypeParamKey.JSON));
+        field.setValue(target, copyValue(value, json ? valueType(field) : null));
+    }
+
+    /**
+     * Copies a value.
+     *
+     * @param jsonType the type to read the value back as when it is a JSON value,
+     *                 otherwise null
+     */
+    @SuppressWarnings("unchecked")
+    private Object copyValue(Object value, Type jsonType) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Lazy<?> lazy) {
+            return ((Lazy<Object>) lazy).copy(element -> copyValue(element, jsonType));
+        }
+        if (jsonType != null) {
+            return copyJson(value, jsonType);
+        }
+        if (value instanceof IEntity<?>) {
+            return copy(value, null);
+        }
+        if (value instanceof Date date) {
+            return date.clone();
+        }
+        if (value instanceof Collection<?> collection) {
+            Collection<Object> copy = value instanceof SortedSet<?> sortedSet
+                    ? new TreeSet<>((Comparator<Object>) sortedSet.comparator())
+                    : value instanceof Set<?> ? new LinkedHashSet<>() : new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                copy.add(copyValue(element, null));
+            }
+            return copy;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = value instanceof SortedMap<?, ?> sortedMap
+                    ? new TreeMap<>((Comparator<Object>) sortedMap.comparator())
+                    : new LinkedHashMap<>();
+            map.forEach((key, element) -> copy.put(key, copyValue(element, null)));
+            return copy;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            if (value instanceof Object[] array) {
+                for (int i = 0; i < length; i++) {
+                    Array.set(copy, i, copyValue(array[i], null));
+                }
+            } else {
+                System.arraycopy(value, 0, copy, 0, length);
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private Object copyJson(Object value, Type type) {
+        try {
+            return objectMapper.readerFor(objectMapper.constructType(type))
+                    .readValue(objectMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new NativSQLException("Failed to copy JSON value of type " + type.getTypeName() + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the type of the values of a field: its generic type, or T for a
+     * {@code Lazy<T>} field.
+     */
+    private static Type valueType(FieldAccessor<?> field) {
+        Type type = field.getGenericType();
+        if (field.getType() == Lazy.class && type instanceof ParameterizedType parameterized) {
+            return parameterized.getActualTypeArguments()[0];
+        }
+        return type;
+    }
+
+    private static List<FieldAccessor<?>> getCopiedFields(Class<?> entityClass) {
+        return COPIED_FIELDS.computeIfAbsent(entityClass, clazz -> ReflectionUtils.getFields(clazz).list().stream()
+                .filter(field -> !Modifier.isStatic(field.getField().getModifiers())
+                        && !field.getField().isSynthetic())
+                .toList());
+    }
+
+    private static boolean contains(String[] names, String name) {
+        for (String candidate : names) {
+            if (candidate.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
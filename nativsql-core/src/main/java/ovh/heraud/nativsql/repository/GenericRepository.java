@@ -1,36 +1,81 @@
 package ovh.heraud.nativsql.repository;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.annotation.type.ParamKey;
+import ovh.heraud.nativsql.cache.EntityCache;
+import ovh.heraud.nativsql.cache.QueryResultCache;
+import ovh.heraud.nativsql.cache.SingleFlight;
+import ovh.heraud.nativsql.crypt.CryptAlgorithm;
+import ovh.heraud.nativsql.crypt.CryptException;
+import ovh.heraud.nativsql.crypt.EncryptionUtils;
+import ovh.heraud.nativsql.crypt.ReEncryption;
+import ovh.heraud.nativsql.crypt.ReEncryptionProgress;
+import ovh.heraud.nativsql.db.AbstractChainedDialect;
 import ovh.heraud.nativsql.db.DatabaseDialect;
 import ovh.heraud.nativsql.db.IdentifierConverter;
 import ovh.heraud.nativsql.db.SnakeCaseIdentifierConverter;
 import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.domain.Page;
 import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.mapper.DecryptionBatch;
+import ovh.heraud.nativsql.mapper.GenericRowMapper;
 import ovh.heraud.nativsql.mapper.ITypeMapper;
 import ovh.heraud.nativsql.mapper.RowMapperFactory;
+import ovh.heraud.nativsql.util.ArrayParameter;
 import ovh.heraud.nativsql.util.Association;
 import ovh.heraud.nativsql.util.CountQuery;
 import ovh.heraud.nativsql.util.ExistsQuery;
@@ -42,10 +87,12 @@ import ovh.heraud.nativsql.annotation.type.TypeParamKey;
 import ovh.heraud.nativsql.util.OneToManyAssociation;
 import ovh.heraud.nativsql.util.ComputedFieldInfo;
 import ovh.heraud.nativsql.util.OrderBy;
+import ovh.heraud.nativsql.util.RangeOperator;
 import ovh.heraud.nativsql.util.ReflectionUtils;
 import ovh.heraud.nativsql.util.ReflectionUtils.Getter;
 import ovh.heraud.nativsql.util.SqlUtils;
 import ovh.heraud.nativsql.util.TypeInfo;
+import ovh.heraud.nativsql.util.WhereQuery;
 
 /**
  * Generic repository base class that provides insert and update operations
@@ -59,8 +106,38 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
 
     private static final String ID_COLUMN = "id";
 
+    /**
+     * Default JDBC fetch size used by {@link #stream(FindQuery)}.
+     */
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * Default maximum number of values per IN list (Oracle rejects more than
+     * 1000 expressions in a list).
+     */
+    public static final int DEFAULT_IN_LIST_CHUNK_SIZE = 1000;
+
+    /**
+     * Default maximum number of threads of the pool used by
+     * {@link #parallelStream(FindQuery, int)} and {@link #reEncrypt(ReEncryption)}
+     * when no parallel executor is configured.
+     */
+    public static final int DEFAULT_MAX_PARALLELISM = 4;
+
+    /** Copies JSON values of cached entities when the dialect has no ObjectMapper. */
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    /** Set on the threads running a task of {@link #runInParallel}. */
+    private static final ThreadLocal<Boolean> IN_PARALLEL_TASK = new ThreadLocal<>();
+
+    /** Prefix of the parameters holding the values read, in re-encryption UPDATEs. */
+    private static final String REENCRYPTION_OLD_PREFIX = "old_";
+
     private NamedParameterJdbcTemplate jdbcTemplate;
 
+    /** Runs the queries whose statement settings differ from the repository defaults. */
+    private StatementSettingsJdbcTemplate statementSettingsJdbcTemplate;
+
     @Autowired
     private RowMapperFactory rowMapperFactory;
 
@@ -85,6 +162,36 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
 
     private DataSource dataSource;
 
+    private int streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
+
+    private StatementSettings defaultStatementSettings = StatementSettings.NONE;
+
+    private Executor parallelExecutor;
+
+    private int maxParallelism = DEFAULT_MAX_PARALLELISM;
+
+    /** Pool used when no parallel executor is configured, created on first use. */
+    private ThreadPoolExecutor ownedParallelExecutor;
+
+    private int inListChunkSize = DEFAULT_IN_LIST_CHUNK_SIZE;
+
+    private boolean parallelInListChunks = false;
+
+    private boolean arrayInLists = false;
+
+    private boolean parallelAssociations = false;
+
+    private boolean coalesceReads = false;
+
+    private final SingleFlight inFlightReads = new SingleFlight();
+
+    private EntityCache<T> entityCache;
+
+    @Autowired(required = false)
+    private volatile QueryResultCache queryResultCache;
+
+    private final Map<Class<?>, GenericRepository<?, ?>> joinRepositories = new ConcurrentHashMap<>();
+
     protected GenericRepository() {
         this.entityClass = getEntityClass();
         this.entityFields = ReflectionUtils.getFields(entityClass);
@@ -115,7 +222,8 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
     @PostConstruct
     protected void initJdbcTemplate() {
         if (this.getProvidedDataSource() != null) {
-            this.jdbcTemplate = new NamedParameterJdbcTemplate(getProvidedDataSource());
+            this.jdbcTemplate = createJdbcTemplate(defaultStatementSettings);
+            this.statementSettingsJdbcTemplate = new StatementSettingsJdbcTemplate(getProvidedDataSource());
         }
         this.databaseDialect = getDatabaseDialectInstance();
     }
@@ -125,10 +233,45 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
      * Called by tests when the DataSource is changed at runtime.
      */
     public void reinitializeJdbcTemplate() {
-        this.jdbcTemplate = new NamedParameterJdbcTemplate(getProvidedDataSource());
+        this.jdbcTemplate = createJdbcTemplate(defaultStatementSettings);
+        this.statementSettingsJdbcTemplate = new StatementSettingsJdbcTemplate(getProvidedDataSource());
         this.databaseDialect = getDatabaseDialectInstance();
     }
 
+    /**
+     * Creates a NamedParameterJdbcTemplate on the provided DataSource, configured
+     * with the given statement settings.
+     */
+    private NamedParameterJdbcTemplate createJdbcTemplate(StatementSettings settings) {
+        JdbcTemplate template = new JdbcTemplate(getProvidedDataSource());
+        settings.applyTo(template);
+        return new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Runs a query with the given effective statement settings: on the shared
+     * JdbcTemplate for the repository defaults, otherwise with the settings
+     * applied to its statement.
+     */
+    private <R> List<R> query(String sql, Map<String, ?> params, RowMapper<R> rowMapper,
+            StatementSettings settings) {
+        if (settings.equals(defaultStatementSettings)) {
+            return jdbcTemplate.query(sql, params, rowMapper);
+        }
+        return statementSettingsJdbcTemplate.query(sql, params, rowMapper, settings);
+    }
+
+    /**
+     * Replaces the repository-wide statement settings and reconfigures the
+     * shared JdbcTemplate accordingly.
+     */
+    private void updateDefaultStatementSettings(StatementSettings settings) {
+        this.defaultStatementSettings = settings;
+        if (jdbcTemplate != null) {
+            settings.applyTo(jdbcTemplate.getJdbcTemplate());
+        }
+    }
+
     protected DataSource getProvidedDataSource() {
         if (dataSource == null) {
             dataSource = getDataSource();
@@ -143,6 +286,333 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         this.dataSource = dataSource;
     }
 
+    /**
+     * Returns the JDBC fetch size used by streaming queries.
+     */
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
+    /**
+     * Sets the JDBC fetch size used by streaming queries (rows fetched per
+     * round-trip while the stream is consumed).
+     *
+     * @param streamFetchSize the fetch size, must be > 0
+     * @throws NativSQLException if streamFetchSize is not positive
+     */
+    public void setStreamFetchSize(int streamFetchSize) {
+        if (streamFetchSize <= 0) {
+            throw new NativSQLException("Stream fetch size must be > 0, got " + streamFetchSize);
+        }
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    /**
+     * Returns the executor running parallel query work, or null if none is
+     * configured.
+     */
+    public Executor getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    /**
+     * Sets the executor running parallel query work (e.g. the partitions of
+     * {@link #parallelStream(FindQuery, int)}). Its threads block on JDBC calls,
+     * so it should be sized for the DataSource pool rather than for the CPU
+     * (on JDK 21+, a virtual-thread-per-task executor fits well).
+     * When null (the default), IN list chunks and associations are loaded one
+     * after the other, and parallel streams and re-encryption run on a pool owned
+     * by the repository, of at most {@link #setMaxParallelism max parallelism}
+     * threads, shut down with it.
+     *
+     * @param parallelExecutor the executor, or null
+     */
+    public void setParallelExecutor(Executor parallelExecutor) {
+        this.parallelExecutor = parallelExecutor;
+    }
+
+    /**
+     * Returns the maximum number of threads of the pool used when no parallel
+     * executor is configured.
+     */
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    /**
+     * Sets the maximum number of threads of the pool used by parallel streams and
+     * re-encryption when no parallel executor is configured, and therefore of
+     * connections they take from the DataSource at once. Partitions and batches
+     * beyond it wait for a thread.
+     *
+     * @param maxParallelism the maximum number of threads, must be > 0
+     * @throws NativSQLException if maxParallelism is not positive
+     */
+    public synchronized void setMaxParallelism(int maxParallelism) {
+        if (maxParallelism <= 0) {
+            throw new NativSQLException("Max parallelism must be > 0, got " + maxParallelism);
+        }
+        if (ownedParallelExecutor != null) {
+            if (maxParallelism > this.maxParallelism) {
+                ownedParallelExecutor.setMaximumPoolSize(maxParallelism);
+                ownedParallelExecutor.setCorePoolSize(maxParallelism);
+            } else {
+                ownedParallelExecutor.setCorePoolSize(maxParallelism);
+                ownedParallelExecutor.setMaximumPoolSize(maxParallelism);
+            }
+        }
+        this.maxParallelism = maxParallelism;
+    }
+
+    /**
+     * Shuts down the pool created when no parallel executor is configured, if
+     * any. Called by Spring when the repository is destroyed; a later parallel
+     * call creates a new one.
+     */
+    @PreDestroy
+    public synchronized void shutdownParallelExecutor() {
+        if (ownedParallelExecutor != null) {
+            ownedParallelExecutor.shutdown();
+            ownedParallelExecutor = null;
+        }
+    }
+
+    /**
+     * Returns the maximum number of values per IN list in
+     * {@link #findAllByIds(List, String...)} and
+     * {@link #findAllByPropertyIn(String, List, String...)}.
+     */
+    public int getInListChunkSize() {
+        return inListChunkSize;
+    }
+
+    /**
+     * Sets the maximum number of values per IN list. Larger lists are split into
+     * several queries whose results are concatenated.
+     *
+     * @param inListChunkSize the chunk size, must be > 0
+     * @throws NativSQLException if inListChunkSize is not positive
+     */
+    public void setInListChunkSize(int inListChunkSize) {
+        if (inListChunkSize <= 0) {
+            throw new NativSQLException("IN list chunk size must be > 0, got " + inListChunkSize);
+        }
+        this.inListChunkSize = inListChunkSize;
+    }
+
+    /**
+     * Returns whether the chunks of a large IN list are queried concurrently.
+     */
+    public boolean isParallelInListChunks() {
+        return parallelInListChunks;
+    }
+
+    /**
+     * Sets whether the chunks of a large IN list are queried concurrently on the
+     * {@link #setParallelExecutor parallel executor}. Chunk queries then run on
+     * their own connections, outside any transaction of the calling thread.
+     * Without a parallel executor, chunks are queried one after the other.
+     *
+     * @param parallelInListChunks true to query chunks concurrently
+     */
+    public void setParallelInListChunks(boolean parallelInListChunks) {
+        this.parallelInListChunks = parallelInListChunks;
+    }
+
+    /**
+     * Returns whether sibling associations are loaded concurrently.
+     */
+    public boolean isParallelAssociations() {
+        return parallelAssociations;
+    }
+
+    /**
+     * Sets whether the associations of a query ({@code associate(...)} calls) are
+     * loaded concurrently on the {@link #setParallelExecutor parallel executor}
+     * instead of one after the other, so the wall-clock time is that of the
+     * slowest association rather than the sum. Nested associations and IN list
+     * chunks of a load run inline on its thread. Each load runs on its own pooled
+     * connection, outside any transaction of the calling thread: uncommitted
+     * changes of that transaction are not visible to it. Without a parallel
+     * executor, associations are loaded one after the other.
+     *
+     * @param parallelAssociations true to load sibling associations concurrently
+     */
+    public void setParallelAssociations(boolean parallelAssociations) {
+        this.parallelAssociations = parallelAssociations;
+    }
+
+    /**
+     * Returns whether concurrent identical reads share one execution.
+     */
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+
+    /**
+     * Sets whether concurrent identical reads ({@code find}, {@code findAll},
+     * {@code count}, {@code exists}, and therefore {@code findById}) with the
+     * same SQL and parameters share one in-flight execution and its result
+     * instead of each running the query, protecting the database from bursts of
+     * the same read (cold start, expired cache entry). Reads inside a
+     * transaction are never coalesced. The entities returned to concurrent
+     * callers are the same instances and must be treated as read-only.
+     *
+     * @param coalesceReads true to coalesce concurrent identical reads
+     */
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    /**
+     * Returns the second-level entity cache, or null when caching is disabled.
+     */
+    public EntityCache<T> getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * Sets a second-level cache in front of {@link #findById(Object, String...)}
+     * and {@link #findAllByIds(List, String...)}, keyed by id and selected
+     * columns. Cached entities are invalidated by {@link #update(Object, String...)},
+     * {@link #deleteById(Object)} and {@link #delete(Object)} on the same id, and
+     * entirely by query-based deletes, again after the transaction completes when
+     * one is active. Writes bypassing this repository are not seen: use it for
+     * reference data, with a TTL bounding staleness.
+     *
+     * @param entityCache the cache (e.g. a
+     *                    {@link ovh.heraud.nativsql.cache.CaffeineEntityCache}), or null
+     *                    to disable caching
+     */
+    public void setEntityCache(EntityCache<T> entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * Returns the cache of the queries marked with {@code cacheFor(Duration)}:
+     * the Spring bean shared by all the repositories, or a cache of this
+     * repository only when not running in Spring.
+     */
+    public QueryResultCache getQueryResultCache() {
+        QueryResultCache cache = queryResultCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = queryResultCache;
+                if (cache == null) {
+                    cache = new QueryResultCache();
+                    queryResultCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Sets the cache of the queries marked with {@code cacheFor(Duration)}.
+     * Repositories writing to tables read by each other's cached queries must
+     * share the same cache for the writes to invalidate them.
+     *
+     * @param queryResultCache the cache (must not be null)
+     */
+    public void setQueryResultCache(QueryResultCache queryResultCache) {
+        if (queryResultCache == null) {
+            throw new NativSQLException("queryResultCache cannot be null");
+        }
+        this.queryResultCache = queryResultCache;
+    }
+
+    /**
+     * Returns whether IN lists are bound as a single array parameter when the
+     * dialect supports it.
+     */
+    public boolean isArrayInLists() {
+        return arrayInLists;
+    }
+
+    /**
+     * Sets whether IN lists are bound as a single array parameter
+     * ({@code id = ANY(:id)}) when the dialect supports it for the value type
+     * (see {@link DatabaseDialect#getArrayElementType(Class)}). The statement
+     * text then stays the same whatever the number of values, and no chunking
+     * is needed.
+     *
+     * @param arrayInLists true to bind IN lists as arrays
+     */
+    public void setArrayInLists(boolean arrayInLists) {
+        this.arrayInLists = arrayInLists;
+    }
+
+    /**
+     * Returns the repository-wide JDBC fetch size, or null for the driver default.
+     */
+    public Integer getDefaultFetchSize() {
+        return defaultStatementSettings.fetchSize();
+    }
+
+    /**
+     * Sets the repository-wide JDBC fetch size used by every query that does not
+     * set its own {@link FindQuery#fetchSize(int)}. Drivers default to 10 rows
+     * (Oracle) or to buffering the whole result (PostgreSQL, MySQL).
+     *
+     * @param fetchSize the fetch size (must be > 0), or null for the driver default
+     * @throws NativSQLException if fetchSize is not positive
+     */
+    public void setDefaultFetchSize(Integer fetchSize) {
+        if (fetchSize != null && fetchSize <= 0) {
+            throw new NativSQLException("Default fetch size must be > 0, got " + fetchSize);
+        }
+        updateDefaultStatementSettings(new StatementSettings(fetchSize, defaultStatementSettings.maxRows(),
+                defaultStatementSettings.timeout()));
+    }
+
+    /**
+     * Returns the repository-wide JDBC maximum number of rows, or null for no limit.
+     */
+    public Integer getDefaultMaxRows() {
+        return defaultStatementSettings.maxRows();
+    }
+
+    /**
+     * Sets the repository-wide JDBC maximum number of rows used by every query
+     * that does not set its own {@link FindQuery#maxRows(int)}.
+     * Queries fetching rows by a list of values ({@link #findAllByIds(List, String...)},
+     * {@link #findAllByPropertyIn(String, List, String...)}, hence association
+     * loads) are not limited: the list already bounds them, and a cap would
+     * silently drop rows.
+     *
+     * @param maxRows the maximum number of rows (must be > 0), or null for no limit
+     * @throws NativSQLException if maxRows is not positive
+     */
+    public void setDefaultMaxRows(Integer maxRows) {
+        if (maxRows != null && maxRows <= 0) {
+            throw new NativSQLException("Default max rows must be > 0, got " + maxRows);
+        }
+        updateDefaultStatementSettings(new StatementSettings(defaultStatementSettings.fetchSize(), maxRows,
+                defaultStatementSettings.timeout()));
+    }
+
+    /**
+     * Returns the repository-wide query timeout, or null for no timeout.
+     */
+    public Duration getDefaultQueryTimeout() {
+        return defaultStatementSettings.timeout();
+    }
+
+    /**
+     * Sets the repository-wide query timeout used by every query that does not
+     * set its own {@link FindQuery#timeout(Duration)}. Rounded up to the second.
+     *
+     * @param timeout the timeout (must be positive), or null for no timeout
+     * @throws NativSQLException if timeout is zero or negative
+     */
+    public void setDefaultQueryTimeout(Duration timeout) {
+        if (timeout != null && (timeout.isZero() || timeout.isNegative())) {
+            throw new NativSQLException("Default query timeout must be positive, got " + timeout);
+        }
+        updateDefaultStatementSettings(new StatementSettings(defaultStatementSettings.fetchSize(),
+                defaultStatementSettings.maxRows(), timeout));
+    }
+
     abstract protected Class<T> getEntityClass();
 
     protected abstract DatabaseDialect getDatabaseDialectInstance();
@@ -159,6 +629,38 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         throw new UnsupportedOperationException("getTableName() must be implemented or initialized via constructor");
     }
 
+    /**
+     * Returns the repository of a @MappedBy join target, resolved once and
+     * cached: the Spring bean when an ApplicationContext is available, otherwise
+     * an instance created with the repository's no-arg constructor.
+     * Used by FindQuery builder.
+     *
+     * @param repositoryClass the repository class declared in @MappedBy
+     * @return the join repository
+     * @throws NativSQLException if the class is not a GenericRepository or
+     *                           cannot be instantiated
+     */
+    public GenericRepository<?, ?> getJoinRepository(Class<?> repositoryClass) {
+        return joinRepositories.computeIfAbsent(repositoryClass, this::resolveJoinRepository);
+    }
+
+    private GenericRepository<?, ?> resolveJoinRepository(Class<?> repositoryClass) {
+        if (!GenericRepository.class.isAssignableFrom(repositoryClass)) {
+            throw new NativSQLException("Not a GenericRepository: " + repositoryClass.getName());
+        }
+        if (applicationContext != null) {
+            Object bean = applicationContext.getBeanProvider(repositoryClass).getIfUnique();
+            if (bean != null) {
+                return (GenericRepository<?, ?>) bean;
+            }
+        }
+        try {
+            return (GenericRepository<?, ?>) repositoryClass.getConstructor().newInstance();
+        } catch (Exception e) {
+            throw new NativSQLException("Failed to instantiate repository: " + repositoryClass.getName(), e);
+        }
+    }
+
     /**
      * Returns the entity fields metadata.
      * Used by FindQuery builder.
@@ -262,6 +764,48 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
      * @throws NativSQLException if columns array is empty
      */
     public void insert(T entity, String... columns) {
+        EntityWrite write = prepareInsert(entity, columns);
+        executeInsert(entity, write, convertParamsToSqlValues(write.rawParams()));
+    }
+
+    /**
+     * Inserts several entities with the same columns and populates their
+     * generated IDs, one INSERT per entity.
+     *
+     * <p>
+     * The values of all entities are converted before the first INSERT runs, one
+     * column at a time: one-way ({@code BCRYPT}) {@code @Encrypted} values are
+     * hashed in parallel on the bounded
+     * {@link ovh.heraud.nativsql.crypt.BcryptHashingExecutor}, which blocks or
+     * fails the call with {@code HASHING_BUSY} when its limit is reached.
+     * {@code @OnInsert} fields are applied as in {@link #insert(Object, String...)}.
+     * Run it in a transaction to insert all entities or none.
+     *
+     * @param entities the entities to insert (will be modified with generated IDs)
+     * @param columns  the property names (camelCase) to insert (must not be empty)
+     * @throws NativSQLException if columns array is empty
+     */
+    public void insertAll(List<T> entities, String... columns) {
+        List<EntityWrite> writes = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            writes.add(prepareInsert(entity, columns));
+        }
+        List<Map<String, Object>> sqlParams = convertAllParamsToSqlValues(
+                writes.stream().map(EntityWrite::rawParams).toList());
+        for (int i = 0; i < entities.size(); i++) {
+            executeInsert(entities.get(i), writes.get(i), sqlParams.get(i));
+        }
+    }
+
+    /**
+     * An INSERT or UPDATE of one entity, with its raw (unconverted) parameters
+     * and the computed fields applied to it.
+     */
+    private record EntityWrite(String sql, Map<String, Object> rawParams, List<String> computedFieldNames,
+            Object id) {
+    }
+
+    private EntityWrite prepareInsert(T entity, String... columns) {
         if (columns == null || columns.length == 0) {
             throw new NativSQLException("Column list cannot be empty");
         }
@@ -286,20 +830,23 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
 
         String sql = formatQuery("INSERT INTO %s (%s) VALUES (%s)",
                 getTableName(), columnList, paramList);
+        return new EntityWrite(sql, rawParams, onInsertFieldNames, null);
+    }
 
-        Map<String, Object> sqlParams = convertParamsToSqlValues(rawParams);
-        Map<String, Object> logParams = convertParamsForLogging(rawParams);
+    private void executeInsert(T entity, EntityWrite write, Map<String, Object> sqlParams) {
+        Map<String, Object> logParams = convertParamsForLogging(write.rawParams());
 
         Map<String, Object> onInsertLogValues = new LinkedHashMap<>();
-        for (String fieldName : onInsertFieldNames) {
+        for (String fieldName : write.computedFieldNames()) {
             onInsertLogValues.put(fieldName, logParams.get(fieldName));
         }
 
         // Try to retrieve generated ID using GeneratedKeyHolder for better reliability
-        ID generatedId = dbOperationLogger.executeInsert(getClass(), getTableName(), sql, logParams,
-                onInsertLogValues, () -> insertWithGeneratedKey(sql, sqlParams));
+        ID generatedId = dbOperationLogger.executeInsert(getClass(), getTableName(), write.sql(), logParams,
+                onInsertLogValues, () -> insertWithGeneratedKey(write.sql(), sqlParams));
 
         entity.setId(generatedId);
+        invalidateEntityCache(generatedId);
     }
 
     /**
@@ -322,6 +869,8 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
             this.jdbcTemplate.update(sql, source, keyHolder, new String[] { ID_COLUMN });
         } catch (DataAccessException e) {
             throw new NativSQLException("Error executing INSERT into " + getTableName() + ": " + e.getMessage(), e);
+        } finally {
+            invalidateQueryResultCache();
         }
 
         Map<String, Object> keys = keyHolder.getKeys();
@@ -354,6 +903,7 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
 
     /**
      * Executes an UPDATE, INSERT or DELETE SQL statement.
+     * Invalidates the cached query results of the table.
      *
      * @param sql    the SQL statement to execute
      * @param params the query parameters
@@ -364,6 +914,8 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
             return jdbcTemplate.update(sql, params);
         } catch (DataAccessException e) {
             throw new NativSQLException("Error executing update on " + getTableName() + ": " + e.getMessage(), e);
+        } finally {
+            invalidateQueryResultCache();
         }
     }
 
@@ -405,6 +957,41 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
      *                           exactly one row
      */
     public void update(T entity, String... columns) {
+        EntityWrite write = prepareUpdate(entity, columns);
+        executeUpdate(write, convertParamsToSqlValues(write.rawParams()));
+    }
+
+    /**
+     * Updates several entities with the same columns, one UPDATE per entity.
+     * Validates that each UPDATE affects exactly one row.
+     *
+     * <p>
+     * The values of all entities are converted before the first UPDATE runs, one
+     * column at a time: one-way ({@code BCRYPT}) {@code @Encrypted} values are
+     * hashed in parallel on the bounded
+     * {@link ovh.heraud.nativsql.crypt.BcryptHashingExecutor}, which blocks or
+     * fails the call with {@code HASHING_BUSY} when its limit is reached.
+     * {@code @OnUpdate} fields are applied as in {@link #update(Object, String...)}.
+     * Run it in a transaction to update all entities or none.
+     *
+     * @param entities the entities to update
+     * @param columns  the property names (camelCase) to update (must not be empty)
+     * @throws NativSQLException if columns is empty or if an update doesn't affect
+     *                           exactly one row
+     */
+    public void updateAll(List<T> entities, String... columns) {
+        List<EntityWrite> writes = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            writes.add(prepareUpdate(entity, columns));
+        }
+        List<Map<String, Object>> sqlParams = convertAllParamsToSqlValues(
+                writes.stream().map(EntityWrite::rawParams).toList());
+        for (int i = 0; i < writes.size(); i++) {
+            executeUpdate(writes.get(i), sqlParams.get(i));
+        }
+    }
+
+    private EntityWrite prepareUpdate(T entity, String... columns) {
         if (columns == null || columns.length == 0) {
             throw new NativSQLException("Column list cannot be empty");
         }
@@ -430,22 +1017,25 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
 
         String idColumnSnake = identifierConverter.toDB(ID_COLUMN);
         String sql = "UPDATE " + getTableName() + " SET " + setClause + " WHERE " + idColumnSnake + " = :" + ID_COLUMN;
+        return new EntityWrite(sql, rawParams, onUpdateFieldNames, id);
+    }
 
-        Map<String, Object> sqlParams = convertParamsToSqlValues(rawParams);
-        Map<String, Object> logParams = convertParamsForLogging(rawParams);
+    private void executeUpdate(EntityWrite write, Map<String, Object> sqlParams) {
+        Map<String, Object> logParams = convertParamsForLogging(write.rawParams());
 
         Map<String, Object> onUpdateLogValues = new LinkedHashMap<>();
-        for (String fieldName : onUpdateFieldNames) {
+        for (String fieldName : write.computedFieldNames()) {
             onUpdateLogValues.put(fieldName, logParams.get(fieldName));
         }
 
-        dbOperationLogger.executeUpdate(getClass(), getTableName(), sql, logParams, onUpdateLogValues, () -> {
-            int rowsUpdated = executeUpdate(sql, sqlParams);
+        dbOperationLogger.executeUpdate(getClass(), getTableName(), write.sql(), logParams, onUpdateLogValues, () -> {
+            int rowsUpdated = executeUpdate(write.sql(), sqlParams);
             if (rowsUpdated != 1) {
                 throw new NativSQLException(
                         "Update failed: expected to update exactly 1 row but updated " + rowsUpdated);
             }
         });
+        invalidateEntityCache(write.id());
     }
 
     private Map<String, Object> getMap(String idColumn, Object id) {
@@ -474,6 +1064,7 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
                         "Delete failed: expected to delete exactly 1 row but deleted " + rowsDeleted);
             }
         });
+        invalidateEntityCache(id);
     }
 
     /**
@@ -506,6 +1097,7 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
                         "delete failed: expected to delete exactly 1 row but deleted " + rowsDeleted);
             }
         });
+        invalidateEntityCache(null);
     }
 
     /**
@@ -527,6 +1119,7 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         Map<String, Object> params = convertParamsToSqlValues(query.getParameters());
         dbOperationLogger.execute(getClass(), "deleteAll", "DELETE", getTableName(), sql, params,
                 () -> executeUpdate(sql, params));
+        invalidateEntityCache(null);
     }
 
     public final void deleteAllByProperty(Getter<T> getter, Object value) {
@@ -544,8 +1137,9 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
     protected long count(CountQuery<T, ID> query) {
         String sql = query.buildString(identifierConverter);
         Map<String, Object> params = convertParamsToSqlValues(query.getParameters());
-        return dbOperationLogger.execute(getClass(), "count", "SELECT", getTableName(), sql, params,
-                () -> jdbcTemplate.queryForObject(sql, params, Long.class));
+        return cachedQuery(query, "count", sql, params, Long.class,
+                () -> dbOperationLogger.execute(getClass(), "count", "SELECT", getTableName(), sql, params,
+                        () -> jdbcTemplate.queryForObject(sql, params, Long.class)));
     }
 
     /**
@@ -576,9 +1170,11 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         String innerSql = query.buildString(identifierConverter);
         String sql = databaseDialect.buildExistsQuery(innerSql);
         Map<String, Object> params = convertParamsToSqlValues(query.getParameters());
-        Object raw = dbOperationLogger.execute(getClass(), "exists", "SELECT", getTableName(), sql, params,
-                () -> jdbcTemplate.queryForObject(sql, params, Object.class));
-        return databaseDialect.extractExistsResult(raw);
+        return cachedQuery(query, "exists", sql, params, Boolean.class, () -> {
+            Object raw = dbOperationLogger.execute(getClass(), "exists", "SELECT", getTableName(), sql, params,
+                    () -> jdbcTemplate.queryForObject(sql, params, Object.class));
+            return databaseDialect.extractExistsResult(raw);
+        });
     }
 
     /**
@@ -634,10 +1230,21 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         if (columns == null || columns.length == 0) {
             throw new NativSQLException("Column list cannot be empty");
         }
-        return find(
-                newFindQuery()
-                        .select(ensureIdColumnSelected(columns))
-                        .whereAndEquals(ID_COLUMN, id));
+        String[] selectedColumns = ensureIdColumnSelected(columns);
+        if (!isEntityCacheUsable() || id == null) {
+            return find(newFindQuery().select(selectedColumns).whereAndEquals(ID_COLUMN, id));
+        }
+        String columnSet = toColumnSet(selectedColumns);
+        Object key = toEntityCacheKey(id);
+        T cached = entityCache.get(key, columnSet);
+        if (cached != null) {
+            return copyEntity(cached, selectedColumns);
+        }
+        T entity = find(newFindQuery().select(selectedColumns).whereAndEquals(ID_COLUMN, id));
+        if (entity != null) {
+            entityCache.put(key, columnSet, copyEntity(entity, selectedColumns));
+        }
+        return entity;
     }
 
     /**
@@ -714,14 +1321,205 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
      * @return list of matching entities
      * @throws NativSQLException if columns is empty
      */
-    public List<T> findAllByIds(List<?> ids, String... columns) {
-        if (columns == null || columns.length == 0) {
-            throw new NativSQLException("Column list cannot be empty");
-        }
-        return findAll(
-                newFindQuery()
-                        .select(ensureIdColumnSelected(columns))
-                        .whereAndIn(ID_COLUMN, ids));
+    public List<T> findAllByIds(List<?> ids, String... columns) {
+        if (columns == null || columns.length == 0) {
+            throw new NativSQLException("Column list cannot be empty");
+        }
+        String[] selectedColumns = ensureIdColumnSelected(columns);
+        if (!isEntityCacheUsable()) {
+            return findAllIn(ID_COLUMN, ids, selectedColumns);
+        }
+        String columnSet = toColumnSet(selectedColumns);
+        List<T> results = new ArrayList<>(ids.size());
+        List<Object> missingIds = new ArrayList<>();
+        for (Object id : new LinkedHashSet<>(ids)) {
+            T cached = id != null ? entityCache.get(toEntityCacheKey(id), columnSet) : null;
+            if (cached != null) {
+                results.add(copyEntity(cached, selectedColumns));
+            } else if (id != null) {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            FieldAccessor<ID> idField = entityFields.get(ID_COLUMN);
+            for (T entity : findAllIn(ID_COLUMN, missingIds, selectedColumns)) {
+                entityCache.put(toEntityCacheKey(idField.getValue(entity)), columnSet,
+                        copyEntity(entity, selectedColumns));
+                results.add(entity);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Tells whether findById and findAllByIds may go through the entity cache:
+     * like {@link #cachedQuery}, read-write transactions bypass it, as they may
+     * read their own uncommitted writes, which must not outlive a rollback.
+     */
+    private boolean isEntityCacheUsable() {
+        return entityCache != null && (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    /**
+     * Builds the entity cache key part for a set of columns: sorted and
+     * comma-separated, so that the column order does not matter.
+     */
+    private static String toColumnSet(String[] columns) {
+        return String.join(",", new TreeSet<>(Arrays.asList(columns)));
+    }
+
+    /**
+     * Builds the entity cache key of an id: numbers are converted to the type of
+     * the id field, so that an Integer and a Long id share the same entry.
+     */
+    private Object toEntityCacheKey(Object id) {
+        if (id instanceof Number number) {
+            Class<?> idType = entityFields.get(ID_COLUMN).getType();
+            if (idType == Long.class || idType == long.class) {
+                return number.longValue();
+            }
+            if (idType == Integer.class || idType == int.class) {
+                return number.intValue();
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Copies the given columns of an entity into a new instance, so that cached
+     * entities are never shared with callers. Collections, JSON values, Lazy
+     * holders and the other mutable values are copied too (see
+     * {@link EntityCopier}).
+     */
+    private T copyEntity(T entity, String[] columns) {
+        return newEntityCopier().copy(entity, columns);
+    }
+
+    private EntityCopier newEntityCopier() {
+        ObjectMapper objectMapper = databaseDialect instanceof AbstractChainedDialect chainedDialect
+                ? chainedDialect.getObjectMapper()
+                : DEFAULT_OBJECT_MAPPER;
+        return new EntityCopier(annotationManager, objectMapper);
+    }
+
+    /**
+     * Removes an entity from the entity cache, or every entity when id is null,
+     * and again after the completion of the current transaction if any, so that
+     * a concurrent read of the old row cannot stay cached once the write commits.
+     */
+    private void invalidateEntityCache(Object id) {
+        EntityCache<T> cache = entityCache;
+        if (cache == null) {
+            return;
+        }
+        Object key = toEntityCacheKey(id);
+        Runnable invalidation = key != null ? () -> cache.invalidate(key) : cache::invalidateAll;
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes the cached query results of the table, and again after the
+     * completion of the current transaction if any, like the entity cache.
+     * Does nothing, and registers no synchronization, while no cached query of
+     * the table ever ran: there is nothing to invalidate.
+     */
+    private void invalidateQueryResultCache() {
+        QueryResultCache cache = queryResultCache;
+        String table = getTableName();
+        if (cache == null || !cache.hasQueried(table)) {
+            return;
+        }
+        cache.invalidateTable(table);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateTable(table);
+                }
+            });
+        }
+    }
+
+    /**
+     * Key of a cached or coalesced query result: the same SQL may be run by
+     * different repository operations and mapped into different classes.
+     */
+    private record QueryCacheKey(Class<?> repositoryClass, String operation, String sql,
+            Map<String, Object> params, Class<?> resultClass) {
+    }
+
+    /**
+     * Runs a query through the query result cache when it is marked with
+     * {@code cacheFor(Duration)}, else coalesced with identical concurrent reads
+     * when {@link #setCoalesceReads(boolean)} is on, otherwise directly.
+     * Queries with joins or associations cannot be cached: the cache is only
+     * invalidated by writes to the repository's table.
+     * Read-write transactions bypass the cache: they may see their own
+     * uncommitted writes. Transactions are never coalesced: each has its own
+     * connection and snapshot.
+     */
+    private <V> V cachedQuery(WhereQuery<T, ID, ?> query, String operation, String sql,
+            Map<String, Object> params, Class<?> resultClass, Supplier<V> loader) {
+        Duration ttl = query.getCacheTtl();
+        if (ttl != null && query instanceof FindQuery<?, ?> findQuery
+                && (findQuery.hasJoins() || findQuery.hasAssociations())) {
+            throw new NativSQLException("cacheFor() cannot be used on a query with joins or associations on "
+                    + getTableName() + ": writes to their tables would not invalidate the cached result");
+        }
+        if (isQueryResultCached(query)) {
+            QueryCacheKey key = new QueryCacheKey(getClass(), operation, sql, params, resultClass);
+            return getQueryResultCache().get(getTableName(), key, ttl, loader);
+        }
+        if (isCoalesced()) {
+            QueryCacheKey key = new QueryCacheKey(getClass(), operation, sql, params, resultClass);
+            return inFlightReads.execute(key, loader);
+        }
+        return loader.get();
+    }
+
+    /**
+     * Tells whether {@link #cachedQuery} serves the query from the query result
+     * cache: read-write transactions bypass it.
+     */
+    private boolean isQueryResultCached(WhereQuery<T, ID, ?> query) {
+        return query.getCacheTtl() != null && (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    /**
+     * Tells whether {@link #cachedQuery} coalesces the query with identical
+     * concurrent reads: transactions never are.
+     */
+    private boolean isCoalesced() {
+        return coalesceReads && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Hands out a list returned by {@link #cachedQuery}. Cached and coalesced
+     * entities are shared with other callers: each caller gets its own copies,
+     * which it may modify, while the shared instances are never handed out.
+     */
+    private <R> List<R> toCallerList(WhereQuery<T, ID, ?> query, List<R> results) {
+        return isQueryResultCached(query) || isCoalesced() ? newEntityCopier().copyAll(results) : results;
+    }
+
+    /**
+     * Copies an entity read through the query result cache or coalesced with
+     * other reads for the caller, like {@link #toCallerList}.
+     */
+    private <R> R copyIfCached(WhereQuery<T, ID, ?> query, R entity) {
+        return entity != null && (isQueryResultCached(query) || isCoalesced())
+                ? newEntityCopier().copy(entity, null)
+                : entity;
     }
 
     /**
@@ -1171,9 +1969,136 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         if (columns == null || columns.length == 0) {
             throw new NativSQLException("Column list cannot be empty");
         }
-        return findAll(newFindQuery()
-                .select(columns)
-                .whereAndIn(property, values));
+        return findAllIn(property, values, columns);
+    }
+
+    /**
+     * Finds all entities whose property is in the given list. Lists longer than
+     * {@link #getInListChunkSize()} are either bound as a single array parameter
+     * (see {@link #setArrayInLists(boolean)}) or split into chunks queried one
+     * after the other, or concurrently (see
+     * {@link #setParallelInListChunks(boolean)}).
+     */
+    private List<T> findAllIn(String property, List<?> values, String[] columns) {
+        String arrayElementType = arrayInLists ? getArrayElementType(property) : null;
+        if (arrayElementType != null) {
+            return findAll(newInListQuery(columns).whereAndInArray(property, arrayElementType, values));
+        }
+        if (values == null || values.size() <= inListChunkSize) {
+            return findAll(newInListQuery(columns).whereAndIn(property, values));
+        }
+
+        // IN semantics ignore duplicates: dropping them keeps chunks disjoint
+        List<?> distinctValues = new ArrayList<>(new LinkedHashSet<>(values));
+        List<List<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctValues.size(); from += inListChunkSize) {
+            chunks.add(distinctValues.subList(from, Math.min(distinctValues.size(), from + inListChunkSize)));
+        }
+        if (!parallelInListChunks || chunks.size() == 1) {
+            List<T> result = new ArrayList<>();
+            for (List<?> chunk : chunks) {
+                result.addAll(findAll(newInListQuery(columns).whereAndIn(property, chunk)));
+            }
+            return result;
+        }
+
+        List<Supplier<List<T>>> tasks = chunks.stream()
+                .<Supplier<List<T>>>map(chunk -> () -> findAll(newInListQuery(columns).whereAndIn(property, chunk)))
+                .toList();
+        List<T> result = new ArrayList<>();
+        for (List<T> chunkResult : runInParallel(tasks, "an IN list chunk")) {
+            result.addAll(chunkResult);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a query selecting the given columns for rows fetched by a list of
+     * values (ids, foreign keys of an association). The list already bounds it:
+     * the repository default max rows would silently drop rows of a chunk or of
+     * an association, so it is lifted.
+     */
+    private FindQuery<T, ID> newInListQuery(String[] columns) {
+        FindQuery<T, ID> query = newFindQuery().select(columns);
+        return defaultStatementSettings.maxRows() != null ? query.noMaxRows() : query;
+    }
+
+    /**
+     * Repository defaults for queries fetching rows by a list of values, without
+     * the default max rows (see {@link #newInListQuery(String[])}).
+     */
+    private StatementSettings inListStatementSettings() {
+        return new StatementSettings(null, defaultStatementSettings.maxRows() != null ? 0 : null, null)
+                .orElse(defaultStatementSettings);
+    }
+
+    /**
+     * Runs the given tasks concurrently on the parallel executor and returns
+     * their results in task order. The first failure is rethrown as a
+     * NativSQLException.
+     *
+     * <p>
+     * Without a parallel executor, or when called from a task already run by this
+     * method (e.g. the IN list chunks or nested levels of a parallel association
+     * load, whatever the repository), the tasks run inline one after the other:
+     * a task blocking on tasks queued behind it on the same bounded executor
+     * would otherwise deadlock it.
+     *
+     * @param tasks       the tasks to run
+     * @param description what a task is, for error messages (e.g. "an IN list chunk")
+     */
+    private <R> List<R> runInParallel(List<Supplier<R>> tasks, String description) {
+        Executor executor = parallelExecutor;
+        if (executor == null || Boolean.TRUE.equals(IN_PARALLEL_TASK.get())) {
+            List<R> results = new ArrayList<>(tasks.size());
+            for (Supplier<R> task : tasks) {
+                results.add(task.get());
+            }
+            return results;
+        }
+        try {
+            List<CompletableFuture<R>> futures = tasks.stream()
+                    .map(task -> CompletableFuture.supplyAsync(() -> runAsParallelTask(task), executor))
+                    .toList();
+            List<R> results = new ArrayList<>(tasks.size());
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NativSQLException nativSQLException) {
+                throw nativSQLException;
+            }
+            throw new NativSQLException("Error running " + description + " of " + getTableName() + ": "
+                    + e.getCause().getMessage(), e.getCause());
+        } catch (RejectedExecutionException e) {
+            throw new NativSQLException("Parallel executor rejected " + description + " of " + getTableName(), e);
+        }
+    }
+
+    private static <R> R runAsParallelTask(Supplier<R> task) {
+        if (Boolean.TRUE.equals(IN_PARALLEL_TASK.get())) {
+            // Run by the calling thread itself (e.g. a direct executor)
+            return task.get();
+        }
+        IN_PARALLEL_TASK.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            IN_PARALLEL_TASK.remove();
+        }
+    }
+
+    /**
+     * Returns the SQL array element type to bind values of the given root
+     * property as one array parameter, or null if the dialect cannot.
+     */
+    private String getArrayElementType(String property) {
+        FieldAccessor<Object> field = entityFields.getOrNull(property);
+        if (field == null || databaseDialect == null) {
+            return null;
+        }
+        return databaseDialect.getArrayElementType(field.getType());
     }
 
     /**
@@ -1405,21 +2330,21 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         // Get parameters with SQL conversion
         Map<String, Object> params = query.getParameters();
 
-        // Execute query with joins for nested object mapping
-        List<T> results = dbOperationLogger.execute(getClass(), "SELECT", getTableName(), sql, params,
-                () -> findAllExternal(sql, params, entityClass));
-
-        T entity = getFirstOrNull(results);
-        if (entity == null) {
-            return null;
-        }
+        // Execute query with joins for nested object mapping, then load the
+        // associations before the result is cached
+        List<T> results = cachedQuery(query, "find", sql, params, entityClass, () -> {
+            List<T> rows = dbOperationLogger.execute(getClass(), "SELECT", getTableName(), sql, params,
+                    () -> queryAll(query, sql, params, entityClass));
 
-        // Load associations for multiple linked entities using batch loading
-        if (entity != null && query.hasAssociations()) {
-            loadAssociationsInBatch(List.of(entity), query.getAssociations());
-        }
+            // Load associations for multiple linked entities using batch loading
+            T first = getFirstOrNull(rows);
+            if (first != null && query.hasAssociations()) {
+                loadAssociationsInBatch(List.of(first), query.getAssociations());
+            }
+            return rows;
+        });
 
-        return entity;
+        return copyIfCached(query, getFirstOrNull(results));
     }
 
     /**
@@ -1436,7 +2361,9 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
 
     /**
      * Finds entities using a complex FindQuery builder.
-     * Does NOT load associations to avoid N+1 queries.
+     * Loads associations if specified in the query using batch loading: one
+     * query per association for the whole result list (split into chunks for
+     * large lists, see {@link #setInListChunkSize(int)}), never one per entity.
      */
     protected List<T> findAll(FindQuery<T, ID> query) {
         // Build SQL query using FindQuery
@@ -1445,10 +2372,20 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         // Get parameters with SQL conversion
         Map<String, Object> params = query.getParameters();
 
-        // Execute query with joins for nested object mapping (no association loading to
-        // avoid N+1)
-        return dbOperationLogger.execute(getClass(), "SELECT", getTableName(), sql, params,
-                () -> findAllExternal(sql, params, entityClass));
+        // Execute query with joins for nested object mapping, then load the
+        // associations before the result is cached
+        List<T> results = cachedQuery(query, "findAll", sql, params, entityClass, () -> {
+            List<T> rows = dbOperationLogger.execute(getClass(), "SELECT", getTableName(), sql, params,
+                    () -> queryAll(query, sql, params, entityClass));
+
+            // Load associations for all the entities at once using batch loading
+            if (query.hasAssociations() && !rows.isEmpty()) {
+                loadAssociationsInBatch(rows, query.getAssociations());
+            }
+            return rows;
+        });
+
+        return toCallerList(query, results);
     }
 
     /**
@@ -1469,21 +2406,21 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         // Get parameters with SQL conversion
         Map<String, Object> params = query.getParameters();
 
-        // Execute query with joins for nested object mapping
-        List<R> results = dbOperationLogger.execute(getClass(), "SELECT", getTableName(), sql, params,
-                () -> findAllExternal(sql, params, resultClass));
-
-        R entity = getFirstOrNull(results);
-        if (entity == null) {
-            return null;
-        }
+        // Execute query with joins for nested object mapping, then load the
+        // associations before the result is cached
+        List<R> results = cachedQuery(query, "find", sql, params, resultClass, () -> {
+            List<R> rows = dbOperationLogger.execute(getClass(), "SELECT", getTableName(), sql, params,
+                    () -> queryAll(query, sql, params, resultClass));
 
-        // Load associations for multiple linked entities using batch loading
-        if (query.hasAssociations()) {
-            loadAssociationsInBatch(List.of(entity), query.getAssociations());
-        }
+            // Load associations for multiple linked entities using batch loading
+            R first = getFirstOrNull(rows);
+            if (first != null && query.hasAssociations()) {
+                loadAssociationsInBatch(List.of(first), query.getAssociations());
+            }
+            return rows;
+        });
 
-        return entity;
+        return copyIfCached(query, getFirstOrNull(results));
     }
 
     /**
@@ -1506,7 +2443,8 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
      * Finds entities using a complex FindQuery builder, mapping each result into
      * a subtype of the entity (e.g. a "report" class that extends the entity with
      * extra computed fields via {@link FindQuery#selectExpression}).
-     * Does NOT load associations to avoid N+1 queries.
+     * Loads associations if specified in the query using batch loading, like
+     * {@link #findAll(FindQuery)}.
      *
      * @param <R>         the result type, a subtype of T
      * @param query       the FindQuery builder with search criteria
@@ -1520,10 +2458,398 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         // Get parameters with SQL conversion
         Map<String, Object> params = query.getParameters();
 
-        // Execute query with joins for nested object mapping (no association loading to
-        // avoid N+1)
-        return dbOperationLogger.execute(getClass(), "SELECT", getTableName(), sql, params,
-                () -> findAllExternal(sql, params, resultClass));
+        // Execute query with joins for nested object mapping, then load the
+        // associations before the result is cached
+        List<R> results = cachedQuery(query, "findAll", sql, params, resultClass, () -> {
+            List<R> rows = dbOperationLogger.execute(getClass(), "SELECT", getTableName(), sql, params,
+                    () -> queryAll(query, sql, params, resultClass));
+
+            // Load associations for all the entities at once using batch loading
+            if (query.hasAssociations() && !rows.isEmpty()) {
+                loadAssociationsInBatch(rows, query.getAssociations());
+            }
+            return rows;
+        });
+
+        return toCallerList(query, results);
+    }
+
+    /**
+     * Reads the first page of a keyset-paginated FindQuery.
+     *
+     * @see #findPage(FindQuery, int, String)
+     */
+    protected Page<T> findPage(FindQuery<T, ID> query, int pageSize) {
+        return findPage(query, pageSize, null);
+    }
+
+    /**
+     * Reads one page of a FindQuery using keyset ("seek") pagination: the page
+     * starts strictly after the row identified by the continuation token (see
+     * {@link FindQuery#after(Map)}), so deep pages cost the same as the first one.
+     * The query must have an ORDER BY on selected root-entity columns ending with
+     * a unique column (e.g. "id"). One extra row is fetched to detect whether a
+     * next page exists. Associations are loaded as in {@link #findAll(FindQuery)}.
+     * The query itself is left unchanged, so it can be reused for every page.
+     *
+     * @param query             the FindQuery builder, with its ORDER BY
+     * @param pageSize          the maximum number of rows per page (must be > 0)
+     * @param continuationToken the token returned with the previous page, or null
+     *                          for the first page
+     * @return the page, with the token of the next page (null on the last page)
+     * @throws NativSQLException if pageSize is not positive, the query has no
+     *                           ORDER BY or the token is invalid
+     */
+    protected Page<T> findPage(FindQuery<T, ID> query, int pageSize, String continuationToken) {
+        if (pageSize <= 0) {
+            throw new NativSQLException("pageSize must be greater than 0");
+        }
+        List<String> orderColumns = query.getOrderByColumns();
+        if (orderColumns.isEmpty()) {
+            throw new NativSQLException("Keyset pagination requires an ORDER BY");
+        }
+        // Works on a copy: the caller's query may be reused for the next pages
+        FindQuery<T, ID> pageQuery = query.copy();
+        if (continuationToken != null) {
+            pageQuery.after(ContinuationTokens.decode(continuationToken, entityFields));
+        }
+        List<T> rows = findAll(pageQuery.limit(pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new Page<>(rows, null);
+        }
+        List<T> content = new ArrayList<>(rows.subList(0, pageSize));
+        String nextToken = ContinuationTokens.encode(content.get(pageSize - 1), orderColumns, entityFields);
+        return new Page<>(content, nextToken);
+    }
+
+    /**
+     * Streams the entities matching a FindQuery, mapping rows lazily as the
+     * stream is consumed instead of loading the whole result into a list.
+     * Rows are fetched from the database {@link #getStreamFetchSize()} at a time.
+     * Does NOT load associations.
+     *
+     * <p>
+     * The returned stream holds an open connection, statement and result set:
+     * it <strong>must</strong> be closed, typically with try-with-resources.
+     * The DB.END log entry is written on close and covers the whole consumption.
+     *
+     * @param query the FindQuery builder with search criteria
+     * @return a lazily mapped stream of matching entities
+     */
+    protected Stream<T> stream(FindQuery<T, ID> query) {
+        return stream(query, entityClass);
+    }
+
+    /**
+     * Streams the entities matching a FindQuery, mapping each row into a subtype
+     * of the entity. See {@link #stream(FindQuery)}.
+     *
+     * @param <R>         the result type, a subtype of T
+     * @param query       the FindQuery builder with search criteria
+     * @param resultClass the class to map each row into
+     * @return a lazily mapped stream of matching entities; must be closed
+     */
+    protected <R extends T> Stream<R> stream(FindQuery<T, ID> query, Class<R> resultClass) {
+        String sql = query.buildString(identifierConverter);
+        Map<String, Object> params = query.getParameters();
+        StatementSettings settings = new StatementSettings(query.getFetchSize(), query.getMaxRows(),
+                query.getTimeout()).orElse(streamStatementSettings());
+        RowMapper<R> rowMapper = rowMapperFactory.getRowMapper(resultClass, databaseDialect, identifierConverter);
+        if (query.isParallelDecryption() && rowMapper instanceof GenericRowMapper<R> genericRowMapper) {
+            // Decrypt the rows in batches of the fetch size, as they are read
+            DecryptionBatch decryptionBatch = new DecryptionBatch();
+            RowMapper<R> deferredMapper = genericRowMapper.withDeferredDecryption(decryptionBatch);
+            int batchSize = query.getFetchSize() != null ? query.getFetchSize() : streamFetchSize;
+            return dbOperationLogger.executeStream(getClass(), "SELECT", getTableName(), sql, params,
+                    () -> decryptionBatch.decryptInBatches(
+                            streamExternal(sql, params, deferredMapper, settings), batchSize));
+        }
+        return dbOperationLogger.executeStream(getClass(), "SELECT", getTableName(), sql, params,
+                () -> streamExternal(sql, params, rowMapper, settings));
+    }
+
+    /**
+     * Streams the entities matching a FindQuery by scanning the table in
+     * {@code partitions} id ranges concurrently, each on its own pooled
+     * connection, and merging the rows into a single stream.
+     * The id space is split evenly between MIN(id) and MAX(id) of the table and
+     * each range runs as a copy of the query with an extra
+     * {@code id BETWEEN :idLow AND :idHigh} condition, on the
+     * {@link #setParallelExecutor parallel executor}, or the repository's own pool
+     * of at most {@link #setMaxParallelism max parallelism} threads (partitions
+     * beyond it wait for a thread). Partitions are read through
+     * {@link #stream(FindQuery)}, so memory stays bounded by the fetch size.
+     *
+     * <p>
+     * Rows come in no particular order (an ORDER BY only applies within each
+     * partition), and associations are not loaded. Requires a Long or Integer id.
+     * The returned stream <strong>must</strong> be closed.
+     *
+     * @param query      the FindQuery builder with search criteria (without limit,
+     *                   offset, after() or a range condition on id)
+     * @param partitions the number of id ranges read concurrently (must be > 0)
+     * @return a stream of the matching entities from all partitions; must be closed
+     * @throws NativSQLException if partitions is not positive, the query is
+     *                           paginated or the id type is not Long or Integer
+     */
+    protected Stream<T> parallelStream(FindQuery<T, ID> query, int partitions) {
+        if (partitions <= 0) {
+            throw new NativSQLException("partitions must be greater than 0");
+        }
+        if (query.getLimit() != null || query.getOffset() != null || query.hasAfterKey()) {
+            throw new NativSQLException("parallelStream does not support limit, offset or after()");
+        }
+        Class<?> idType = entityFields.get(ID_COLUMN).getType();
+        if (idType != Long.class && idType != Integer.class) {
+            throw new NativSQLException("parallelStream requires a Long or Integer id, got " + idType.getName());
+        }
+
+        String idColumn = identifierConverter.toDB(ID_COLUMN);
+        String boundsSql = "SELECT MIN(" + idColumn + ") AS min_id, MAX(" + idColumn + ") AS max_id FROM "
+                + getTableName();
+        Map<String, Object> bounds = dbOperationLogger.execute(getClass(), "parallelStream", "SELECT",
+                getTableName(), boundsSql, () -> jdbcTemplate.getJdbcTemplate().queryForMap(boundsSql));
+        if (bounds.get("min_id") == null) {
+            return Stream.empty();
+        }
+        List<long[]> ranges = splitIdRange(((Number) bounds.get("min_id")).longValue(),
+                ((Number) bounds.get("max_id")).longValue(), partitions);
+
+        Executor executor = getParallelExecutorOrOwned();
+        ParallelStreamMerger<T> merger = new ParallelStreamMerger<>(ranges.size(), streamFetchSize);
+        try {
+            for (long[] range : ranges) {
+                FindQuery<T, ID> partition = query.copy().whereAndRange(ID_COLUMN, RangeOperator.BETWEEN,
+                        toIdValue(range[0], idType), toIdValue(range[1], idType));
+                String sql = partition.buildString(identifierConverter);
+                Map<String, Object> params = partition.getParameters();
+                StatementSettings settings = new StatementSettings(partition.getFetchSize(),
+                        partition.getMaxRows(), partition.getTimeout()).orElse(streamStatementSettings());
+                executor.execute(() -> merger.produce(() -> dbOperationLogger.executeStream(getClass(),
+                        "parallelStream", "SELECT", getTableName(), sql, params,
+                        () -> streamExternal(sql, params, entityClass, settings))));
+            }
+        } catch (RejectedExecutionException e) {
+            merger.close();
+            throw new NativSQLException("Parallel executor rejected a partition of " + getTableName(), e);
+        }
+        return merger.stream();
+    }
+
+    /**
+     * Re-encrypts {@code @Encrypted} columns over the whole table, e.g. after a
+     * key rotation or an algorithm change: rows are read in id order by batches
+     * ({@code id > :lastId}, no OFFSET), each value is decrypted with the former
+     * configuration (see {@link ReEncryption#decryptWith}) and encrypted with the
+     * field's current one, and the rows are written back with batched
+     * compare-and-set UPDATEs ({@code WHERE id = :id AND col = <value read>}).
+     * Rows written by the application between the read and the update are read
+     * again and converted anew instead of being overwritten. Batches are converted and written concurrently on the
+     * {@link #setParallelExecutor parallel executor} (or the repository's own pool
+     * of at most {@link #setMaxParallelism max parallelism} threads), up to
+     * {@link ReEncryption#parallelism(int)}.
+     *
+     * <p>
+     * Each batch is committed on its own, so the run can be interrupted and
+     * resumed from the last reported {@link ReEncryptionProgress#checkpoint()},
+     * which only moves past rows whose update landed (or that no longer need
+     * one). Values that already decrypt with the current configuration only (written
+     * by the application during the run) are left untouched. Both the entity
+     * cache and the query result cache are cleared at the end.
+     *
+     * @param reEncryption the columns and settings of the run
+     * @return the final progress
+     * @throws NativSQLException if a column is not encrypted with a reversible
+     *                           algorithm, or a batch fails
+     */
+    public ReEncryptionProgress reEncrypt(ReEncryption reEncryption) {
+        List<ReEncryptionMigrator.Column> columns = new ArrayList<>();
+        for (String column : reEncryption.getColumns()) {
+            columns.add(new ReEncryptionMigrator.Column(identifierConverter.toDB(column), column,
+                    reEncryptionConverter(column, reEncryption)));
+        }
+
+        String idColumn = identifierConverter.toDB(ID_COLUMN);
+        String columnList = SqlUtils.getColumnsList(identifierConverter,
+                reEncryption.getColumns().toArray(String[]::new));
+        String firstBatchSql = formatQuery("SELECT %s, %s FROM %s ORDER BY %s",
+                idColumn, columnList, getTableName(), idColumn);
+        String nextBatchSql = formatQuery("SELECT %s, %s FROM %s WHERE %s > :lastId ORDER BY %s",
+                idColumn, columnList, getTableName(), idColumn, idColumn);
+        String rowsSql = formatQuery("SELECT %s, %s FROM %s WHERE %s IN (:ids)",
+                idColumn, columnList, getTableName(), idColumn);
+        // The batch size bounds each read without a dialect-specific LIMIT
+        StatementSettings readSettings = new StatementSettings(reEncryption.getBatchSize(),
+                reEncryption.getBatchSize(), null).orElse(defaultStatementSettings);
+
+        ReEncryptionMigrator.BatchReader reader = (lastId, batchSize) -> lastId == null
+                ? dbOperationLogger.execute(getClass(), "reEncrypt", "SELECT", getTableName(), firstBatchSql,
+                        () -> query(firstBatchSql, Map.of(), new ColumnMapRowMapper(), readSettings))
+                : dbOperationLogger.execute(getClass(), "reEncrypt", "SELECT", getTableName(), nextBatchSql,
+                        () -> query(nextBatchSql, Map.of("lastId", lastId), new ColumnMapRowMapper(),
+                                readSettings));
+        ReEncryptionMigrator.RowReader rowReader = ids -> {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += inListChunkSize) {
+                List<Object> chunk = ids.subList(from, Math.min(ids.size(), from + inListChunkSize));
+                rows.addAll(dbOperationLogger.execute(getClass(), "reEncrypt", "SELECT", getTableName(), rowsSql,
+                        () -> query(rowsSql, Map.of("ids", chunk), new ColumnMapRowMapper(),
+                                inListStatementSettings())));
+            }
+            return rows;
+        };
+        ReEncryptionMigrator.BatchWriter writer = this::writeReEncryptedRows;
+
+        try {
+            return new ReEncryptionMigrator(reEncryption, idColumn, columns, reader, rowReader, writer,
+                    getParallelExecutorOrOwned()).run();
+        } finally {
+            invalidateEntityCache(null);
+            invalidateQueryResultCache();
+        }
+    }
+
+    /**
+     * Writes re-encrypted rows with batched compare-and-set UPDATEs
+     * ({@code SET col = :col WHERE id = :id AND col = :old_col}), one batch per
+     * set of changed columns, so that a value written by the application since
+     * it was read is never overwritten.
+     *
+     * @return the ids of the rows whose update matched no row
+     */
+    private List<Object> writeReEncryptedRows(List<ReEncryptionMigrator.RowUpdate> rows) {
+        Map<List<String>, List<ReEncryptionMigrator.RowUpdate>> rowsByColumns = rows.stream()
+                .collect(Collectors.groupingBy(row -> List.copyOf(row.newValues().keySet()), LinkedHashMap::new,
+                        Collectors.toList()));
+        String idColumn = identifierConverter.toDB(ID_COLUMN);
+        List<Object> conflicts = new ArrayList<>();
+        for (Map.Entry<List<String>, List<ReEncryptionMigrator.RowUpdate>> entry : rowsByColumns.entrySet()) {
+            List<String> changedColumns = entry.getKey();
+            List<ReEncryptionMigrator.RowUpdate> group = entry.getValue();
+            String sql = formatQuery("UPDATE %s SET %s WHERE %s = :%s AND %s", getTableName(),
+                    changedColumns.stream()
+                            .map(column -> identifierConverter.toDB(column) + " = :" + column)
+                            .collect(Collectors.joining(", ")),
+                    idColumn, ID_COLUMN,
+                    changedColumns.stream()
+                            .map(column -> identifierConverter.toDB(column) + " = :" + REENCRYPTION_OLD_PREFIX
+                                    + column)
+                            .collect(Collectors.joining(" AND ")));
+            @SuppressWarnings("unchecked")
+            Map<String, Object>[] batch = new Map[group.size()];
+            for (int i = 0; i < group.size(); i++) {
+                ReEncryptionMigrator.RowUpdate row = group.get(i);
+                Map<String, Object> params = new HashMap<>(row.newValues());
+                params.put(ID_COLUMN, row.id());
+                row.oldValues().forEach((column, value) -> params.put(REENCRYPTION_OLD_PREFIX + column, value));
+                batch[i] = params;
+            }
+            int[] counts = dbOperationLogger.execute(getClass(), "reEncrypt", "UPDATE", getTableName(), sql,
+                    () -> jdbcTemplate.batchUpdate(sql, batch));
+            for (int i = 0; i < counts.length; i++) {
+                // Statement.SUCCESS_NO_INFO (negative) is taken as written
+                if (counts[i] == 0) {
+                    conflicts.add(group.get(i).id());
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Builds the function re-encrypting the stored values of an encrypted
+     * column: decrypted with the former configuration, or with the current one
+     * when that fails (already migrated, returned unchanged).
+     */
+    private UnaryOperator<Object> reEncryptionConverter(String column,
+            ReEncryption reEncryption) {
+        TypeInfo typeInfo = annotationManager.getTypeInfo(entityFields.get(column));
+        Map<ParamKey, Object> targetParams = typeInfo.getParams();
+        CryptAlgorithm[] algorithms = (CryptAlgorithm[]) typeInfo.getParam(TypeParamKey.ALGO);
+        if (!targetParams.containsKey(TypeParamKey.ENCRYPTED) || algorithms == null
+                || algorithms[0].isOneWay()) {
+            throw new NativSQLException("Column '" + column
+                    + "' is not encrypted with a reversible algorithm and cannot be re-encrypted");
+        }
+        if (reEncryption.getSourceKeyProvider() == null && reEncryption.getSourceAlgorithms() == null) {
+            return raw -> EncryptionUtils.encrypt(EncryptionUtils.decrypt(raw, column, targetParams), targetParams);
+        }
+        Map<ParamKey, Object> sourceParams = new HashMap<>(targetParams);
+        if (reEncryption.getSourceKeyProvider() != null) {
+            sourceParams.put(TypeParamKey.KEY_PROVIDER, reEncryption.getSourceKeyProvider());
+        }
+        if (reEncryption.getSourceAlgorithms() != null) {
+            sourceParams.put(TypeParamKey.ALGO, reEncryption.getSourceAlgorithms());
+        }
+        sourceParams.put(TypeParamKey.CRYPT_CONFIG, EncryptionUtils.buildCryptConfig(sourceParams));
+        return raw -> {
+            String plain;
+            try {
+                plain = EncryptionUtils.decrypt(raw, column, sourceParams);
+            } catch (CryptException e) {
+                // Throws if the value does not decrypt with the current configuration either
+                EncryptionUtils.decrypt(raw, column, targetParams);
+                return raw;
+            }
+            return EncryptionUtils.encrypt(plain, targetParams);
+        };
+    }
+
+    /**
+     * Returns the parallel executor, or the repository's own pool of at most
+     * {@link #getMaxParallelism()} daemon threads, created on first use, when none
+     * is configured. Idle threads of that pool exit after a minute.
+     */
+    private synchronized Executor getParallelExecutorOrOwned() {
+        if (parallelExecutor != null) {
+            return parallelExecutor;
+        }
+        if (ownedParallelExecutor == null) {
+            ownedParallelExecutor = new ThreadPoolExecutor(maxParallelism, maxParallelism, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "nativsql-parallel-" + getTableName());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            ownedParallelExecutor.allowCoreThreadTimeOut(true);
+        }
+        return ownedParallelExecutor;
+    }
+
+    /**
+     * Splits [min, max] into at most {@code partitions} contiguous, non-empty,
+     * inclusive ranges of (nearly) equal width.
+     */
+    static List<long[]> splitIdRange(long min, long max, int partitions) {
+        long span = max - min + 1;
+        long width = Math.max(1, span / partitions + (span % partitions == 0 ? 0 : 1));
+        List<long[]> ranges = new ArrayList<>(partitions);
+        for (long low = min; low <= max; low += width) {
+            long high = Math.min(max, low + width - 1);
+            ranges.add(new long[] { low, high });
+            if (high == max) {
+                break;
+            }
+        }
+        return ranges;
+    }
+
+    private static Object toIdValue(long value, Class<?> idType) {
+        return idType == Integer.class ? (Object) Math.toIntExact(value) : (Object) value;
+    }
+
+    /**
+     * Applies the given action to each entity matching a FindQuery, streaming
+     * rows from the database instead of loading them all in memory. The
+     * underlying stream is always closed, even if the action throws.
+     *
+     * @param query  the FindQuery builder with search criteria
+     * @param action the action to apply to each entity
+     */
+    protected void forEach(FindQuery<T, ID> query, Consumer<? super T> action) {
+        try (Stream<T> entities = stream(query)) {
+            entities.forEach(action);
+        }
     }
 
     // ==================== Protected Helper Methods ====================
@@ -1643,8 +2969,10 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
             FieldAccessor<Object> declaredField = entityFields.getOrNull(entry.getKey());
             boolean isCollectionTypedColumn = declaredField != null
                     && Collection.class.isAssignableFrom(declaredField.getType());
-            if (entry.getValue() instanceof List<?> list && !isCollectionTypedColumn) {
-                List<Object> convertedList = convertListParams((List<Object>) list);
+            if (entry.getValue() instanceof ArrayParameter array) {
+                converted.put(entry.getKey(), new SqlArrayValue(array.sqlElementType(), array.values().toArray()));
+            } else if (entry.getValue() instanceof List<?> list && !isCollectionTypedColumn) {
+                List<Object> convertedList = convertListParams((List<Object>) list, declaredField);
                 converted.put(entry.getKey(), convertedList);
             } else {
                 if (entry.getValue() == null) {
@@ -1661,7 +2989,66 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
 
     }
 
-    private List<Object> convertListParams(List<Object> list) {
+    /**
+     * Converts the parameters of several entities written together. The values
+     * of each encrypted column are converted in a single
+     * {@link ITypeMapper#toDatabaseAll(List, Map)} call, so that one-way hashes
+     * run in parallel; the other values are converted per entity.
+     */
+    private List<Map<String, Object>> convertAllParamsToSqlValues(List<Map<String, Object>> rawParamsList) {
+        Set<String> encryptedKeys = new LinkedHashSet<>();
+        for (Map<String, Object> rawParams : rawParamsList) {
+            for (String key : rawParams.keySet()) {
+                FieldAccessor<Object> field = entityFields.getOrNull(key);
+                if (field != null
+                        && annotationManager.getTypeInfo(field).getParams().containsKey(TypeParamKey.ENCRYPTED)) {
+                    encryptedKeys.add(key);
+                }
+            }
+        }
+
+        List<Map<String, Object>> converted = new ArrayList<>(rawParamsList.size());
+        for (Map<String, Object> rawParams : rawParamsList) {
+            Map<String, Object> plainParams = new HashMap<>(rawParams);
+            plainParams.keySet().removeAll(encryptedKeys);
+            converted.add(convertParamsToSqlValues(plainParams));
+        }
+
+        for (String key : encryptedKeys) {
+            FieldAccessor<Object> field = entityFields.get(key);
+            ITypeMapper<Object> mapper = databaseDialect.getMapper(field, annotationManager);
+            if (mapper == null) {
+                throw new NativSQLException("No TypeMapper found for type: " + field.getType().getName() +
+                        ". Please ensure the type is properly configured in the database dialect.");
+            }
+            List<Object> values = new ArrayList<>(rawParamsList.size());
+            for (Map<String, Object> rawParams : rawParamsList) {
+                values.add(rawParams.get(key));
+            }
+            List<Object> sqlValues = mapper.toDatabaseAll(values, annotationManager.getTypeInfo(field).getParams());
+            for (int i = 0; i < rawParamsList.size(); i++) {
+                if (rawParamsList.get(i).containsKey(key)) {
+                    converted.get(i).put(key, sqlValues.get(i));
+                }
+            }
+        }
+        return converted;
+    }
+
+    /**
+     * Converts the values of an IN list by their own type, or with the declared
+     * field when it is encrypted, so that each value is encrypted like the
+     * stored ones (deterministic algorithms).
+     */
+    private List<Object> convertListParams(List<Object> list, FieldAccessor<Object> declaredField) {
+        if (declaredField != null) {
+            TypeInfo declaredTypeInfo = annotationManager.getTypeInfo(declaredField);
+            if (declaredTypeInfo.getParams().containsKey(TypeParamKey.ENCRYPTED)) {
+                return list.stream()
+                        .map(item -> item == null ? null : convertToSqlValue(item, declaredField, declaredTypeInfo))
+                        .collect(Collectors.toList());
+            }
+        }
         return list.stream()
                 .map(item -> {
                     FieldAccessor<Object> field = new FieldAccessor<>(item.getClass());
@@ -1721,7 +3108,7 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
     /**
      * Loads associations for multiple entities using batch loading (IN clause).
      * Loads all associations in a single query per association instead of N
-     * queries.
+     * queries, then their nested associations with one query per level.
      *
      * @param entities     the list of entities to load associations for
      * @param associations list of associations to load with their column
@@ -1732,6 +3119,17 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
             return;
         }
 
+        if (parallelAssociations && associations.size() > 1) {
+            // Each association fills its own field: the loads are independent
+            runInParallel(associations.stream()
+                    .<Supplier<Void>>map(config -> () -> {
+                        loadAssociationInBatch(entities, config);
+                        return null;
+                    })
+                    .toList(), "an association load");
+            return;
+        }
+
         for (Association config : associations) {
             loadAssociationInBatch(entities, config);
         }
@@ -1761,9 +3159,20 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
                             ". Ensure the repository class is correctly specified in the @OneToMany annotation and is a Spring bean.");
         }
 
-        // Create a map of entities by their ID for direct access
-        Map<ID, T> entitiesById = entities.stream()
-                .collect(Collectors.toMap(IEntity::getId, e -> e));
+        // Index the entities by ID (without boxing for Long/Integer ids)
+        Class<?> idType = entityFields.get(ID_COLUMN).getType();
+        AssociationIndex<T, SUBT> index = new AssociationIndex<>(entities.size(),
+                idType == Long.class || idType == Integer.class);
+        for (T entity : entities) {
+            if (entity == null) {
+                throw new NativSQLException("Entity cannot be null when loading associations");
+            }
+            if (entity.getId() == null) {
+                throw new NativSQLException("Cannot load association '" + association.getName()
+                        + "': the id column must be selected");
+            }
+            index.addParent(entity.getId(), entity);
+        }
 
         // Get columns to load from association configuration
         List<String> columns = new ArrayList<>(association.getColumns());
@@ -1777,31 +3186,35 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
         if (!columns.contains(foreignKeyField)) {
             columns.add(foreignKeyField);
         }
+        // Nested associations are keyed by the associated entities' id
+        if (association.hasChildren() && !columns.contains(ID_COLUMN)) {
+            columns.add(ID_COLUMN);
+        }
 
-        List<ID> foreignKeyValues = entitiesById.keySet().stream().distinct().toList();
-        List<SUBT> allAssociatedEntities = repository.findAllByPropertyIn(foreignKeyField, foreignKeyValues,
+        List<SUBT> allAssociatedEntities = repository.findAllByPropertyIn(foreignKeyField, index.getIds(),
                 columns.toArray(new String[0]));
 
-        // Initialize associations on each entity
+        // Read the foreign key of each associated entity once, counting children per parent
+        FieldAccessor<Object> foreignKeyAccessor = repository.getEntityFields().get(foreignKeyField);
+        Object[] parentIds = new Object[allAssociatedEntities.size()];
+        for (int i = 0; i < parentIds.length; i++) {
+            parentIds[i] = foreignKeyAccessor.getValue(allAssociatedEntities.get(i));
+            index.count(parentIds[i]);
+        }
+
+        // Initialize associations on each entity with an exactly-sized list
         for (T entity : entities) {
-            if (entity == null) {
-                throw new NativSQLException("Entity cannot be null when loading associations");
-            }
-            fieldAccessor.setValue(entity, new ArrayList<>());
+            fieldAccessor.setValue(entity, index.allocate(entity.getId(), entity));
         }
 
-        // Add associated entities directly to their parent
-        for (SUBT associated : allAssociatedEntities) {
+        // Add associated entities directly to their parent's list
+        for (int i = 0; i < parentIds.length; i++) {
+            index.add(parentIds[i], allAssociatedEntities.get(i));
+        }
 
-            ID parentIdValue = repository.getFieldValue(associated, foreignKeyField);
-            T parentEntity = entitiesById.get(parentIdValue);
-            if (parentEntity != null) {
-                List<SUBT> associatedList = fieldAccessor.getValue(parentEntity);
-                if (associatedList == null) {
-                    throw new NativSQLException("Entity cannot be null when loading associations");
-                }
-                associatedList.add(associated);
-            }
+        // Load the next level for all the associated entities at once
+        if (association.hasChildren() && !allAssociatedEntities.isEmpty()) {
+            repository.loadAssociationsInBatch(allAssociatedEntities, association.getChildren());
         }
     }
 
@@ -1886,4 +3299,154 @@ public abstract class GenericRepository<T extends IEntity<ID>, ID> {
                 rowMapperFactory.getRowMapper(resultClass, databaseDialect, identifierConverter));
     }
 
+    /**
+     * Runs a FindQuery's SQL, honouring its statement settings (fetch size, max
+     * rows, timeout), its joined-entity sharing and its parallel decryption when
+     * it has any; otherwise uses the repository defaults through
+     * {@link #findAllExternal(String, Map, Class)}.
+     */
+    private <R> List<R> queryAll(FindQuery<T, ID> query, String sql, Map<String, Object> params,
+            Class<R> resultClass) {
+        boolean shareJoinedEntities = query.isShareJoinedEntities() && query.hasJoins();
+        if (!query.hasStatementSettings() && !shareJoinedEntities && !query.isParallelDecryption()) {
+            return findAllExternal(sql, params, resultClass);
+        }
+        StatementSettings settings = new StatementSettings(query.getFetchSize(), query.getMaxRows(),
+                query.getTimeout()).orElse(defaultStatementSettings);
+        Map<String, Object> convertedParams = convertParamsToSqlValues(params);
+        RowMapper<R> rowMapper = rowMapperFactory.getRowMapper(resultClass, databaseDialect, identifierConverter);
+        DecryptionBatch decryptionBatch = null;
+        if (rowMapper instanceof GenericRowMapper<R> genericRowMapper) {
+            decryptionBatch = query.isParallelDecryption() ? new DecryptionBatch() : null;
+            if (shareJoinedEntities) {
+                rowMapper = genericRowMapper.withIdentityMap(decryptionBatch);
+            } else if (decryptionBatch != null) {
+                rowMapper = genericRowMapper.withDeferredDecryption(decryptionBatch);
+            }
+        }
+        List<R> results = query(sql, convertedParams, rowMapper, settings);
+        if (decryptionBatch != null) {
+            decryptionBatch.decryptAll();
+        }
+        return results;
+    }
+
+    /**
+     * Executes a custom SQL query and returns a lazily mapped stream of external
+     * objects, fetching rows {@link #getStreamFetchSize()} at a time.
+     * The query runs on a dedicated connection (or the transaction-bound one);
+     * when the dialect needs it (PostgreSQL), auto-commit is switched off for the
+     * lifetime of the stream so the driver uses a server-side cursor; on MySQL,
+     * rows are streamed one at a time (see
+     * {@link DatabaseDialect#getStreamingFetchSize(int)}).
+     * Everything is released when the stream is closed, or as soon as iterating
+     * it fails.
+     *
+     * @param <EXT>       the type of the external objects to return
+     * @param sql         the SQL query to execute
+     * @param params      the query parameters
+     * @param resultClass the class of the external objects to return
+     * @return a stream of results; must be closed by the caller
+     */
+    protected <EXT> Stream<EXT> streamExternal(String sql, Map<String, Object> params,
+            Class<EXT> resultClass) {
+        return streamExternal(sql, params, resultClass, streamStatementSettings());
+    }
+
+    /**
+     * Repository defaults for streaming queries: the stream fetch size instead of
+     * the regular default fetch size.
+     */
+    private StatementSettings streamStatementSettings() {
+        return new StatementSettings(streamFetchSize, null, null).orElse(defaultStatementSettings);
+    }
+
+    private <EXT> Stream<EXT> streamExternal(String sql, Map<String, Object> params,
+            Class<EXT> resultClass, StatementSettings settings) {
+        return streamExternal(sql, params,
+                rowMapperFactory.getRowMapper(resultClass, databaseDialect, identifierConverter), settings);
+    }
+
+    private <EXT> Stream<EXT> streamExternal(String sql, Map<String, Object> params,
+            RowMapper<EXT> rowMapper, StatementSettings settings) {
+        Map<String, Object> convertedParams = convertParamsToSqlValues(params);
+        DataSource streamDataSource = getProvidedDataSource();
+        Connection connection = DataSourceUtils.getConnection(streamDataSource);
+        boolean autoCommitSwitched = false;
+        try {
+            if (databaseDialect.requiresTransactionForStreaming() && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                autoCommitSwitched = true;
+            }
+            JdbcTemplate streamTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            toStreamingSettings(settings).applyTo(streamTemplate);
+            boolean restoreAutoCommit = autoCommitSwitched;
+            return closeOnFailure(new NamedParameterJdbcTemplate(streamTemplate)
+                    .queryForStream(sql, convertedParams, rowMapper)
+                    .onClose(() -> releaseStreamConnection(connection, streamDataSource, restoreAutoCommit)));
+        } catch (SQLException | RuntimeException e) {
+            releaseStreamConnection(connection, streamDataSource, autoCommitSwitched);
+            if (e instanceof NativSQLException nativSQLException) {
+                throw nativSQLException;
+            }
+            throw new NativSQLException("Error opening stream on " + getTableName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the fetch size of streaming settings by the one the dialect needs
+     * to actually stream (see {@link DatabaseDialect#getStreamingFetchSize(int)}).
+     */
+    private StatementSettings toStreamingSettings(StatementSettings settings) {
+        if (settings.fetchSize() == null) {
+            return settings;
+        }
+        return new StatementSettings(databaseDialect.getStreamingFetchSize(settings.fetchSize()),
+                settings.maxRows(), settings.timeout());
+    }
+
+    /**
+     * Wraps a stream so that a failure while iterating it (e.g. a SQLException
+     * on the next row) closes it at once, releasing its connection even if the
+     * caller does not close the stream.
+     */
+    private static <E> Stream<E> closeOnFailure(Stream<E> stream) {
+        Spliterator<E> spliterator = stream.spliterator();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<E>(spliterator.estimateSize(),
+                spliterator.characteristics()) {
+            @Override
+            public boolean tryAdvance(Consumer<? super E> action) {
+                try {
+                    return spliterator.tryAdvance(action);
+                } catch (RuntimeException | Error e) {
+                    try {
+                        stream.close();
+                    } catch (RuntimeException closeFailure) {
+                        e.addSuppressed(closeFailure);
+                    }
+                    throw e;
+                }
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /**
+     * Ends the read-only cursor transaction opened by
+     * {@link #streamExternal(String, Map, Class)} (if any), restores auto-commit
+     * and hands the connection back to the DataSource.
+     */
+    private void releaseStreamConnection(Connection connection, DataSource streamDataSource,
+            boolean restoreAutoCommit) {
+        try {
+            if (restoreAutoCommit) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new NativSQLException("Error closing stream on " + getTableName() + ": " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, streamDataSource);
+        }
+    }
+
 }
\ No newline at end of file
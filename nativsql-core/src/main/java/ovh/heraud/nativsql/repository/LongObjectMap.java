@@ -0,0 +1,103 @@
+package ovh.heraud.nativsql.repository;
+
+/**
+ * Minimal open-addressing hash map from primitive long keys to non-null values
+ * (linear probing, power-of-two table, load factor at most 1/2).
+ * Avoids boxing the key and allocating an entry per mapping, which matters when
+ * indexing tens of thousands of entities by a numeric id. Not thread-safe.
+ *
+ * @param <V> the value type
+ */
+final class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size = 0;
+
+    /**
+     * @param expectedSize the number of mappings expected, to size the table once
+     */
+    LongObjectMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Returns the value mapped to the key, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int i = indexOf(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the key to the value unless the key is already mapped.
+     *
+     * @param key   the key
+     * @param value the value, must not be null
+     * @return the existing value, or null if the value was added
+     */
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(long key, V value) {
+        int i = indexOf(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (size * 2 > values.length && values.length < MAX_CAPACITY) {
+            resize(values.length * 2);
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int indexOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = indexOf(oldKeys[j]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long wanted = Math.max(MIN_CAPACITY, 2L * expectedSize);
+        if (wanted >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) wanted - 1) << 1;
+    }
+}
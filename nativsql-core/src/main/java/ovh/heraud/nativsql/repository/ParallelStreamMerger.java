@@ -0,0 +1,152 @@
+package ovh.heraud.nativsql.repository;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Merges several partition streams into a single stream. Each partition is
+ * drained by its own producer task (see {@link #produce(Supplier)}) into a
+ * bounded queue, so memory stays bounded whatever the partition sizes; the
+ * consumer reads the queue in arrival order.
+ * The first producer failure is rethrown to the consumer. Closing the merged
+ * stream stops the producers, which close their own partition streams.
+ *
+ * @param <T> the element type
+ */
+final class ParallelStreamMerger<T> implements Iterator<T> {
+
+    private static final Object END = new Object();
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<Object> queue;
+    private final int producers;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean closed = false;
+    private int finishedProducers = 0;
+    private Object next = null;
+
+    /**
+     * @param producers the number of producer tasks that will call {@link #produce}
+     * @param capacity  the queue capacity, in elements
+     */
+    ParallelStreamMerger(int producers, int capacity) {
+        this.producers = producers;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Drains the stream opened by the given supplier into the queue, then marks
+     * this producer as finished. Meant to run on a worker thread; never throws.
+     * A producer starting after the merger was closed (e.g. queued behind others
+     * on a bounded executor) does not open its stream.
+     */
+    void produce(Supplier<Stream<T>> source) {
+        if (closed) {
+            put(END);
+            return;
+        }
+        try (Stream<T> stream = source.get()) {
+            Iterator<T> iterator = stream.iterator();
+            while (!closed && iterator.hasNext()) {
+                put(iterator.next());
+            }
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        } finally {
+            put(END);
+        }
+    }
+
+    /**
+     * Returns the merged stream; closing it closes this merger.
+     */
+    Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Stops the producers: they exit at their next element and close their
+     * partition stream.
+     */
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            rethrowFailure();
+            if (finishedProducers == producers) {
+                return false;
+            }
+            Object element = take();
+            if (element == END) {
+                finishedProducers++;
+            } else {
+                next = element;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T element = (T) next;
+        next = null;
+        return element;
+    }
+
+    private void put(Object element) {
+        try {
+            while (!closed && !queue.offer(element, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                // consumer is slower than the producers: wait for room
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private Object take() {
+        try {
+            Object element;
+            while ((element = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                rethrowFailure();
+            }
+            return element;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new NativSQLException("Interrupted while reading a parallel stream", e);
+        }
+    }
+
+    private void rethrowFailure() {
+        Throwable t = failure.get();
+        if (t == null) {
+            return;
+        }
+        close();
+        if (t instanceof NativSQLException nativSQLException) {
+            throw nativSQLException;
+        }
+        throw new NativSQLException("Error reading a parallel stream partition: " + t.getMessage(), t);
+    }
+}
@@ -0,0 +1,229 @@
+package ovh.heraud.nativsql.repository;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import ovh.heraud.nativsql.crypt.ReEncryption;
+import ovh.heraud.nativsql.crypt.ReEncryptionProgress;
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Runs a whole-table re-encryption: the calling thread reads the rows in id
+ * order (keyset pagination, {@code id > :lastId}), and each batch is converted
+ * and written by a task on the executor, at most {@code parallelism} batches at
+ * a time. Batches complete in read order, so each reported checkpoint is safe
+ * to resume from.
+ *
+ * <p>
+ * Each row is written as a compare-and-set on the values read, so that a write
+ * of the application between the read and the update is never overwritten: the
+ * rows that did not match are read again and converted anew, and a batch only
+ * completes once every row of it is converted (or deleted).
+ * Independent from JDBC: reading and writing are given by the repository.
+ */
+final class ReEncryptionMigrator {
+
+    /** Number of times rows modified concurrently are read and converted again. */
+    static final int MAX_CONFLICT_RETRIES = 3;
+
+    /**
+     * Reads the next batch of rows, as column label to raw value maps.
+     */
+    interface BatchReader {
+        List<Map<String, Object>> read(Object afterId, int batchSize);
+    }
+
+    /**
+     * Reads the given rows again, as column label to raw value maps; deleted
+     * rows are missing.
+     */
+    interface RowReader {
+        List<Map<String, Object>> read(List<Object> ids);
+    }
+
+    /**
+     * Writes the converted rows, each only if its columns still hold the values
+     * read.
+     */
+    interface BatchWriter {
+        /**
+         * @return the ids of the rows whose update matched no row
+         */
+        List<Object> write(List<RowUpdate> rows);
+    }
+
+    /**
+     * The update of a row.
+     *
+     * @param id        the row id
+     * @param oldValues the raw values read, by parameter name of the changed
+     *                  columns only (never null values)
+     * @param newValues the converted values, by the same parameter names
+     */
+    record RowUpdate(Object id, Map<String, Object> oldValues, Map<String, Object> newValues) {
+    }
+
+    /**
+     * A column to convert.
+     *
+     * @param label     the column label in the rows read
+     * @param paramName the parameter name in the rows written
+     * @param converter converts a non-null raw value; returning an equal value
+     *                  leaves it unchanged
+     */
+    record Column(String label, String paramName, UnaryOperator<Object> converter) {
+    }
+
+    private record BatchResult(int rowsRead, int rowsUpdated, Object lastId) {
+    }
+
+    private final ReEncryption settings;
+    private final String idLabel;
+    private final List<Column> columns;
+    private final BatchReader reader;
+    private final RowReader rowReader;
+    private final BatchWriter writer;
+    private final Executor executor;
+
+    ReEncryptionMigrator(ReEncryption settings, String idLabel, List<Column> columns, BatchReader reader,
+            RowReader rowReader, BatchWriter writer, Executor executor) {
+        this.settings = settings;
+        this.idLabel = idLabel;
+        this.columns = columns;
+        this.reader = reader;
+        this.rowReader = rowReader;
+        this.writer = writer;
+        this.executor = executor;
+    }
+
+    /**
+     * Processes every row after {@link ReEncryption#getStartAfter()}.
+     *
+     * @return the final progress
+     * @throws NativSQLException if a batch fails; the progress reported before
+     *                           gives the checkpoint to resume from
+     */
+    ReEncryptionProgress run() {
+        long startNanos = System.nanoTime();
+        ReEncryptionProgress progress = new ReEncryptionProgress(0, 0, settings.getStartAfter(), Duration.ZERO);
+        Deque<CompletableFuture<BatchResult>> inFlight = new ArrayDeque<>();
+        Object lastId = settings.getStartAfter();
+        long rowsScheduled = 0;
+        try {
+            while (true) {
+                throttle(rowsScheduled, startNanos);
+                List<Map<String, Object>> rows = reader.read(lastId, settings.getBatchSize());
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lastId = rows.get(rows.size() - 1).get(idLabel);
+                Object batchLastId = lastId;
+                rowsScheduled += rows.size();
+                inFlight.add(CompletableFuture.supplyAsync(() -> convertAndWrite(rows, batchLastId), executor));
+                if (inFlight.size() >= settings.getParallelism()) {
+                    progress = complete(inFlight.poll(), progress, startNanos);
+                }
+                if (rows.size() < settings.getBatchSize()) {
+                    break;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                progress = complete(inFlight.poll(), progress, startNanos);
+            }
+            return progress;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NativSQLException nativSQLException) {
+                throw nativSQLException;
+            }
+            throw new NativSQLException("Re-encryption failed after " + progress.checkpoint() + ": "
+                    + e.getCause().getMessage(), e.getCause());
+        } catch (RejectedExecutionException e) {
+            throw new NativSQLException("Parallel executor rejected a re-encryption batch", e);
+        } finally {
+            // Let the batches still running finish before returning or failing
+            inFlight.forEach(future -> future.exceptionally(failure -> null).join());
+        }
+    }
+
+    private ReEncryptionProgress complete(CompletableFuture<BatchResult> batch, ReEncryptionProgress progress,
+            long startNanos) {
+        BatchResult result = batch.join();
+        ReEncryptionProgress next = new ReEncryptionProgress(progress.rowsRead() + result.rowsRead(),
+                progress.rowsUpdated() + result.rowsUpdated(), result.lastId(),
+                Duration.ofNanos(System.nanoTime() - startNanos));
+        settings.getProgressListener().accept(next);
+        return next;
+    }
+
+    private BatchResult convertAndWrite(List<Map<String, Object>> rows, Object lastId) {
+        int rowsUpdated = 0;
+        List<Map<String, Object>> pending = rows;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_CONFLICT_RETRIES) {
+                throw new NativSQLException("Re-encryption gave up on " + pending.size()
+                        + " rows of the batch ending at id " + lastId + ", modified concurrently "
+                        + MAX_CONFLICT_RETRIES + " times");
+            }
+            List<RowUpdate> updates = convert(pending);
+            if (updates.isEmpty()) {
+                break;
+            }
+            List<Object> conflicts = writer.write(updates);
+            rowsUpdated += updates.size() - conflicts.size();
+            // Rows written by the application meanwhile: convert their new value, if needed
+            pending = conflicts.isEmpty() ? List.of() : rowReader.read(conflicts);
+        }
+        return new BatchResult(rows.size(), rowsUpdated, lastId);
+    }
+
+    private List<RowUpdate> convert(List<Map<String, Object>> rows) {
+        List<RowUpdate> updates = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> oldValues = new LinkedHashMap<>();
+            Map<String, Object> newValues = new LinkedHashMap<>();
+            for (Column column : columns) {
+                Object raw = row.get(column.label());
+                Object converted = raw != null ? column.converter().apply(raw) : null;
+                if (!Objects.deepEquals(raw, converted)) {
+                    oldValues.put(column.paramName(), raw);
+                    newValues.put(column.paramName(), converted);
+                }
+            }
+            if (!newValues.isEmpty()) {
+                updates.add(new RowUpdate(row.get(idLabel), oldValues, newValues));
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * Waits until reading {@code rowsRead} rows fits in the rows-per-second limit.
+     */
+    private void throttle(long rowsRead, long startNanos) {
+        if (settings.getMaxRowsPerSecond() == 0) {
+            return;
+        }
+        long dueNanos = startNanos + TimeUnit.SECONDS.toNanos(rowsRead) / settings.getMaxRowsPerSecond();
+        long waitNanos = dueNanos - System.nanoTime();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NativSQLException("Re-encryption interrupted", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ovh.heraud.nativsql.repository;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC statement settings applied to a query: fetch size, max rows and query
+ * timeout. A null component means "driver default"; a max rows of 0 means
+ * "no limit".
+ *
+ * @param fetchSize the JDBC fetch size, or null
+ * @param maxRows   the JDBC maximum number of rows, or null
+ * @param timeout   the query timeout, or null
+ */
+record StatementSettings(Integer fetchSize, Integer maxRows, Duration timeout) {
+
+    static final StatementSettings NONE = new StatementSettings(null, null, null);
+
+    /**
+     * Returns these settings, using the given defaults for every null component.
+     */
+    StatementSettings orElse(StatementSettings defaults) {
+        return new StatementSettings(
+                fetchSize != null ? fetchSize : defaults.fetchSize(),
+                maxRows != null ? maxRows : defaults.maxRows(),
+                timeout != null ? timeout : defaults.timeout());
+    }
+
+    /**
+     * Applies these settings to a JdbcTemplate; null components reset the
+     * template to the driver default (-1).
+     */
+    void applyTo(JdbcTemplate template) {
+        template.setFetchSize(fetchSize != null ? fetchSize : -1);
+        template.setMaxRows(maxRows != null ? maxRows : -1);
+        template.setQueryTimeout(timeout != null ? timeoutSeconds() : -1);
+    }
+
+    /**
+     * Applies these settings to a single statement; null components leave the
+     * driver default.
+     *
+     * @throws SQLException if the driver rejects a setting
+     */
+    void applyTo(Statement statement) throws SQLException {
+        if (fetchSize != null) {
+            statement.setFetchSize(fetchSize);
+        }
+        if (maxRows != null) {
+            statement.setMaxRows(maxRows);
+        }
+        if (timeout != null) {
+            statement.setQueryTimeout(timeoutSeconds());
+        }
+    }
+
+    /**
+     * Returns the timeout in whole seconds, rounded up (JDBC granularity).
+     */
+    private int timeoutSeconds() {
+        long seconds = timeout.getSeconds() + (timeout.getNano() > 0 ? 1 : 0);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, seconds));
+    }
+}
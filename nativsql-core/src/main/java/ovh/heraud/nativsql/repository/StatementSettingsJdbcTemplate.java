@@ -0,0 +1,77 @@
+package ovh.heraud.nativsql.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * NamedParameterJdbcTemplate applying {@link StatementSettings} to each
+ * statement instead of to the template, so that a single instance runs queries
+ * with any combination of settings.
+ * Its underlying JdbcTemplate is left at the driver defaults: JdbcTemplate
+ * applies its own settings once the statement is created, which would override
+ * the per-statement ones.
+ */
+final class StatementSettingsJdbcTemplate extends NamedParameterJdbcTemplate {
+
+    StatementSettingsJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    /**
+     * Runs a query with the given statement settings, mapping each row.
+     *
+     * @param sql       the SQL query, with named parameters
+     * @param params    the query parameters
+     * @param rowMapper the row mapper
+     * @param settings  the statement settings
+     * @return the mapped rows
+     */
+    <R> List<R> query(String sql, Map<String, ?> params, RowMapper<R> rowMapper, StatementSettings settings) {
+        PreparedStatementCreator creator = getPreparedStatementCreator(sql, new MapSqlParameterSource(params));
+        return getJdbcOperations().query(new ConfiguredStatementCreator(creator, settings), rowMapper);
+    }
+
+    /**
+     * Applies the settings to the statement created by the delegate, keeping its
+     * SQL for error messages and its parameter cleanup.
+     */
+    private record ConfiguredStatementCreator(PreparedStatementCreator delegate, StatementSettings settings)
+            implements PreparedStatementCreator, SqlProvider, ParameterDisposer {
+
+        @Override
+        public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+            PreparedStatement statement = delegate.createPreparedStatement(connection);
+            try {
+                settings.applyTo(statement);
+            } catch (SQLException | RuntimeException e) {
+                statement.close();
+                throw e;
+            }
+            return statement;
+        }
+
+        @Override
+        public String getSql() {
+            return delegate instanceof SqlProvider sqlProvider ? sqlProvider.getSql() : null;
+        }
+
+        @Override
+        public void cleanupParameters() {
+            if (delegate instanceof ParameterDisposer parameterDisposer) {
+                parameterDisposer.cleanupParameters();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ovh.heraud.nativsql.util;
+
+import java.util.List;
+
+/**
+ * A list of values bound as a single SQL array parameter (see
+ * {@link Operator#EQUALS_ANY}), so the statement text does not depend on the
+ * number of values.
+ *
+ * @param sqlElementType the SQL type of the array elements (e.g. "bigint")
+ * @param values         the values to bind
+ */
+public record ArrayParameter(String sqlElementType, List<?> values) {
+}
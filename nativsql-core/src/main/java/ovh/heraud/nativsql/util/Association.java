@@ -8,16 +8,37 @@ import lombok.NoArgsConstructor;
 
 /**
  * Represents an association to load in a query.
- * Specifies which association to load and which columns to retrieve.
+ * Specifies which association to load and which columns to retrieve, and the
+ * nested associations to load on the associated entities (one batched query
+ * per level).
  */
 @Data
 @NoArgsConstructor
 public class Association {
     private String name;
     private List<String> columns;
+    private List<Association> children = new ArrayList<>();
 
     public Association(String name, List<String> columns) {
         this.name = name;
         this.columns = new ArrayList<>(columns);
     }
+
+    /**
+     * Adds a nested association to load on the associated entities.
+     *
+     * @param child the nested association
+     * @return this for method chaining
+     */
+    public Association then(Association child) {
+        children.add(child);
+        return this;
+    }
+
+    /**
+     * Checks if nested associations are to be loaded on the associated entities.
+     */
+    public boolean hasChildren() {
+        return !children.isEmpty();
+    }
 }
@@ -1,5 +1,7 @@
 package ovh.heraud.nativsql.util;
 
+import java.time.Duration;
+
 import ovh.heraud.nativsql.db.IdentifierConverter;
 import ovh.heraud.nativsql.domain.IEntity;
 import ovh.heraud.nativsql.repository.GenericRepository;
@@ -14,6 +16,11 @@ public class CountQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Cou
         return new CountQuery<>(repository);
     }
 
+    @Override
+    public CountQuery<T, ID> cacheFor(Duration ttl) {
+        return super.cacheFor(ttl);
+    }
+
     @Override
     public void build(StringBuilder sb, IdentifierConverter identifierConverter) {
         String tableName = repository.getTableName();
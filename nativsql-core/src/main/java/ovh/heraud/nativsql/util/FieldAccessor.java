@@ -2,6 +2,7 @@ package ovh.heraud.nativsql.util;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
 
 import ovh.heraud.nativsql.exception.NativSQLException;
 
@@ -13,6 +14,7 @@ public class FieldAccessor<T> {
 
     private Field field;
     private Class<T> fieldType;
+    private Type genericType;
 
     /**
      * Creates a new FieldAccessor.
@@ -29,6 +31,18 @@ public class FieldAccessor<T> {
         this.fieldType = (Class<T>) clazz;
     }
 
+    /**
+     * Creates a FieldAccessor of a value type without field, e.g. the element of
+     * a {@code Lazy<List<Long>>} field.
+     *
+     * @param clazz       the raw type
+     * @param genericType the full generic type
+     */
+    public FieldAccessor(Class<?> clazz, Type genericType) {
+        this(clazz);
+        this.genericType = genericType;
+    }
+
     /**
      * Gets the field name.
      *
@@ -48,6 +62,18 @@ public class FieldAccessor<T> {
         return field == null ? this.fieldType : (Class<T>) field.getType();
     }
 
+    /**
+     * Gets the generic type of the field (e.g. {@code List<Long>}).
+     *
+     * @return the generic type, or the raw type if none is known
+     */
+    public Type getGenericType() {
+        if (field != null) {
+            return field.getGenericType();
+        }
+        return genericType != null ? genericType : fieldType;
+    }
+
     public Class<?> getDeclaringClass() {
         return field == null ? this.fieldType : field.getDeclaringClass();
     }
@@ -1,10 +1,15 @@
 package ovh.heraud.nativsql.util;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import ovh.heraud.nativsql.db.DatabaseDialect;
 import ovh.heraud.nativsql.db.IdentifierConverter;
 import ovh.heraud.nativsql.domain.IEntity;
 import ovh.heraud.nativsql.exception.NativSQLException;
@@ -34,9 +39,16 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
     private final List<ExpressionColumn> expressionColumns = new ArrayList<>();
     private final OrderBy orderBy = new OrderBy();
     private final List<Association> associations = new ArrayList<>();
+    private Association lastAssociation = null;
     private final List<Join> joins = new ArrayList<>();
     private Integer limit = null;
     private Integer offset = null;
+    private Integer fetchSize = null;
+    private Integer maxRows = null;
+    private Duration timeout = null;
+    private Map<String, Object> afterKey = null;
+    private boolean shareJoinedEntities = false;
+    private boolean parallelDecryption = false;
 
     /**
      * Creates a new FindQuery for the specified repository.
@@ -58,6 +70,61 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
         return new FindQuery<>(repository);
     }
 
+    /**
+     * Creates an independent copy of this query: conditions, columns, joins,
+     * associations, ordering, pagination and statement settings. The association
+     * and join trees are copied too, so further calls on the copy, including
+     * {@link #then} on its last association, do not affect this query.
+     *
+     * @return a new FindQuery equal to this one
+     */
+    public FindQuery<T, ID> copy() {
+        FindQuery<T, ID> copy = new FindQuery<>(repository);
+        copy.whereClause.copyFrom(whereClause);
+        copy.columns.addAll(columns);
+        for (ExpressionColumn expressionColumn : expressionColumns) {
+            copy.expressionColumns.add(new ExpressionColumn(expressionColumn.getAlias(), expressionColumn.getSql(),
+                    expressionColumn.getParams()));
+        }
+        copy.orderBy.copyFrom(orderBy);
+        Map<Association, Association> associationCopies = new IdentityHashMap<>();
+        for (Association association : associations) {
+            copy.associations.add(copyAssociation(association, associationCopies));
+        }
+        copy.lastAssociation = lastAssociation != null ? associationCopies.get(lastAssociation) : null;
+        // Parents are always registered before their nested joins
+        Map<Join, Join> joinCopies = new IdentityHashMap<>();
+        for (Join join : joins) {
+            Join joinCopy = new Join(join.getName(), join.getColumns(), join.isLeftJoin(), join.getRepository(),
+                    join.getParent() != null ? joinCopies.get(join.getParent()) : null);
+            joinCopies.put(join, joinCopy);
+            copy.joins.add(joinCopy);
+        }
+        copy.limit = limit;
+        copy.offset = offset;
+        copy.fetchSize = fetchSize;
+        copy.maxRows = maxRows;
+        copy.timeout = timeout;
+        copy.afterKey = afterKey != null ? new LinkedHashMap<>(afterKey) : null;
+        copy.shareJoinedEntities = shareJoinedEntities;
+        copy.parallelDecryption = parallelDecryption;
+        copy.cacheTtl = cacheTtl;
+        return copy;
+    }
+
+    /**
+     * Copies an association and its nested associations, recording each copy
+     * by original.
+     */
+    private static Association copyAssociation(Association association, Map<Association, Association> copies) {
+        Association copy = new Association(association.getName(), association.getColumns());
+        for (Association child : association.getChildren()) {
+            copy.then(copyAssociation(child, copies));
+        }
+        copies.put(association, copy);
+        return copy;
+    }
+
     /**
      * Limits the number of rows returned.
      * Generates FETCH FIRST n ROWS ONLY (or FETCH NEXT n ROWS ONLY when combined with offset).
@@ -89,6 +156,129 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
         return this;
     }
 
+    /**
+     * Restricts the results to the rows that come strictly after the given key
+     * in the query's ORDER BY (keyset, or "seek", pagination). Unlike
+     * {@link #offset(int)}, the cost does not grow with the page depth.
+     * The key must contain exactly one non-null value per ORDER BY column, and
+     * the ORDER BY should end with a unique column (e.g. "id") so the ordering
+     * is total. Generates {@code (a, b) > (:afterA, :afterB)} on dialects
+     * supporting row-value comparison when all columns share the same direction,
+     * or the equivalent expanded OR form otherwise.
+     *
+     * @param lastKey the ORDER BY column values of the last row already read
+     * @throws NativSQLException if lastKey is null, empty or contains null values
+     */
+    public FindQuery<T, ID> after(Map<String, Object> lastKey) {
+        if (lastKey == null || lastKey.isEmpty()) {
+            throw new NativSQLException("after() requires a non-empty key");
+        }
+        for (Map.Entry<String, Object> entry : lastKey.entrySet()) {
+            if (entry.getValue() == null) {
+                throw new NativSQLException("after() key value cannot be null for column '" + entry.getKey() + "'");
+            }
+        }
+        this.afterKey = new LinkedHashMap<>(lastKey);
+        return this;
+    }
+
+    /**
+     * Sets the JDBC fetch size for this query (rows fetched per round-trip),
+     * overriding the repository-wide default. Does not change the SQL.
+     *
+     * @param n the fetch size (must be > 0)
+     * @throws NativSQLException if n <= 0
+     */
+    public FindQuery<T, ID> fetchSize(int n) {
+        if (n <= 0) {
+            throw new NativSQLException("fetchSize must be greater than 0");
+        }
+        this.fetchSize = n;
+        return this;
+    }
+
+    /**
+     * Sets the JDBC maximum number of rows for this query, overriding the
+     * repository-wide default. Unlike {@link #limit(int)} this is a driver-side
+     * safety cap and does not change the SQL.
+     *
+     * @param n the maximum number of rows (must be > 0)
+     * @throws NativSQLException if n <= 0
+     */
+    public FindQuery<T, ID> maxRows(int n) {
+        if (n <= 0) {
+            throw new NativSQLException("maxRows must be greater than 0");
+        }
+        this.maxRows = n;
+        return this;
+    }
+
+    /**
+     * Lifts the repository-wide JDBC maximum number of rows for this query, e.g.
+     * for a query already bounded by its WHERE clause that must not be silently
+     * truncated.
+     */
+    public FindQuery<T, ID> noMaxRows() {
+        this.maxRows = 0;
+        return this;
+    }
+
+    /**
+     * Sets the JDBC query timeout for this query, overriding the repository-wide
+     * default. JDBC timeouts have a one-second granularity: the duration is
+     * rounded up to the next second.
+     *
+     * @param timeout the timeout (must be positive)
+     * @throws NativSQLException if timeout is null, zero or negative
+     */
+    public FindQuery<T, ID> timeout(Duration timeout) {
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            throw new NativSQLException("timeout must be a positive duration");
+        }
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Maps each distinct joined entity (leftJoin/innerJoin) once per query and
+     * shares the instance between all the rows referencing it, identified by the
+     * joined entity's id, which must be among the joined columns. Cuts heap usage
+     * when many rows join the same few entities; the shared instances must then
+     * be treated as read-only. Does not change the SQL.
+     */
+    public FindQuery<T, ID> shareJoinedEntities() {
+        this.shareJoinedEntities = true;
+        return this;
+    }
+
+    /**
+     * Decrypts the encrypted columns ({@code @Encrypted}) of the result in
+     * parallel instead of row by row on the JDBC thread: the ciphertexts are
+     * staged while the rows are read, then decrypted concurrently on the
+     * ForkJoin common pool before the entities are returned. With
+     * {@code stream(...)}, rows are decrypted in batches of the fetch size.
+     * The entities are identical to the serial path's. Does not change the SQL.
+     */
+    public FindQuery<T, ID> parallelDecryption() {
+        this.parallelDecryption = true;
+        return this;
+    }
+
+    /**
+     * Caches the result list for the given duration, keyed by the SQL and its
+     * parameters. Cached results are invalidated by any write to the queried
+     * table through a repository, so queries with joins or associations, whose
+     * other tables would not invalidate them, are rejected when run. Each caller
+     * gets its own copy of the cached entities.
+     *
+     * @param ttl how long the result is cached (must be positive)
+     * @throws NativSQLException if ttl is null, zero or negative
+     */
+    @Override
+    public FindQuery<T, ID> cacheFor(Duration ttl) {
+        return super.cacheFor(ttl);
+    }
+
     /**
      * Adds column(s) to the SELECT clause.
      *
@@ -299,7 +489,30 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
      * @param columns         the columns to retrieve from the associated entity
      */
     public FindQuery<T, ID> associate(String associationName, String... columns) {
-        associations.add(new Association(associationName, Arrays.asList(columns)));
+        lastAssociation = new Association(associationName, Arrays.asList(columns));
+        associations.add(lastAssociation);
+        return this;
+    }
+
+    /**
+     * Adds a nested association (OneToMany of the associated entity) to the
+     * association added by the previous {@link #associate} or {@code then} call,
+     * e.g. {@code associate("orders", cols).then("lines", cols).then("allocations", cols)}.
+     * Each level is loaded with one batched query over all the entities of the
+     * previous level.
+     *
+     * @param associationName the property name of the association on the
+     *                        previously associated entity
+     * @param columns         the columns to retrieve from the nested entity
+     * @throws NativSQLException if no association was added before
+     */
+    public FindQuery<T, ID> then(String associationName, String... columns) {
+        if (lastAssociation == null) {
+            throw new NativSQLException("then() must follow associate()");
+        }
+        Association child = new Association(associationName, Arrays.asList(columns));
+        lastAssociation.then(child);
+        lastAssociation = child;
         return this;
     }
 
@@ -320,19 +533,15 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
      * (on root entity) and raw column names (on joined entity).
      * The MappedBy annotation on the field contains the repository of the joined
      * entity.
+     * A dot-notation path (e.g. "customer.country") joins an association of an
+     * already joined entity, in the same SQL statement.
      *
-     * @param associationName the property name of the association field
+     * @param associationName the property name of the association field, or its
+     *                        dot-notation path from the root entity
      * @param columns         the columns to retrieve from the joined entity
      */
     public FindQuery<T, ID> leftJoin(String associationName, String... columns) {
-        FieldAccessor<?> fieldAccessor = repository.getEntityFields().get(associationName);
-        MappedByInfo mappedByInfo = annotationManager.getMappedByInfo(fieldAccessor);
-        if (mappedByInfo == null) {
-            throw new NativSQLException(
-                    "Field '" + associationName + "' is not annotated with @MappedBy. Cannot perform join.");
-        }
-        GenericRepository<?, ?> joinRepository = getRepositoryInstance(mappedByInfo.getRepositoryClass());
-        joins.add(new Join(associationName, Arrays.asList(columns), true, joinRepository));
+        joins.add(createJoin(associationName, columns, true));
         return this;
     }
 
@@ -367,19 +576,15 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
      * (on root entity) and raw column names (on joined entity).
      * The MappedBy annotation on the field contains the repository of the joined
      * entity.
+     * A dot-notation path (e.g. "customer.country") joins an association of an
+     * already joined entity, in the same SQL statement.
      *
-     * @param associationName the property name of the association field
+     * @param associationName the property name of the association field, or its
+     *                        dot-notation path from the root entity
      * @param columns         the columns to retrieve from the joined entity
      */
     public FindQuery<T, ID> innerJoin(String associationName, String... columns) {
-        FieldAccessor<?> fieldAccessor = repository.getEntityFields().get(associationName);
-        MappedByInfo mappedByInfo = annotationManager.getMappedByInfo(fieldAccessor);
-        if (mappedByInfo == null) {
-            throw new NativSQLException(
-                    "Field '" + associationName + "' is not annotated with @MappedBy. Cannot perform join.");
-        }
-        GenericRepository<?, ?> joinRepository = getRepositoryInstance(mappedByInfo.getRepositoryClass());
-        joins.add(new Join(associationName, Arrays.asList(columns), false, joinRepository));
+        joins.add(createJoin(associationName, columns, false));
         return this;
     }
 
@@ -452,47 +657,108 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
         return whereAndRange(joinColumnPath(assocGetter, getter), operator, low, high);
     }
 
+    /**
+     * Creates the join for an association path. The owner of the association is
+     * the root entity for a plain name, or the entity of the already registered
+     * join for the path prefix (e.g. "customer" for "customer.country").
+     */
+    private Join createJoin(String associationPath, String[] columns, boolean isLeftJoin) {
+        int lastDot = associationPath.lastIndexOf('.');
+        Join parent = null;
+        if (lastDot >= 0) {
+            String parentPath = associationPath.substring(0, lastDot);
+            parent = findJoin(parentPath);
+            if (parent == null) {
+                throw new NativSQLException("No join found for association '" + parentPath
+                        + "' in join path '" + associationPath + "'. "
+                        + "Join '" + parentPath + "' before joining its associations.");
+            }
+        }
+        GenericRepository<?, ?> owner = parent == null ? repository : parent.getRepository();
+        FieldAccessor<?> fieldAccessor = owner.getEntityFields().get(associationPath.substring(lastDot + 1));
+        MappedByInfo mappedByInfo = annotationManager.getMappedByInfo(fieldAccessor);
+        if (mappedByInfo == null) {
+            throw new NativSQLException(
+                    "Field '" + associationPath + "' is not annotated with @MappedBy. Cannot perform join.");
+        }
+        GenericRepository<?, ?> joinRepository = owner.getJoinRepository(mappedByInfo.getRepositoryClass());
+        return new Join(associationPath, Arrays.asList(columns), isLeftJoin, joinRepository, parent);
+    }
+
+    private Join findJoin(String associationPath) {
+        for (Join join : joins) {
+            if (join.getName().equals(associationPath)) {
+                return join;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the SQL reference of a joined table: the table name for an association
+     * of the root entity, or a generated alias for a nested join (e.g.
+     * "customer__country" for "customer.country"), so that the same table can be
+     * joined at several levels.
+     */
+    private String getJoinTableReference(Join join, IdentifierConverter converter) {
+        if (join.getParent() == null) {
+            return join.getRepository().getTableName();
+        }
+        StringBuilder alias = new StringBuilder();
+        for (String segment : join.getName().split("\\.")) {
+            if (alias.length() > 0) {
+                alias.append("__");
+            }
+            alias.append(converter.toDB(segment));
+        }
+        return alias.toString();
+    }
+
     private <R> String joinColumnPath(AssociationGetter<T, R> assocGetter, Getter<R> getter) {
         return ReflectionUtils.getColumnName(assocGetter) + "." + ReflectionUtils.getColumnName(getter);
     }
 
     /**
      * Resolves a dot-notation column path to a fully-qualified SQL column reference.
-     * Looks up the association name in the registered joins and uses its repository's
-     * table name as the column prefix.
+     * Looks up the association path (everything before the last dot) in the
+     * registered joins and uses its table reference as the column prefix.
      *
-     * @param path      the dot-notation path (e.g. "group.name")
+     * @param path      the dot-notation path (e.g. "group.name" or
+     *                  "customer.country.name")
      * @param converter the identifier converter for column name transformation
      * @return the fully-qualified SQL column reference (e.g. "user_group.name")
-     * @throws NativSQLException if no join is registered for the association name
+     * @throws NativSQLException if no join is registered for the association path
      */
     private String resolveJoinColumn(String path, IdentifierConverter converter) {
-        String[] segments = path.split("\\.", 2);
-        String associationName = segments[0];
-        String column = segments[1];
-        Join join = joins.stream()
-                .filter(j -> j.getName().equals(associationName))
-                .findFirst()
-                .orElseThrow(() -> new NativSQLException(
-                        "No join found for association '" + associationName
-                        + "' in dot-notation column '" + path + "'. "
-                        + "Add leftJoin/innerJoin before using this column in a WHERE condition."));
-        return join.getRepository().getTableName() + "." + converter.toDB(column);
-    }
-
-    /**
-     * Gets a repository instance from its class.
-     */
-    private GenericRepository<?, ?> getRepositoryInstance(Class<?> repositoryClass) {
-        try {
-            Object result = repositoryClass.getConstructor().newInstance();
-            if (result == null) {
-                throw new NativSQLException("Failed to instantiate repository: " + repositoryClass.getName());
-            }
-            return (GenericRepository<?, ?>) result;
-        } catch (Exception e) {
-            throw new NativSQLException("Failed to instantiate repository: " + repositoryClass.getName(), e);
+        int lastDot = path.lastIndexOf('.');
+        String associationName = path.substring(0, lastDot);
+        String column = path.substring(lastDot + 1);
+        Join join = findJoin(associationName);
+        if (join == null) {
+            throw new NativSQLException(
+                    "No join found for association '" + associationName
+                    + "' in dot-notation column '" + path + "'. "
+                    + "Add leftJoin/innerJoin before using this column in a WHERE condition.");
+        }
+        return getJoinTableReference(join, converter) + "." + converter.toDB(column);
+    }
+
+    /**
+     * Appends the keyset condition for {@link #after(Map)}, after checking that
+     * the key matches the ORDER BY columns exactly.
+     */
+    private void buildKeysetCondition(StringBuilder sb, IdentifierConverter identifierConverter) {
+        List<String> orderColumns = orderBy.getColumns();
+        if (orderColumns.isEmpty()) {
+            throw new NativSQLException("after() requires an ORDER BY");
         }
+        if (!afterKey.keySet().equals(new HashSet<>(orderColumns))) {
+            throw new NativSQLException("after() key columns " + afterKey.keySet()
+                    + " must match the ORDER BY columns " + orderColumns);
+        }
+        DatabaseDialect dialect = repository.getDatabaseDialect();
+        boolean rowValueComparison = dialect != null && dialect.supportsRowValueComparison();
+        orderBy.buildKeysetCondition(sb, identifierConverter, rowValueComparison);
     }
 
     /**
@@ -516,6 +782,81 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
         return !associations.isEmpty();
     }
 
+    /**
+     * Gets the maximum number of rows set with {@link #limit(int)}, or null.
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the number of rows skipped with {@link #offset(int)}, or null.
+     */
+    public Integer getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the ORDER BY columns (names or dot-notation paths), in order.
+     */
+    public List<String> getOrderByColumns() {
+        return orderBy.getColumns();
+    }
+
+    /**
+     * Checks if a keyset pagination key was set with {@link #after(Map)}.
+     */
+    public boolean hasAfterKey() {
+        return afterKey != null;
+    }
+
+    /**
+     * Gets the JDBC fetch size set on this query, or null for the repository default.
+     */
+    public Integer getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Gets the JDBC maximum number of rows set on this query, 0 for no limit (see
+     * {@link #noMaxRows()}) or null for the repository default.
+     */
+    public Integer getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Gets the JDBC query timeout set on this query, or null for the repository
+     * default.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Checks if joined entities are shared across rows, see
+     * {@link #shareJoinedEntities()}.
+     */
+    public boolean isShareJoinedEntities() {
+        return shareJoinedEntities;
+    }
+
+    /**
+     * Checks if encrypted columns are decrypted in parallel, see
+     * {@link #parallelDecryption()}.
+     */
+    public boolean isParallelDecryption() {
+        return parallelDecryption;
+    }
+
+    /**
+     * Checks if any JDBC statement setting (fetch size, max rows, timeout) is set
+     * on this query.
+     */
+    public boolean hasStatementSettings() {
+        return fetchSize != null || maxRows != null || timeout != null;
+    }
+
     /**
      * Checks if there are any LEFT JOINs.
      */
@@ -547,6 +888,11 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
                 params.put(entry.getKey(), entry.getValue());
             }
         }
+        if (afterKey != null) {
+            for (Map.Entry<String, Object> entry : afterKey.entrySet()) {
+                params.put(OrderBy.keysetParamName(entry.getKey()), entry.getValue());
+            }
+        }
         return params;
     }
 
@@ -609,7 +955,7 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
         }
 
         for (Join join : joins) {
-            String joinTableName = join.getRepository().getTableName();
+            String joinTableName = getJoinTableReference(join, identifierConverter);
             String propertyName = join.getName();
             for (String col : join.getColumns()) {
                 if (col == null || col.isEmpty()) {
@@ -655,27 +1001,40 @@ public class FindQuery<T extends IEntity<ID>, ID> extends WhereQuery<T, ID, Find
         sb.append("FROM ").append(tableName);
 
         if (hasJoins()) {
-            Fields entityFields = repository.getEntityFields();
             for (Join join : joins) {
-                FieldAccessor<?> fieldAccessor = entityFields.get(join.getName());
+                Join parent = join.getParent();
+                GenericRepository<?, ?> owner = parent == null ? repository : parent.getRepository();
+                FieldAccessor<?> fieldAccessor = owner.getEntityFields().get(join.getPropertyName());
                 MappedByInfo mappedByInfo = annotationManager.getMappedByInfo(fieldAccessor);
                 if (mappedByInfo != null) {
                     String foreignKeyColumn = identifierConverter.toDB(mappedByInfo.getForeignKeyProperty());
+                    String ownerTable = parent == null ? tableName : getJoinTableReference(parent, identifierConverter);
                     String joinTableName = join.getRepository().getTableName();
+                    String joinReference = getJoinTableReference(join, identifierConverter);
+                    String joinTable = joinReference.equals(joinTableName)
+                            ? joinTableName
+                            : joinTableName + " " + joinReference;
                     String joinKeyword = join.isLeftJoin() ? "LEFT" : "INNER";
                     sb.append(String.format("\n      %s JOIN %s ON %s.%s = %s.id",
-                            joinKeyword, joinTableName, tableName, foreignKeyColumn, joinTableName));
+                            joinKeyword, joinTable, ownerTable, foreignKeyColumn, joinReference));
                 }
             }
         }
 
-        if (hasWhereConditions()) {
+        orderBy.withJoinResolver(this::resolveJoinColumn).withTablePrefix(tableName).withJoins(hasJoins());
+        if (hasWhereConditions() || afterKey != null) {
             whereClause.withJoinResolver(this::resolveJoinColumn).withTablePrefix(tableName).withJoins(hasJoins());
             sb.append("\nWHERE\n");
             whereClause.buildFormatted(sb, identifierConverter);
+            if (afterKey != null) {
+                if (hasWhereConditions()) {
+                    sb.append("\n    AND\n");
+                }
+                sb.append("        ");
+                buildKeysetCondition(sb, identifierConverter);
+            }
         }
 
-        orderBy.withJoinResolver(this::resolveJoinColumn).withTablePrefix(tableName).withJoins(hasJoins());
         if (!orderBy.isEmpty()) {
             sb.append("\nORDER BY\n");
             orderBy.buildFormatted(sb, identifierConverter);
@@ -10,6 +10,8 @@ import lombok.NoArgsConstructor;
  * Represents a JOIN clause in a query.
  * Specifies which association to join, which columns to retrieve, and the type
  * of join.
+ * A nested join (e.g. "customer.country") keeps a reference to the join of its
+ * owning entity (e.g. "customer").
  */
 @Data
 @NoArgsConstructor
@@ -19,6 +21,7 @@ public class Join {
 
     private boolean isLeftJoin;
     private GenericRepository<?, ?> repository;
+    private Join parent;
 
     /**
      * Creates a new Join with specified join type.
@@ -35,4 +38,28 @@ public class Join {
         this.isLeftJoin = isLeftJoin;
         this.repository = repository;
     }
+
+    /**
+     * Creates a new nested Join on an association of an already joined entity.
+     *
+     * @param name       the association path (e.g. "customer.country")
+     * @param columns    the columns to retrieve from the joined entity
+     * @param isLeftJoin true for LEFT JOIN, false for INNER JOIN
+     * @param repository the repository of the joined entity
+     * @param parent     the join of the entity owning the association, or null
+     *                   for an association of the root entity
+     */
+    public Join(String name, List<String> columns, boolean isLeftJoin,
+            GenericRepository<?, ?> repository, Join parent) {
+        this(name, columns, isLeftJoin, repository);
+        this.parent = parent;
+    }
+
+    /**
+     * Gets the association property name on the owning entity, i.e. the last
+     * segment of the association path.
+     */
+    public String getPropertyName() {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
 }
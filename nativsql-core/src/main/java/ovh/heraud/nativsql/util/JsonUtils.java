@@ -0,0 +1,47 @@
+package ovh.heraud.nativsql.util;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Utility class for the JSON type mappers.
+ */
+public final class JsonUtils {
+
+    /**
+     * Buffers growing beyond this number of chars are not kept for the next
+     * value, so that one large document does not stay pinned to a thread.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1 << 20;
+
+    private static final ThreadLocal<CharArrayWriter> BUFFER = ThreadLocal
+            .withInitial(() -> new CharArrayWriter(8192));
+
+    private JsonUtils() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Serializes a value to a JSON string, writing into a per-thread buffer
+     * reused from one value to the next instead of a fresh one per value.
+     *
+     * @param writer the writer to serialize with
+     * @param value  the value to serialize
+     * @return the JSON string
+     * @throws IOException if the value cannot be serialized
+     */
+    public static String writeValueAsString(ObjectWriter writer, Object value) throws IOException {
+        CharArrayWriter buffer = BUFFER.get();
+        buffer.reset();
+        try {
+            writer.writeValue(buffer, value);
+            return buffer.toString();
+        } finally {
+            if (buffer.size() > MAX_RETAINED_BUFFER_SIZE) {
+                BUFFER.remove();
+            }
+        }
+    }
+}
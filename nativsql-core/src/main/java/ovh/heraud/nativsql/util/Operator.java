@@ -35,6 +35,7 @@ package ovh.heraud.nativsql.util;
 public enum Operator {
     EQUALS("=", (col, param) -> col + " = :" + param),
     IN("IN", (col, param) -> col + " IN (:" + param + ")"),
+    EQUALS_ANY("= ANY", (col, param) -> col + " = ANY(:" + param + ")"),
     LESS_THAN("<", (col, param) -> col + " < :" + param),
     LESS_OR_EQUAL("<=", (col, param) -> col + " <= :" + param),
     GREATER_THAN(">", (col, param) -> col + " > :" + param),
@@ -134,6 +134,90 @@ public class OrderBy implements SQLBuilder {
         return orders.isEmpty();
     }
 
+    /**
+     * Returns the ordered columns (names or dot-notation paths), in ORDER BY order.
+     */
+    public List<String> getColumns() {
+        List<String> columns = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            columns.add(order.column);
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the named-parameter name bound to a column's value by
+     * {@link #buildKeysetCondition}: "after" + the camelCase column path
+     * (e.g. "lastName" → "afterLastName", "group.name" → "afterGroupName").
+     */
+    public static String keysetParamName(String column) {
+        String paramName = SqlUtils.columnPathToParamName(column);
+        return "after" + Character.toUpperCase(paramName.charAt(0)) + paramName.substring(1);
+    }
+
+    /**
+     * Builds the keyset ("seek") condition selecting the rows strictly after a
+     * given key in this ordering, binding the key values as
+     * {@link #keysetParamName named parameters}.
+     * When every column is sorted in the same direction and the dialect supports
+     * it, a row-value comparison is generated — {@code (a, b) > (:afterA, :afterB)};
+     * otherwise the equivalent expanded form —
+     * {@code (a > :afterA OR (a = :afterA AND b > :afterB))}.
+     *
+     * @param sb                 the StringBuilder to append the SQL to
+     * @param converter          the identifier converter to use for column name
+     *                           transformation
+     * @param rowValueComparison whether the dialect supports row-value comparison
+     * @throws NativSQLException if no order has been specified
+     */
+    public void buildKeysetCondition(StringBuilder sb, IdentifierConverter converter, boolean rowValueComparison) {
+        if (orders.isEmpty()) {
+            throw new NativSQLException("Keyset pagination requires an ORDER BY");
+        }
+        if (orders.size() == 1) {
+            appendKeysetComparison(sb, converter, orders.get(0));
+            return;
+        }
+        boolean uniformDirection = orders.stream().allMatch(o -> o.isAsc == orders.get(0).isAsc);
+        if (rowValueComparison && uniformDirection) {
+            sb.append("(");
+            for (int i = 0; i < orders.size(); i++) {
+                sb.append(i > 0 ? ", " : "").append(toDbCol(converter, orders.get(i).column));
+            }
+            sb.append(") ").append(orders.get(0).isAsc ? ">" : "<").append(" (");
+            for (int i = 0; i < orders.size(); i++) {
+                sb.append(i > 0 ? ", " : "").append(":").append(keysetParamName(orders.get(i).column));
+            }
+            sb.append(")");
+            return;
+        }
+        appendExpandedKeysetCondition(sb, converter, 0);
+    }
+
+    /**
+     * Appends "(a > :afterA OR (a = :afterA AND &lt;rest&gt;))" starting at the given
+     * order index; the last order is a plain comparison.
+     */
+    private void appendExpandedKeysetCondition(StringBuilder sb, IdentifierConverter converter, int index) {
+        Order order = orders.get(index);
+        if (index == orders.size() - 1) {
+            appendKeysetComparison(sb, converter, order);
+            return;
+        }
+        String dbCol = toDbCol(converter, order.column);
+        sb.append("(");
+        appendKeysetComparison(sb, converter, order);
+        sb.append(" OR (").append(dbCol).append(" = :").append(keysetParamName(order.column)).append(" AND ");
+        appendExpandedKeysetCondition(sb, converter, index + 1);
+        sb.append("))");
+    }
+
+    private void appendKeysetComparison(StringBuilder sb, IdentifierConverter converter, Order order) {
+        sb.append(toDbCol(converter, order.column))
+                .append(order.isAsc ? " > :" : " < :")
+                .append(keysetParamName(order.column));
+    }
+
     /**
      * Copies all order conditions from another OrderBy builder into this one.
      * This is more efficient than parsing a string representation.
@@ -28,26 +28,24 @@ public final class SqlUtils {
     /**
      * Converts a dot-notation column path to a camelCase parameter name.
      * Plain column names (no dot) are returned unchanged.
-     * "assoc.column" → "assocColumn".
-     * Nested paths (more than one dot) are rejected with {@link NativSQLException}.
+     * "assoc.column" → "assocColumn", "assoc.nested.column" → "assocNestedColumn".
      *
      * @param column the column name or dot-notation path
      * @return the camelCase parameter name
-     * @throws NativSQLException if the path has more than one dot or an empty column segment
+     * @throws NativSQLException if a segment of the path is empty
      */
     public static String columnPathToParamName(String column) {
         if (!column.contains(".")) return column;
         String[] parts = column.split("\\.", -1);
-        if (parts.length != 2) {
-            throw new NativSQLException(
-                "Nested column paths are not supported: '" + column
-                + "'. Only one level of join is allowed (e.g. 'assoc.column')");
+        StringBuilder paramName = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            String segment = parts[i];
+            if (segment.isEmpty()) {
+                throw new NativSQLException(
+                    "Invalid column path '" + column + "': column name cannot be empty");
+            }
+            paramName.append(Character.toUpperCase(segment.charAt(0))).append(segment.substring(1));
         }
-        String col = parts[1];
-        if (col.isEmpty()) {
-            throw new NativSQLException(
-                "Invalid column path '" + column + "': column name cannot be empty");
-        }
-        return parts[0] + Character.toUpperCase(col.charAt(0)) + col.substring(1);
+        return paramName.toString();
     }
 }
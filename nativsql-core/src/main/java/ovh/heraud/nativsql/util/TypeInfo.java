@@ -10,10 +10,13 @@ import ovh.heraud.nativsql.annotation.type.TypeParamKey;
 /**
  * Contains type parameters for a mapped field (DB_DATA_TYPE, encryption params,
  * etc.).
+ * The parameters are filled while the field is configured; once the TypeInfo is
+ * in use, {@link #replaceParam} publishes changes as a new map, so a map read
+ * by {@link #getParams()} never changes under its reader.
  */
 public class TypeInfo {
 
-    private final Map<ParamKey, Object> params;
+    private volatile Map<ParamKey, Object> params;
 
     public TypeInfo() {
         this.params = new HashMap<>();
@@ -35,4 +38,18 @@ public class TypeInfo {
     public Object getParam(ParamKey key) {
         return params.get(key);
     }
+
+    /**
+     * Sets a parameter of a TypeInfo possibly read concurrently, by swapping in
+     * a copy of the parameters holding the new value. Readers see either the
+     * former or the new map, never one being modified.
+     *
+     * @param key   the parameter
+     * @param value the new value
+     */
+    public synchronized void replaceParam(ParamKey key, Object value) {
+        Map<ParamKey, Object> replaced = new HashMap<>(params);
+        replaced.put(key, value);
+        this.params = replaced;
+    }
 }
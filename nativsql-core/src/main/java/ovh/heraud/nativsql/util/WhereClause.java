@@ -78,6 +78,19 @@ public class WhereClause implements SQLBuilder {
         return this;
     }
 
+    /**
+     * Copies all conditions from another WhereClause into this one.
+     * Conditions are immutable and shared between both clauses.
+     *
+     * @param other the WhereClause to copy conditions from
+     */
+    public void copyFrom(WhereClause other) {
+        conditions.addAll(other.conditions);
+        columnConditions.addAll(other.columnConditions);
+        rangeConditions.addAll(other.rangeConditions);
+        customConditions.addAll(other.customConditions);
+    }
+
     /**
      * Sets the table prefix for column names (e.g., "user_table").
      * Used when there are JOINs to avoid column ambiguity.
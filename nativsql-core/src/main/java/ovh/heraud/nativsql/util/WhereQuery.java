@@ -1,5 +1,6 @@
 package ovh.heraud.nativsql.util;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
     protected final GenericRepository<T, ID> repository;
     protected final AnnotationManager annotationManager;
     protected final WhereClause whereClause = new WhereClause();
+    protected Duration cacheTtl = null;
 
     protected WhereQuery(GenericRepository<T, ID> repository) {
         this.repository = repository;
@@ -42,7 +44,7 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
      * (column = value).
      */
     public Self whereAndEquals(String column, Object value) {
-        guardEncryptedColumn(column);
+        guardEncryptedColumn(column, true);
         guardJsonColumn(column);
         whereClause.add(column, Operator.EQUALS, value);
         return self();
@@ -61,7 +63,7 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
      * (column IN (...)).
      */
     public Self whereAndIn(String column, List<?> values) {
-        guardEncryptedColumn(column);
+        guardEncryptedColumn(column, true);
         guardJsonColumn(column);
         whereClause.add(column, Operator.IN, values);
         return self();
@@ -75,6 +77,25 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
         return whereAndIn(ReflectionUtils.getColumnName(getter), values);
     }
 
+    /**
+     * Adds a WHERE condition matching any value of a list bound as a single array
+     * parameter (column = ANY(:column)). Unlike {@link #whereAndIn(String, List)},
+     * the SQL text is the same whatever the number of values.
+     * Only supported by databases with array parameters (see
+     * {@link ovh.heraud.nativsql.db.DatabaseDialect#getArrayElementType}).
+     *
+     * @param column         the column name (camelCase)
+     * @param sqlElementType the SQL type of the array elements (e.g. "bigint")
+     * @param values         the values to match
+     */
+    public Self whereAndInArray(String column, String sqlElementType, List<?> values) {
+        // Array elements are bound as-is, never encrypted
+        guardEncryptedColumn(column, false);
+        guardJsonColumn(column);
+        whereClause.add(column, Operator.EQUALS_ANY, new ArrayParameter(sqlElementType, values));
+        return self();
+    }
+
     /**
      * Adds a custom WHERE expression (e.g., "(address).city" for composite types).
      *
@@ -95,7 +116,8 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
      * @param value    the value to compare against
      */
     public Self whereAndOperator(String column, Operator operator, Object value) {
-        guardEncryptedColumn(column);
+        guardEncryptedColumn(column,
+                operator == Operator.EQUALS || operator == Operator.NOT_EQUALS || operator == Operator.IN);
         guardJsonColumn(column);
         whereClause.add(column, operator, value);
         return self();
@@ -117,7 +139,7 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
      * @param operator the column operator
      */
     public Self whereAndColumnOperator(String column, ColumnOperator operator) {
-        guardEncryptedColumn(column);
+        guardEncryptedColumn(column, true);
         guardJsonColumn(column);
         whereClause.addColumnOperator(column, operator);
         return self();
@@ -146,7 +168,7 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
         if (high == null) {
             throw new NativSQLException("Range high value cannot be null for column '" + column + "'");
         }
-        guardEncryptedColumn(column);
+        guardEncryptedColumn(column, false);
         guardJsonColumn(column);
         String camelBase = SqlUtils.columnPathToParamName(column);
         whereClause.addRangeOperator(column, operator, camelBase + "Low", low, camelBase + "High", high);
@@ -161,6 +183,30 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
         return whereAndRange(ReflectionUtils.getColumnName(getter), operator, low, high);
     }
 
+    /**
+     * Caches the result of this query for the given duration, keyed by the SQL
+     * and its parameters. Cached results of a table are invalidated by any write
+     * to that table through a repository. Exposed by the queries that support it.
+     *
+     * @param ttl how long the result is cached (must be positive)
+     * @throws NativSQLException if ttl is null, zero or negative
+     */
+    protected Self cacheFor(Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            throw new NativSQLException("ttl must be a positive duration");
+        }
+        this.cacheTtl = ttl;
+        return self();
+    }
+
+    /**
+     * Gets how long the result of this query is cached, or null if it is not
+     * cached.
+     */
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
     /**
      * Checks if there are any WHERE conditions.
      */
@@ -188,7 +234,12 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
         return params;
     }
 
-    private void guardEncryptedColumn(String column) {
+    /**
+     * Rejects conditions on encrypted columns, except equality conditions
+     * ({@code equality} true) on columns encrypted with deterministic algorithms
+     * only: their parameter is encrypted like the stored values.
+     */
+    private void guardEncryptedColumn(String column, boolean equality) {
         if (column.contains(".")) {
             return; // joined entity column — encryption guard does not apply
         }
@@ -212,6 +263,10 @@ public abstract class WhereQuery<T extends IEntity<ID>, ID, Self extends WhereQu
                         + "' uses a non-deterministic algorithm and cannot be used in a WHERE equality check");
             }
         }
+        if (!equality) {
+            throw new NativSQLException("Column '" + column
+                    + "' is encrypted and only supports WHERE equality (EQUALS, NOT_EQUALS, IN) checks");
+        }
     }
 
     private void guardJsonColumn(String column) {
@@ -15,6 +15,7 @@ import ovh.heraud.nativsql.annotation.type.Encrypted;
 import ovh.heraud.nativsql.annotation.type.ParamKey;
 import ovh.heraud.nativsql.annotation.type.TypeParamKey;
 import ovh.heraud.nativsql.crypt.CryptAlgorithm;
+import ovh.heraud.nativsql.crypt.CryptConfig;
 import ovh.heraud.nativsql.util.FieldAccessor;
 import ovh.heraud.nativsql.util.TypeInfo;
 
@@ -66,6 +67,23 @@ class AnnotationManagerCryptTest {
         String binaryField;
     }
 
+    /** A key provider whose key can be rotated by the test. */
+    public static class RotatingKeyProvider implements ovh.heraud.nativsql.crypt.CryptKeyProvider {
+        static byte[] currentKey = "0123456789abcdef".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+
+        @Override
+        public byte[] getKey() {
+            return currentKey;
+        }
+    }
+
+    static class RotatingEntity {
+        @Encrypted
+        @CryptAlgo(CryptAlgorithm.GCM)
+        @ovh.heraud.nativsql.annotation.type.CryptKeyProvider(RotatingKeyProvider.class)
+        String secret;
+    }
+
     private FieldAccessor<?> fieldAccessor(String fieldName) throws NoSuchFieldException {
         return new FieldAccessor<>(EncryptedEntity.class.getDeclaredField(fieldName));
     }
@@ -104,6 +122,48 @@ class AnnotationManagerCryptTest {
         assertThat(key).hasSize(16);
     }
 
+    @Test
+    void gcmField_typeInfoHasResolvedCryptConfig() throws Exception {
+        TypeInfo typeInfo = annotationManager.getTypeInfo(fieldAccessor("emailGcm"));
+
+        CryptConfig cfg = (CryptConfig) typeInfo.getParam(TypeParamKey.CRYPT_CONFIG);
+        assertThat(cfg.getKey()).hasSize(16);
+        assertThat(cfg.getPrefix()).isEqualTo("{ENC}");
+        assertThat(cfg.getCryptUtils()).isNotNull();
+    }
+
+    @Test
+    void refreshCryptConfigs_reads_the_rotated_key() throws Exception {
+        byte[] initialKey = RotatingKeyProvider.currentKey;
+        TypeInfo typeInfo = annotationManager.getTypeInfo(
+                new FieldAccessor<>(RotatingEntity.class.getDeclaredField("secret")));
+        byte[] rotatedKey = "fedcba9876543210".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        try {
+            RotatingKeyProvider.currentKey = rotatedKey;
+            assertThat(((CryptConfig) typeInfo.getParam(TypeParamKey.CRYPT_CONFIG)).getKey()).isEqualTo(initialKey);
+
+            annotationManager.refreshCryptConfigs();
+
+            assertThat(((CryptConfig) typeInfo.getParam(TypeParamKey.CRYPT_CONFIG)).getKey()).isEqualTo(rotatedKey);
+        } finally {
+            RotatingKeyProvider.currentKey = initialKey;
+        }
+    }
+
+    @Test
+    void refreshCryptConfigs_does_not_modify_the_params_map_being_read() throws Exception {
+        TypeInfo typeInfo = annotationManager.getTypeInfo(
+                new FieldAccessor<>(RotatingEntity.class.getDeclaredField("secret")));
+        Map<ParamKey, Object> paramsInUse = typeInfo.getParams();
+        Object configInUse = paramsInUse.get(TypeParamKey.CRYPT_CONFIG);
+
+        annotationManager.refreshCryptConfigs();
+
+        assertThat(paramsInUse.get(TypeParamKey.CRYPT_CONFIG)).isSameAs(configInUse);
+        assertThat(typeInfo.getParams()).isNotSameAs(paramsInUse);
+        assertThat(typeInfo.getParam(TypeParamKey.CRYPT_CONFIG)).isNotSameAs(configInUse);
+    }
+
     @Test
     void gcmField_typeInfoHasPrefixParam() throws Exception {
         TypeInfo typeInfo = annotationManager.getTypeInfo(fieldAccessor("emailGcm"));
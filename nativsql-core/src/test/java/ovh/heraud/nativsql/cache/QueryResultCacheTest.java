@@ -0,0 +1,154 @@
+package ovh.heraud.nativsql.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Unit tests for {@link QueryResultCache}.
+ */
+class QueryResultCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void get_runs_the_loader_once_until_the_table_is_written() {
+        // Given
+        QueryResultCache cache = new QueryResultCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get("users", "q1", TTL, loads::incrementAndGet);
+        Integer cached = cache.get("users", "q1", TTL, loads::incrementAndGet);
+        cache.get("groups", "q2", TTL, () -> "groups");
+        cache.invalidateTable("users");
+        Integer reloaded = cache.get("users", "q1", TTL, loads::incrementAndGet);
+
+        // Then: only the results of the written table are dropped
+        assertThat(cached).isEqualTo(1);
+        assertThat(reloaded).isEqualTo(2);
+        assertThat(cache.get("groups", "q2", TTL, () -> "reloaded")).isEqualTo("groups");
+    }
+
+    @Test
+    void get_reloads_expired_results() throws InterruptedException {
+        // Given
+        QueryResultCache cache = new QueryResultCache();
+        cache.get("users", "q1", Duration.ofMillis(1), () -> "first");
+        Thread.sleep(5);
+
+        // When
+        String result = cache.get("users", "q1", TTL, () -> "second");
+
+        // Then
+        assertThat(result).isEqualTo("second");
+    }
+
+    @Test
+    void get_evicts_the_least_recently_used_result_beyond_the_maximum_size() {
+        // Given
+        QueryResultCache cache = new QueryResultCache(2);
+        cache.get("users", "q1", TTL, () -> "first");
+        cache.get("users", "q2", TTL, () -> "second");
+        cache.get("users", "q1", TTL, () -> "unused");
+
+        // When
+        cache.get("users", "q3", TTL, () -> "third");
+
+        // Then: q2 was the least recently used
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("users", "q1", TTL, () -> "reloaded")).isEqualTo("first");
+        assertThat(cache.get("users", "q2", TTL, () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    void get_coalesces_concurrent_misses_on_the_same_key() throws Exception {
+        // Given: a slow load in progress
+        QueryResultCache cache = new QueryResultCache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> cache.get("users", "q1", TTL, () -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            await(releaseLoad);
+            return "result";
+        }));
+        assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: other callers miss on the same key meanwhile
+        List<Future<String>> others = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            others.add(executor.submit(() -> cache.get("users", "q1", TTL, () -> {
+                loads.incrementAndGet();
+                return "duplicate";
+            })));
+        }
+        Thread.sleep(50);
+        releaseLoad.countDown();
+
+        // Then: a single load, whose result every caller gets
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        for (Future<String> other : others) {
+            assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_does_not_cache_a_result_loaded_while_the_table_was_written() {
+        // Given
+        QueryResultCache cache = new QueryResultCache();
+
+        // When: the table is written while the query runs
+        String stale = cache.get("users", "q1", TTL, () -> {
+            cache.invalidateTable("users");
+            return "stale";
+        });
+
+        // Then
+        assertThat(stale).isEqualTo("stale");
+        assertThat(cache.get("users", "q1", TTL, () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void get_does_not_cache_failures() {
+        // Given
+        QueryResultCache cache = new QueryResultCache();
+
+        // When / Then
+        assertThatThrownBy(() -> cache.get("users", "q1", TTL, () -> {
+            throw new NativSQLException("query failed");
+        })).isInstanceOf(NativSQLException.class).hasMessage("query failed");
+        assertThat(cache.get("users", "q1", TTL, () -> "result")).isEqualTo("result");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ovh.heraud.nativsql.crypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Unit tests for {@link BcryptHashingExecutor}.
+ */
+class BcryptHashingExecutorTest {
+
+    /** Holds each hash until {@link #release} is counted down. */
+    static class BlockingCryptUtils extends CryptUtils {
+
+        final CountDownLatch started;
+        final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingCryptUtils(int expectedHashes) {
+            super(null, 4);
+            this.started = new CountDownLatch(expectedHashes);
+        }
+
+        @Override
+        public String hashBcrypt(String plain) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.hashBcrypt(plain);
+        }
+    }
+
+    private BcryptHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void hashAll_hashes_every_value_in_order() {
+        // Given
+        executor = new BcryptHashingExecutor(2, Duration.ofSeconds(5));
+        CryptUtils utils = new CryptUtils(null, 4);
+
+        // When
+        List<String> hashes = executor.hashAll(utils, Arrays.asList("first", null, "second", "third"));
+
+        // Then: nulls stay null, every permit is handed back
+        assertThat(hashes).hasSize(4);
+        assertThat(BCrypt.checkpw("first", hashes.get(0))).isTrue();
+        assertThat(hashes.get(1)).isNull();
+        assertThat(BCrypt.checkpw("second", hashes.get(2))).isTrue();
+        assertThat(BCrypt.checkpw("third", hashes.get(3))).isTrue();
+        assertThat(executor.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void hashAll_runs_the_hashes_in_parallel() throws Exception {
+        // Given: two permits and hashes held until both have started
+        executor = new BcryptHashingExecutor(2, Duration.ofSeconds(5));
+        BlockingCryptUtils utils = new BlockingCryptUtils(2);
+
+        // When
+        CompletableFuture<List<String>> hashes = CompletableFuture
+                .supplyAsync(() -> executor.hashAll(utils, List.of("first", "second")));
+
+        // Then: both hashes run at once
+        assertThat(utils.started.await(5, TimeUnit.SECONDS)).isTrue();
+        utils.release.countDown();
+        assertThat(hashes.get(5, TimeUnit.SECONDS)).hasSize(2);
+    }
+
+    @Test
+    void hash_fails_fast_when_every_permit_is_taken() throws Exception {
+        // Given: the only permit is held by a running batch
+        executor = new BcryptHashingExecutor(1, Duration.ZERO);
+        BlockingCryptUtils utils = new BlockingCryptUtils(1);
+        CompletableFuture<List<String>> running = CompletableFuture
+                .supplyAsync(() -> executor.hashAll(utils, List.of("running")));
+        assertThat(utils.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When / Then
+        assertThatThrownBy(() -> executor.hash(new CryptUtils(null, 4), "rejected"))
+                .isInstanceOf(CryptException.class)
+                .satisfies(e -> assertThat(((CryptException) e).getCode()).isEqualTo(CryptErrorCode.HASHING_BUSY));
+
+        utils.release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertThat(executor.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void hash_waits_for_a_permit_within_max_wait() throws Exception {
+        // Given: the only permit is held by a running batch
+        executor = new BcryptHashingExecutor(1, Duration.ofSeconds(5));
+        BlockingCryptUtils utils = new BlockingCryptUtils(1);
+        CompletableFuture<List<String>> running = CompletableFuture
+                .supplyAsync(() -> executor.hashAll(utils, List.of("running")));
+        assertThat(utils.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: the permit is handed back while the caller waits
+        CompletableFuture<String> waiting = CompletableFuture
+                .supplyAsync(() -> executor.hash(new CryptUtils(null, 4), "waiting"));
+        utils.release.countDown();
+
+        // Then
+        assertThat(BCrypt.checkpw("waiting", waiting.get(5, TimeUnit.SECONDS))).isTrue();
+        running.get(5, TimeUnit.SECONDS);
+    }
+}
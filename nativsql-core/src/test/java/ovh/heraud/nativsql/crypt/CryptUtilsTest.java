@@ -3,6 +3,13 @@ package ovh.heraud.nativsql.crypt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -60,6 +67,37 @@ class CryptUtilsTest {
 
             assertThat(decrypted).isEqualTo(plain);
         }
+
+        @Test
+        void reusedCipher_decryptsAfterAnAuthFailure() {
+            CryptUtils utils = new CryptUtils(KEY_16);
+            byte[] tampered = utils.encryptGcm("first");
+            tampered[tampered.length - 1] ^= 1;
+            assertThatThrownBy(() -> utils.decryptGcm(tampered, "col")).isInstanceOf(CryptException.class);
+
+            byte[] cipher = utils.encryptGcm("second");
+
+            assertThat(utils.decryptGcm(cipher, "col")).isEqualTo("second");
+        }
+
+        @Test
+        void sharedInstance_roundTripsConcurrently() throws Exception {
+            CryptUtils utils = new CryptUtils(KEY_16);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    String plain = "value" + i;
+                    results.add(executor.submit(() -> utils.decryptGcm(utils.encryptGcm(plain), "col")));
+                }
+
+                for (int i = 0; i < 200; i++) {
+                    assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("value" + i);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
     }
 
     @Nested
@@ -123,6 +161,38 @@ class CryptUtilsTest {
         }
     }
 
+    @Nested
+    class GcmDeterministicTests {
+
+        @Test
+        void encryptGcmDeterministic_samePlaintextProducesSameCipher() {
+            CryptUtils utils = new CryptUtils(KEY_16);
+
+            byte[] first = utils.encryptGcmDeterministic("alice@example.com");
+            byte[] second = utils.encryptGcmDeterministic("alice@example.com");
+
+            assertThat(second).isEqualTo(first);
+            assertThat(utils.encryptGcmDeterministic("bob@example.com")).isNotEqualTo(first);
+        }
+
+        @Test
+        void encryptGcmDeterministic_isReadByDecryptGcm() {
+            CryptUtils utils = new CryptUtils(KEY_16);
+
+            byte[] cipher = utils.encryptGcmDeterministic("alice@example.com");
+
+            assertThat(utils.decryptGcm(cipher, "col")).isEqualTo("alice@example.com");
+        }
+
+        @Test
+        void encryptGcmDeterministic_dependsOnTheKey() {
+            byte[] cipher1 = new CryptUtils(KEY_16).encryptGcmDeterministic("alice@example.com");
+            byte[] cipher2 = new CryptUtils(KEY_16_ALT).encryptGcmDeterministic("alice@example.com");
+
+            assertThat(cipher2).isNotEqualTo(cipher1);
+        }
+    }
+
     @Nested
     class BcryptTests {
 
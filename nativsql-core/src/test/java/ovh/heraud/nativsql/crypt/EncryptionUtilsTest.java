@@ -312,6 +312,39 @@ class EncryptionUtilsTest {
         }
     }
 
+    @Nested
+    class getCryptConfig {
+
+        @Test
+        void uses_the_resolved_config_without_calling_the_key_provider() {
+            // Given: a resolved config, and a key provider that must not be called again
+            Map<ParamKey, Object> params = gcmParams();
+            params.put(TypeParamKey.CRYPT_CONFIG, EncryptionUtils.buildCryptConfig(params));
+            params.put(TypeParamKey.KEY_PROVIDER, (CryptKeyProvider) () -> {
+                throw new IllegalStateException("key provider called per value");
+            });
+
+            // When
+            Object encrypted = EncryptionUtils.encrypt("hello", params);
+
+            // Then
+            assertThat(EncryptionUtils.decrypt(encrypted, COLUMN, params)).isEqualTo("hello");
+        }
+
+        @Test
+        void builds_the_config_when_not_resolved() {
+            // Given
+            Map<ParamKey, Object> params = gcmParams();
+
+            // When
+            CryptConfig cfg = EncryptionUtils.getCryptConfig(params);
+
+            // Then
+            assertThat(cfg.getKey()).isEqualTo(KEY);
+            assertThat(cfg.getCryptUtils()).isSameAs(EncryptionUtils.getCachedCryptUtils(KEY, 12));
+        }
+    }
+
     @Nested
     class castParam {
 
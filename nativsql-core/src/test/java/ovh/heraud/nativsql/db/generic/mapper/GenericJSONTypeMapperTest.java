@@ -0,0 +1,110 @@
+package ovh.heraud.nativsql.db.generic.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import ovh.heraud.nativsql.db.generic.GenericDialect;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.mapper.ITypeMapper;
+import ovh.heraud.nativsql.util.FieldAccessor;
+
+/**
+ * Unit tests for {@link GenericJSONTypeMapper}.
+ */
+class GenericJSONTypeMapperTest {
+
+    private static final String COLUMN = "tags";
+
+    static class Document {
+        public List<String> tags;
+    }
+
+    private final GenericJSONTypeMapper<List<String>> mapper = new GenericJSONTypeMapper<>();
+
+    private static FieldAccessor<?> tagsField() throws Exception {
+        return new FieldAccessor<>(Document.class.getDeclaredField("tags"));
+    }
+
+    @Test
+    void map_parses_the_character_stream_without_reading_a_string() throws Exception {
+        // Given
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.findColumn(COLUMN)).thenReturn(1);
+        when(rs.getCharacterStream(1)).thenReturn(new StringReader("[\"a\",\"b\"]"));
+
+        // When
+        List<String> tags = mapper.map(rs, COLUMN, tagsField(), Collections.emptyMap());
+
+        // Then
+        assertThat(tags).containsExactly("a", "b");
+        verify(rs, never()).getString(1);
+        verify(rs, never()).getObject(1);
+    }
+
+    @Test
+    void map_returns_null_for_a_null_column() throws Exception {
+        // Given
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.findColumn(COLUMN)).thenReturn(1);
+        when(rs.getCharacterStream(1)).thenReturn(null);
+
+        // When / Then
+        assertThat(mapper.map(rs, COLUMN, tagsField(), Collections.emptyMap())).isNull();
+    }
+
+    @Test
+    void map_rejects_an_empty_stream() throws Exception {
+        // Given
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.findColumn(COLUMN)).thenReturn(1);
+        when(rs.getCharacterStream(1)).thenReturn(new StringReader(""));
+
+        // When / Then
+        assertThatThrownBy(() -> mapper.map(rs, COLUMN, tagsField(), Collections.emptyMap()))
+                .isInstanceOf(NativSQLException.class);
+    }
+
+    @Test
+    void toDatabase_serializes_successive_values_independently() {
+        // When
+        Object first = mapper.toDatabase(List.of("a", "b"), Collections.emptyMap());
+        Object second = mapper.toDatabase(List.of("c"), Collections.emptyMap());
+
+        // Then
+        assertThat(first).isEqualTo("[\"a\",\"b\"]");
+        assertThat(second).isEqualTo("[\"c\"]");
+    }
+
+    @Test
+    void dialect_shares_its_json_mapper_built_on_the_configured_object_mapper() {
+        // Given
+        GenericDialect next = new GenericDialect();
+        GenericDialect dialect = new GenericDialect(next);
+        ITypeMapper<Document> defaultMapper = dialect.getJsonMapper();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL);
+
+        // When
+        dialect.setObjectMapper(objectMapper);
+        ITypeMapper<Document> configuredMapper = dialect.getJsonMapper();
+
+        // Then
+        assertThat(dialect.<Document>getJsonMapper()).isSameAs(configuredMapper);
+        assertThat(next.getObjectMapper()).isSameAs(objectMapper);
+        assertThat(defaultMapper.toDatabase(new Document(), Collections.emptyMap())).isEqualTo("{\"tags\":null}");
+        assertThat(configuredMapper.toDatabase(new Document(), Collections.emptyMap())).isEqualTo("{}");
+    }
+}
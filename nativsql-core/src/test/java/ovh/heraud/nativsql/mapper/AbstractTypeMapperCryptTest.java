@@ -8,10 +8,13 @@ import static org.mockito.Mockito.when;
 import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
 
 import ovh.heraud.nativsql.annotation.DbDataType;
 import ovh.heraud.nativsql.annotation.type.TypeParamKey;
@@ -93,6 +96,28 @@ class AbstractTypeMapperCryptTest {
         assertThat((String) result).startsWith("$2a$");
     }
 
+    @Test
+    void to_database_all_bcrypt_hashes_every_value() {
+        Map<ParamKey, Object> params = bcryptParams();
+
+        List<Object> result = mapper.toDatabaseAll(Arrays.asList("first", null, "second"), params);
+
+        assertThat(result).hasSize(3);
+        assertThat(BCrypt.checkpw("first", (String) result.get(0))).isTrue();
+        assertThat(result.get(1)).isNull();
+        assertThat(BCrypt.checkpw("second", (String) result.get(2))).isTrue();
+    }
+
+    @Test
+    void to_database_all_gcm_encrypts_every_value() {
+        Map<ParamKey, Object> params = gcmParams();
+
+        List<Object> result = mapper.toDatabaseAll(List.of("first", "second"), params);
+
+        assertThat(result).hasSize(2);
+        assertThat(result).allSatisfy(value -> assertThat((String) value).startsWith(PREFIX));
+    }
+
     @Test
     void to_database_non_encrypted_passes_through() {
         Map<ParamKey, Object> params = Map.of();
@@ -0,0 +1,188 @@
+package ovh.heraud.nativsql.mapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.type.ParamKey;
+import ovh.heraud.nativsql.annotation.type.TypeParamKey;
+import ovh.heraud.nativsql.crypt.CryptAlgorithm;
+import ovh.heraud.nativsql.crypt.CryptKeyProvider;
+import ovh.heraud.nativsql.db.SnakeCaseIdentifierConverter;
+import ovh.heraud.nativsql.db.generic.mapper.LongTypeMapper;
+import ovh.heraud.nativsql.db.generic.mapper.StringTypeMapper;
+import ovh.heraud.nativsql.util.ReflectionUtils;
+import ovh.heraud.nativsql.util.TypeInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link GenericRowMapper} mapping of joined columns.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRowMapperTest {
+
+    @Getter
+    @Setter
+    public static class Country {
+        private Long id;
+    }
+
+    @Getter
+    @Setter
+    public static class Customer {
+        private Long id;
+        private Country country;
+    }
+
+    @Getter
+    @Setter
+    public static class Order {
+        private Long id;
+        private Customer customer;
+    }
+
+    @Getter
+    @Setter
+    public static class Secret {
+        private String name;
+    }
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private static <T> GenericRowMapper<T> idMapper(Class<T> clazz, Map<String, JoinedPropertyMetadata> joined) {
+        PropertyMetadata<Long> id = new PropertyMetadata<>(ReflectionUtils.getFields(clazz).get("id"),
+                new LongTypeMapper(), new SnakeCaseIdentifierConverter(), null);
+        return new GenericRowMapper<>(clazz, List.of(id), joined);
+    }
+
+    @Test
+    void mapRow_maps_columns_of_a_join_of_a_join_to_nested_objects() throws Exception {
+        // Given: Order -> Customer -> Country mappers and one row with a column per level
+        GenericRowMapper<Country> countryMapper = idMapper(Country.class, Map.of());
+        GenericRowMapper<Customer> customerMapper = idMapper(Customer.class, Map.of("country",
+                new JoinedPropertyMetadata(ReflectionUtils.getFields(Customer.class).get("country"), countryMapper)));
+        GenericRowMapper<Order> orderMapper = idMapper(Order.class, Map.of("customer",
+                new JoinedPropertyMetadata(ReflectionUtils.getFields(Order.class).get("customer"), customerMapper)));
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnLabel(2)).thenReturn("customer.id");
+        when(metaData.getColumnLabel(3)).thenReturn("customer.country.id");
+        when(resultSet.findColumn("id")).thenReturn(1);
+        when(resultSet.findColumn("customer.id")).thenReturn(2);
+        when(resultSet.findColumn("customer.country.id")).thenReturn(3);
+        when(resultSet.getObject(1)).thenReturn(1L);
+        when(resultSet.getObject(2)).thenReturn(10L);
+        when(resultSet.getObject(3)).thenReturn(100L);
+
+        // When
+        Order order = orderMapper.mapRow(resultSet, 0);
+
+        // Then
+        assertThat(order.getId()).isEqualTo(1L);
+        assertThat(order.getCustomer().getId()).isEqualTo(10L);
+        assertThat(order.getCustomer().getCountry().getId()).isEqualTo(100L);
+    }
+
+    @Test
+    void withIdentityMap_shares_joined_entities_with_the_same_id_across_rows() throws Exception {
+        // Given: two orders of the same customer, then an order of another customer
+        GenericRowMapper<Customer> customerMapper = idMapper(Customer.class, Map.of());
+        GenericRowMapper<Order> orderMapper = idMapper(Order.class, Map.of("customer",
+                new JoinedPropertyMetadata(ReflectionUtils.getFields(Order.class).get("customer"), customerMapper)));
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnLabel(2)).thenReturn("customer.id");
+        when(resultSet.findColumn("id")).thenReturn(1);
+        when(resultSet.findColumn("customer.id")).thenReturn(2);
+        when(resultSet.getObject(1)).thenReturn(1L, 2L, 3L);
+        when(resultSet.getObject("customer.id")).thenReturn(10L, 10L, 20L);
+        when(resultSet.getObject(2)).thenReturn(10L, 20L);
+        RowMapper<Order> sharingMapper = orderMapper.withIdentityMap();
+
+        // When
+        Order first = sharingMapper.mapRow(resultSet, 0);
+        Order second = sharingMapper.mapRow(resultSet, 1);
+        Order third = sharingMapper.mapRow(resultSet, 2);
+
+        // Then: one Customer instance per distinct id
+        assertThat(second.getCustomer()).isSameAs(first.getCustomer());
+        assertThat(first.getCustomer().getId()).isEqualTo(10L);
+        assertThat(third.getCustomer()).isNotSameAs(first.getCustomer());
+        assertThat(third.getCustomer().getId()).isEqualTo(20L);
+    }
+
+    @Test
+    void mapRow_without_identity_map_creates_a_joined_entity_per_row() throws Exception {
+        // Given: two orders of the same customer
+        GenericRowMapper<Customer> customerMapper = idMapper(Customer.class, Map.of());
+        GenericRowMapper<Order> orderMapper = idMapper(Order.class, Map.of("customer",
+                new JoinedPropertyMetadata(ReflectionUtils.getFields(Order.class).get("customer"), customerMapper)));
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("customer.id");
+        when(resultSet.findColumn("customer.id")).thenReturn(1);
+        when(resultSet.getObject(1)).thenReturn(10L);
+
+        // When
+        Order first = orderMapper.mapRow(resultSet, 0);
+        Order second = orderMapper.mapRow(resultSet, 1);
+
+        // Then
+        assertThat(second.getCustomer()).isNotSameAs(first.getCustomer());
+        assertThat(second.getCustomer().getId()).isEqualTo(10L);
+    }
+
+    @Test
+    void withDeferredDecryption_stages_encrypted_columns_until_decryptAll() throws Exception {
+        // Given: an encrypted name column and two rows
+        CryptKeyProvider keyProvider = () -> "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+        Map<ParamKey, Object> params = new HashMap<>();
+        params.put(TypeParamKey.ENCRYPTED, true);
+        params.put(TypeParamKey.ALGO, new CryptAlgorithm[] { CryptAlgorithm.GCM });
+        params.put(TypeParamKey.KEY_PROVIDER, keyProvider);
+        params.put(TypeParamKey.PREFIX, "{ENC}");
+        StringTypeMapper stringMapper = new StringTypeMapper();
+        PropertyMetadata<String> name = new PropertyMetadata<>(ReflectionUtils.getFields(Secret.class).get("name"),
+                stringMapper, new SnakeCaseIdentifierConverter(), new TypeInfo(params));
+        GenericRowMapper<Secret> secretMapper = new GenericRowMapper<>(Secret.class, List.of(name), Map.of());
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("name");
+        when(resultSet.findColumn("name")).thenReturn(1);
+        when(resultSet.getObject(1)).thenReturn(stringMapper.toDatabase("alice", params),
+                stringMapper.toDatabase("bob", params));
+        DecryptionBatch batch = new DecryptionBatch();
+        RowMapper<Secret> deferredMapper = secretMapper.withDeferredDecryption(batch);
+
+        // When
+        Secret first = deferredMapper.mapRow(resultSet, 0);
+        Secret second = deferredMapper.mapRow(resultSet, 1);
+
+        // Then: nothing is decrypted before decryptAll, then the same values as inline mapping
+        assertThat(first.getName()).isNull();
+        assertThat(batch.size()).isEqualTo(2);
+        batch.decryptAll();
+        assertThat(first.getName()).isEqualTo("alice");
+        assertThat(second.getName()).isEqualTo("bob");
+        assertThat(batch.size()).isZero();
+    }
+}
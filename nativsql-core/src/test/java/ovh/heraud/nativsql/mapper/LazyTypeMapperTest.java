@@ -0,0 +1,164 @@
+package ovh.heraud.nativsql.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.annotation.Json;
+import ovh.heraud.nativsql.annotation.type.ParamKey;
+import ovh.heraud.nativsql.annotation.type.TypeParamKey;
+import ovh.heraud.nativsql.crypt.CryptAlgorithm;
+import ovh.heraud.nativsql.crypt.CryptKeyProvider;
+import ovh.heraud.nativsql.crypt.EncryptionUtils;
+import ovh.heraud.nativsql.db.generic.GenericDialect;
+import ovh.heraud.nativsql.db.generic.mapper.StringTypeMapper;
+import ovh.heraud.nativsql.domain.Lazy;
+import ovh.heraud.nativsql.util.FieldAccessor;
+
+/**
+ * Unit tests for {@link LazyTypeMapper} over encrypted and JSON columns.
+ */
+class LazyTypeMapperTest {
+
+    private static final String COLUMN = "email";
+    private static final CryptKeyProvider KEY_PROVIDER = () -> "0123456789abcdef"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final StringTypeMapper stringMapper = new StringTypeMapper();
+    private final LazyTypeMapper<String> lazyMapper = new LazyTypeMapper<>(stringMapper, String.class);
+
+    private static Map<ParamKey, Object> gcmParams() {
+        Map<ParamKey, Object> params = new HashMap<>();
+        params.put(TypeParamKey.ENCRYPTED, true);
+        params.put(TypeParamKey.ALGO, new CryptAlgorithm[] { CryptAlgorithm.GCM });
+        params.put(TypeParamKey.KEY_PROVIDER, KEY_PROVIDER);
+        params.put(TypeParamKey.PREFIX, "{ENC}");
+        return params;
+    }
+
+    private Lazy<String> read(Object stored, Map<ParamKey, Object> params) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.findColumn(COLUMN)).thenReturn(1);
+        when(rs.getObject(1)).thenReturn(stored);
+        return lazyMapper.map(rs, COLUMN, null, params);
+    }
+
+    @Test
+    void map_defers_decryption_until_get() throws Exception {
+        // Given
+        Map<ParamKey, Object> params = gcmParams();
+        Object stored = stringMapper.toDatabase("alice@example.com", params);
+
+        // When
+        Lazy<String> email = read(stored, params);
+
+        // Then
+        assertThat(email.isLoaded()).isFalse();
+        assertThat(email.get()).isEqualTo("alice@example.com");
+        assertThat(email.isLoaded()).isTrue();
+    }
+
+    @Test
+    void equals_and_hashCode_do_not_decrypt() throws Exception {
+        // Given
+        Map<ParamKey, Object> params = gcmParams();
+        Object stored = stringMapper.toDatabase("alice@example.com", params);
+        Lazy<String> email = read(stored, params);
+        Lazy<String> sameRow = read(stored, params);
+
+        // When
+        boolean equal = email.equals(sameRow);
+        email.hashCode();
+
+        // Then: identity semantics, nothing was decrypted
+        assertThat(equal).isFalse();
+        assertThat(email).isEqualTo(email);
+        assertThat(email.isLoaded()).isFalse();
+        assertThat(sameRow.isLoaded()).isFalse();
+    }
+
+    @Test
+    void map_of_a_null_column_is_null() throws Exception {
+        assertThat(read(null, gcmParams())).isNull();
+    }
+
+    @Test
+    void toDatabase_writes_an_unchanged_holder_back_without_re_encrypting() throws Exception {
+        // Given
+        Map<ParamKey, Object> params = gcmParams();
+        Object stored = stringMapper.toDatabase("alice@example.com", params);
+        Lazy<String> email = read(stored, params);
+
+        // When
+        Object written = lazyMapper.toDatabase(email, params);
+
+        // Then: the same ciphertext, and nothing was decrypted
+        assertThat(written).isSameAs(stored);
+        assertThat(email.isLoaded()).isFalse();
+    }
+
+    @Test
+    void toDatabase_encrypts_a_new_value() {
+        // Given
+        Map<ParamKey, Object> params = gcmParams();
+
+        // When
+        Object written = lazyMapper.toDatabase(Lazy.of("bob@example.com"), params);
+
+        // Then
+        assertThat(written).asString().startsWith("{ENC}");
+        assertThat(EncryptionUtils.decrypt(written, COLUMN, params)).isEqualTo("bob@example.com");
+    }
+
+    static class Document {
+        @Json
+        private Lazy<List<String>> tags;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ITypeMapper<Lazy<List<String>>> lazyJsonMapper() throws Exception {
+        FieldAccessor<Object> tags = new FieldAccessor<>(Document.class.getDeclaredField("tags"));
+        return (ITypeMapper<Lazy<List<String>>>) (ITypeMapper<?>) new GenericDialect().getMapper(tags,
+                new AnnotationManager());
+    }
+
+    @Test
+    void json_map_defers_parsing_and_writes_an_unread_holder_back_raw() throws Exception {
+        // Given
+        ITypeMapper<Lazy<List<String>>> mapper = lazyJsonMapper();
+        String stored = "[\"a\",\"b\"]";
+
+        // When
+        Lazy<List<String>> tags = mapper.map(COLUMN, null, Collections.emptyMap(), stored);
+        Object written = mapper.toDatabase(tags, Collections.emptyMap());
+
+        // Then
+        assertThat(written).isSameAs(stored);
+        assertThat(tags.isLoaded()).isFalse();
+        assertThat(tags.get()).containsExactly("a", "b");
+    }
+
+    @Test
+    void json_toDatabase_serializes_a_loaded_holder_again() throws Exception {
+        // Given: a value read, then modified in place
+        ITypeMapper<Lazy<List<String>>> mapper = lazyJsonMapper();
+        Lazy<List<String>> tags = mapper.map(COLUMN, null, Collections.emptyMap(), "[\"a\"]");
+        tags.get().add("b");
+
+        // When
+        Object written = mapper.toDatabase(tags, Collections.emptyMap());
+
+        // Then
+        assertThat(written).isEqualTo("[\"a\",\"b\"]");
+    }
+}
@@ -9,6 +9,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.stream.Stream;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
@@ -422,6 +423,53 @@ class DbOperationLoggerTest {
                 }
         }
 
+        @Nested
+        class StreamLoggingTests {
+                /**
+                 * Test that DB.END is only logged once the stream is closed, so the timing
+                 * covers the whole consumption.
+                 */
+                @Test
+                void testExecuteStreamLogsEndOnClose() {
+                        Stream<String> stream = dbOperationLogger.executeStream(DbOperationLoggerTest.class, "SELECT",
+                                        "users", "SELECT * FROM users", Map.of(),
+                                        () -> Stream.of("a", "b"));
+
+                        List<ILoggingEvent> logList = listAppender.list;
+                        assertThat(logList).hasSize(2); // BEGIN, SQL — no END before close
+
+                        List<String> rows;
+                        try (stream) {
+                                rows = stream.toList();
+                        }
+
+                        assertThat(rows).containsExactly("a", "b");
+                        assertThat(logList).hasSize(3);
+                        verifyLogEvent(logList, 0, Level.INFO,
+                                        "DB.BEGIN DbOperationLoggerTest.testExecuteStreamLogsEndOnClose - SELECT users [test-uuid-12345-1]");
+                        verifyLogEvent(logList, 2, Level.INFO,
+                                        "DB.END DbOperationLoggerTest.testExecuteStreamLogsEndOnClose - SELECT users [test-uuid-12345-1] - 42ms");
+                }
+
+                /**
+                 * Test that a failure while opening the stream is logged and wrapped.
+                 */
+                @Test
+                void testExecuteStreamWithGenericException() {
+                        assertThatThrownBy(() -> dbOperationLogger.executeStream(DbOperationLoggerTest.class,
+                                        "SELECT", "users", "SELECT * FROM users", Map.of(),
+                                        (SqlCallable<Stream<String>>) () -> {
+                                                throw new RuntimeException("Cursor error");
+                                        }))
+                                        .isInstanceOf(NativSQLException.class)
+                                        .hasMessageContaining("Error executing SELECT on users");
+
+                        List<ILoggingEvent> logList = listAppender.list;
+                        assertThat(logList).hasSize(3);
+                        assertThat(logList.get(2).getLevel()).isEqualTo(Level.ERROR);
+                }
+        }
+
         /**
          * Helper method to verify a log event level and exact message.
          */
@@ -0,0 +1,207 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.annotation.type.CryptAlgo;
+import ovh.heraud.nativsql.annotation.type.CryptCost;
+import ovh.heraud.nativsql.annotation.type.Encrypted;
+import ovh.heraud.nativsql.cache.CaffeineEntityCache;
+import ovh.heraud.nativsql.crypt.CryptAlgorithm;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.db.generic.GenericDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Unit tests for {@link GenericRepository#insertAll(List, String...)} and
+ * {@link GenericRepository#updateAll(List, String...)}.
+ *
+ * <p>
+ * Uses a real {@link AnnotationManager} and {@link GenericDialect} so that the
+ * {@code @Encrypted} values are really hashed, and stubs the low-level
+ * statement calls to capture their parameters.
+ */
+class GenericRepositoryBatchWriteTest {
+
+    // ==================== Test fixtures ====================
+
+    static class Account implements IEntity<Long> {
+        private Long id;
+        private String login;
+        @Encrypted
+        @CryptAlgo(CryptAlgorithm.BCRYPT)
+        @CryptCost(4)
+        private String password;
+
+        Account(String login, String password) {
+            this.login = login;
+            this.password = password;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getLogin() {
+            return login;
+        }
+
+        public void setLogin(String login) {
+            this.login = login;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+
+    static class AccountRepository extends GenericRepository<Account, Long> {
+
+        private final AtomicLong nextId = new AtomicLong(1L);
+        private final DatabaseDialect dialect;
+        final List<Map<String, Object>> executedParams = new ArrayList<>();
+        int rowsUpdated = 1;
+
+        AccountRepository(AnnotationManager annotationManager, DatabaseDialect dialect) {
+            super(Account.class, "account", null, annotationManager, new DbOperationLogger());
+            this.dialect = dialect;
+            initJdbcTemplate(); // no DataSource in unit tests, but this also sets databaseDialect
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            return null;
+        }
+
+        @Override
+        protected Class<Account> getEntityClass() {
+            return Account.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return dialect;
+        }
+
+        @Override
+        public DatabaseDialect getDatabaseDialect() {
+            return dialect;
+        }
+
+        @Override
+        protected Long insertWithGeneratedKey(String sql, Map<String, Object> params) {
+            executedParams.add(params);
+            return nextId.getAndIncrement();
+        }
+
+        @Override
+        protected int executeUpdate(String sql, Map<String, Object> params) {
+            executedParams.add(params);
+            return rowsUpdated;
+        }
+    }
+
+    private AnnotationManager annotationManager;
+    private AccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        annotationManager = new AnnotationManager();
+        repository = new AccountRepository(annotationManager, new GenericDialect());
+    }
+
+    @AfterEach
+    void tearDown() {
+        annotationManager.clearCache();
+    }
+
+    @Test
+    void insertAll_hashes_the_values_of_every_entity() {
+        // Given
+        List<Account> accounts = List.of(new Account("alice", "secret-a"), new Account("bob", "secret-b"),
+                new Account("carol", null));
+
+        // When
+        repository.insertAll(accounts, "login", "password");
+
+        // Then: one INSERT per entity, with its own hash and generated id
+        assertThat(repository.executedParams).hasSize(3);
+        assertThat(repository.executedParams.get(0)).containsEntry("login", "alice");
+        assertThat(BCrypt.checkpw("secret-a", (String) repository.executedParams.get(0).get("password"))).isTrue();
+        assertThat(repository.executedParams.get(1)).containsEntry("login", "bob");
+        assertThat(BCrypt.checkpw("secret-b", (String) repository.executedParams.get(1).get("password"))).isTrue();
+        assertThat(repository.executedParams.get(2)).containsEntry("password", null);
+        assertThat(accounts).extracting(Account::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void insertAll_invalidates_the_cached_entities_of_the_generated_ids() {
+        // Given: a stale entry for the id the insert generates
+        CaffeineEntityCache<Account> cache = new CaffeineEntityCache<>(Duration.ofMinutes(5), 100);
+        repository.setEntityCache(cache);
+        cache.put(1L, "id,login", new Account("stale", null));
+
+        // When
+        repository.insertAll(List.of(new Account("alice", "secret-a")), "login", "password");
+
+        // Then
+        assertThat(cache.get(1L, "id,login")).isNull();
+    }
+
+    @Test
+    void updateAll_hashes_the_values_of_every_entity() {
+        // Given
+        Account alice = new Account("alice", "new-a");
+        alice.setId(10L);
+        Account bob = new Account("bob", "new-b");
+        bob.setId(11L);
+
+        // When
+        repository.updateAll(List.of(alice, bob), "password");
+
+        // Then
+        assertThat(repository.executedParams).hasSize(2);
+        assertThat(repository.executedParams.get(0)).containsEntry("id", 10L);
+        assertThat(BCrypt.checkpw("new-a", (String) repository.executedParams.get(0).get("password"))).isTrue();
+        assertThat(repository.executedParams.get(1)).containsEntry("id", 11L);
+        assertThat(BCrypt.checkpw("new-b", (String) repository.executedParams.get(1).get("password"))).isTrue();
+    }
+
+    @Test
+    void updateAll_fails_when_a_row_is_missing() {
+        // Given
+        Account alice = new Account("alice", "new-a");
+        alice.setId(10L);
+        repository.rowsUpdated = 0;
+
+        // When / Then
+        assertThatThrownBy(() -> repository.updateAll(List.of(alice), "password"))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessageContaining("exactly 1 row");
+    }
+}
@@ -0,0 +1,167 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+import ovh.heraud.nativsql.util.FindQuery;
+import ovh.heraud.nativsql.util.TypeInfo;
+
+/**
+ * Unit tests for the coalescing of concurrent identical reads
+ * ({@link GenericRepository#setCoalesceReads(boolean)}).
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryCoalesceReadsTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+        private String name;
+    }
+
+    static class TestRepository extends GenericRepository<TestEntity, Long> {
+
+        TestRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(TestEntity.class, "test_entity", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+
+        List<TestEntity> findAllWith(FindQuery<TestEntity, Long> query) {
+            return findAll(query);
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    private TestRepository repository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final CountDownLatch queryStarted = new CountDownLatch(1);
+
+    private final CountDownLatch releaseQuery = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new TestRepository(rowMapperFactory, annotationManager));
+        lenient().doReturn(new TypeInfo()).when(annotationManager).getTypeInfo(any());
+        // A slow query, released by the test
+        lenient().doAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            TestEntity entity = new TestEntity();
+            entity.setId(1L);
+            entity.setName("name1");
+            return List.of(entity);
+        }).when(repository).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrent_identical_findById_share_one_query_when_coalescing() throws Exception {
+        // Given
+        repository.setCoalesceReads(true);
+        Future<TestEntity> first = executor.submit(() -> repository.findById(1L, "name"));
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: the same read is issued while the first one is running
+        Future<TestEntity> second = executor.submit(() -> repository.findById(1L, "name"));
+        Thread.sleep(50);
+        releaseQuery.countDown();
+
+        // Then: one query, and each caller gets its own copy of the entity
+        assertThat(first.get(5, TimeUnit.SECONDS).getName()).isEqualTo("name1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotSameAs(first.get());
+        assertThat(second.get().getName()).isEqualTo("name1");
+        verify(repository, times(1)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @Test
+    void coalesced_findAll_callers_do_not_see_each_other_changes() throws Exception {
+        // Given
+        repository.setCoalesceReads(true);
+        Future<List<TestEntity>> first = executor.submit(() -> repository.findAllWith(
+                repository.newFindQuery().select("id", "name")));
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<List<TestEntity>> second = executor.submit(() -> repository.findAllWith(
+                repository.newFindQuery().select("id", "name")));
+        Thread.sleep(50);
+        releaseQuery.countDown();
+
+        // When: the first caller modifies its entity
+        first.get(5, TimeUnit.SECONDS).get(0).setName("changed");
+
+        // Then
+        assertThat(second.get(5, TimeUnit.SECONDS)).extracting(TestEntity::getName).containsExactly("name1");
+        verify(repository, times(1)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @Test
+    void concurrent_identical_findById_each_query_without_coalescing() throws Exception {
+        // Given
+        Future<TestEntity> first = executor.submit(() -> repository.findById(1L, "name"));
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Future<TestEntity> second = executor.submit(() -> repository.findById(1L, "name"));
+        releaseQuery.countDown();
+
+        // Then
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotSameAs(first.get(5, TimeUnit.SECONDS));
+        verify(repository, times(2)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+}
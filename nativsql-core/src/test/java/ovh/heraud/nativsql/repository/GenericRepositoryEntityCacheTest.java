@@ -0,0 +1,276 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.cache.CaffeineEntityCache;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.domain.Lazy;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+import ovh.heraud.nativsql.util.TypeInfo;
+
+/**
+ * Unit tests for the second-level entity cache in front of
+ * {@link GenericRepository#findById(Object, String...)} and
+ * {@link GenericRepository#findAllByIds(List, String...)}.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryEntityCacheTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+        private String name;
+        private List<String> tags;
+        private Lazy<String> secret;
+    }
+
+    static class TestRepository extends GenericRepository<TestEntity, Long> {
+
+        TestRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(TestEntity.class, "test_entity", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    private TestRepository repository;
+
+    private CaffeineEntityCache<TestEntity> cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new TestRepository(rowMapperFactory, annotationManager));
+        cache = new CaffeineEntityCache<>(Duration.ofMinutes(5), 100);
+        repository.setEntityCache(cache);
+        lenient().doReturn(new TypeInfo()).when(annotationManager).getTypeInfo(any());
+        // One entity per bound id, whether bound alone or as an IN list
+        lenient().doAnswer(invocation -> {
+            Map<String, Object> params = invocation.getArgument(1);
+            Object ids = params.get("id");
+            return (ids instanceof List<?> list ? list : List.of(ids)).stream()
+                    .map(id -> entity(((Number) id).longValue()))
+                    .toList();
+        }).when(repository).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    /**
+     * Starts a transaction on the current thread, as a transaction manager
+     * would.
+     */
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    /**
+     * Rolls back the transaction started by {@link #beginTransaction(boolean)}.
+     */
+    private static void rollbackTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        synchronizations.forEach(synchronization -> synchronization
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    private static TestEntity entity(long id) {
+        TestEntity entity = new TestEntity();
+        entity.setId(id);
+        entity.setName("name" + id);
+        entity.setTags(new ArrayList<>(List.of("tag" + id)));
+        entity.setSecret(Lazy.deferred("cipher" + id, raw -> "plain-" + raw));
+        return entity;
+    }
+
+    @Test
+    void findById_reads_the_database_once_per_id_and_column_set() {
+        // When
+        TestEntity first = repository.findById(1L, "name");
+        TestEntity second = repository.findById(1L, "id", "name");
+        repository.findById(1L, "id");
+
+        // Then: the second read hits the cache (same column set), the third does not
+        verify(repository, times(2)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        assertThat(second.getName()).isEqualTo("name1");
+        assertThat(second).isNotSameAs(first);
+        assertThat(cache.getStats().hitCount()).isEqualTo(1);
+        assertThat(cache.getStats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findById_returns_copies_unaffected_by_caller_changes() {
+        // Given
+        repository.findById(1L, "name").setName("changed");
+
+        // When
+        TestEntity cached = repository.findById(1L, "name");
+
+        // Then
+        assertThat(cached.getName()).isEqualTo("name1");
+    }
+
+    @Test
+    void findById_copies_collections_and_lazy_holders() {
+        // Given
+        TestEntity first = repository.findById(1L, "name", "tags", "secret");
+        first.getTags().add("added");
+        first.getSecret().get();
+
+        // When
+        TestEntity cached = repository.findById(1L, "name", "tags", "secret");
+
+        // Then: the cached entity kept its own list and an unloaded holder
+        assertThat(cached.getTags()).containsExactly("tag1");
+        assertThat(cached.getSecret()).isNotSameAs(first.getSecret());
+        assertThat(cached.getSecret().isLoaded()).isFalse();
+        assertThat(cached.getSecret().get()).isEqualTo("plain-cipher1");
+    }
+
+    @Test
+    void findById_with_an_integer_id_hits_the_entry_cached_by_findAllByIds() {
+        // Given
+        repository.findAllByIds(List.of(1L), "name");
+
+        // When
+        TestEntity entity = repository.findById(1, "name");
+
+        // Then
+        verify(repository, times(1)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        assertThat(entity.getName()).isEqualTo("name1");
+        assertThat(cache.getStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findAllByIds_only_queries_the_ids_missing_from_the_cache() {
+        // Given
+        repository.findById(1L, "name");
+
+        // When
+        List<TestEntity> result = repository.findAllByIds(List.of(1L, 2L, 3L), "name");
+
+        // Then
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify(repository, times(2)).findAllExternal(anyString(), params.capture(), eq(TestEntity.class));
+        assertThat(params.getValue().get("id")).isEqualTo(List.of(2L, 3L));
+        assertThat(result).extracting(TestEntity::getId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(repository.findAllByIds(List.of(2L, 3L), "name")).hasSize(2);
+        verify(repository, times(2)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @Test
+    void deleteById_invalidates_the_cached_entity() {
+        // Given
+        doReturn(1).when(repository).executeUpdate(anyString(), anyMap());
+        repository.findById(1L, "name");
+
+        // When
+        repository.deleteById(1L);
+        repository.findById(1L, "name");
+
+        // Then
+        verify(repository, times(2)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @Test
+    void findById_in_a_read_write_transaction_does_not_cache_rolled_back_values() {
+        // Given: a read-write transaction reading its own uncommitted change
+        TestEntity uncommitted = entity(1L);
+        uncommitted.setName("uncommitted");
+        beginTransaction(false);
+        doReturn(List.of(uncommitted)).when(repository).findAllExternal(anyString(), anyMap(),
+                eq(TestEntity.class));
+        assertThat(repository.findById(1L, "name").getName()).isEqualTo("uncommitted");
+        assertThat(repository.findAllByIds(List.of(1L), "name")).extracting(TestEntity::getName)
+                .containsExactly("uncommitted");
+
+        // When: the transaction rolls back
+        rollbackTransaction();
+        doReturn(List.of(entity(1L))).when(repository).findAllExternal(anyString(), anyMap(),
+                eq(TestEntity.class));
+        TestEntity afterRollback = repository.findById(1L, "name");
+
+        // Then: the committed value is read from the database
+        assertThat(afterRollback.getName()).isEqualTo("name1");
+        assertThat(cache.getStats().hitCount()).isZero();
+        verify(repository, times(3)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @Test
+    void findById_in_a_read_only_transaction_uses_the_cache() {
+        // Given
+        repository.findById(1L, "name");
+        beginTransaction(true);
+
+        // When
+        TestEntity entity = repository.findById(1L, "name");
+
+        // Then
+        assertThat(entity.getName()).isEqualTo("name1");
+        assertThat(cache.getStats().hitCount()).isEqualTo(1);
+        verify(repository, times(1)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+}
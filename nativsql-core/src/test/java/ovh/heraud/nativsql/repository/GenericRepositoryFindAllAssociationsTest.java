@@ -0,0 +1,374 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.annotation.OneToMany;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+import ovh.heraud.nativsql.util.FieldAccessor;
+import ovh.heraud.nativsql.util.FindQuery;
+import ovh.heraud.nativsql.util.OneToManyAssociation;
+import ovh.heraud.nativsql.util.TypeInfo;
+
+/**
+ * Unit tests for association batch loading in
+ * {@link GenericRepository#findAll(FindQuery)}.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryFindAllAssociationsTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class Parent implements IEntity<Long> {
+        private Long id;
+        private String name;
+        @OneToMany(mappedBy = "parentId", repository = ChildRepository.class)
+        private List<Child> children;
+        @OneToMany(mappedBy = "parentId", repository = ChildRepository.class)
+        private List<Child> otherChildren;
+    }
+
+    @Getter
+    @Setter
+    static class Child implements IEntity<Long> {
+        private Long id;
+        private Long parentId;
+        @OneToMany(mappedBy = "childId", repository = GrandChildRepository.class)
+        private List<GrandChild> grandChildren;
+    }
+
+    @Getter
+    @Setter
+    static class GrandChild implements IEntity<Long> {
+        private Long id;
+        private Long childId;
+    }
+
+    static class ParentRepository extends GenericRepository<Parent, Long> {
+
+        ParentRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(Parent.class, "parent", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<Parent> getEntityClass() {
+            return Parent.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+
+        List<Parent> findAllWithChildren() {
+            return findAll(newFindQuery().select("id", "name").associate("children", "id"));
+        }
+
+        List<Parent> findAllWithBothChildren() {
+            return findAll(newFindQuery().select("id", "name")
+                    .associate("children", "id")
+                    .associate("otherChildren", "id"));
+        }
+
+        List<Parent> findAllWithBothChildrenAndGrandChildren() {
+            return findAll(newFindQuery().select("id", "name")
+                    .associate("children", "parentId")
+                    .then("grandChildren", "id")
+                    .associate("otherChildren", "parentId")
+                    .then("grandChildren", "id"));
+        }
+
+        List<Parent> findAllWithGrandChildren() {
+            return findAll(newFindQuery().select("id", "name")
+                    .associate("children", "parentId")
+                    .then("grandChildren", "id"));
+        }
+    }
+
+    static class ChildRepository extends GenericRepository<Child, Long> {
+
+        ChildRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(Child.class, "child", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<Child> getEntityClass() {
+            return Child.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+    }
+
+    static class GrandChildRepository extends GenericRepository<GrandChild, Long> {
+
+        GrandChildRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(GrandChild.class, "grand_child", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<GrandChild> getEntityClass() {
+            return GrandChild.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private ParentRepository parentRepository;
+
+    private ChildRepository childRepository;
+
+    private GrandChildRepository grandChildRepository;
+
+    @BeforeEach
+    void setUp() {
+        parentRepository = spy(new ParentRepository(rowMapperFactory, annotationManager));
+        childRepository = spy(new ChildRepository(rowMapperFactory, annotationManager));
+        grandChildRepository = spy(new GrandChildRepository(rowMapperFactory, annotationManager));
+        parentRepository.applicationContext = applicationContext;
+        childRepository.applicationContext = applicationContext;
+        lenient().doReturn(new TypeInfo()).when(annotationManager).getTypeInfo(any());
+        lenient().doAnswer(invocation -> {
+            FieldAccessor<?> field = invocation.getArgument(0);
+            return field.getName().equals("grandChildren")
+                    ? new OneToManyAssociation("childId", GrandChildRepository.class)
+                    : new OneToManyAssociation("parentId", ChildRepository.class);
+        }).when(annotationManager).getOneToManyInfo(any());
+        lenient().doReturn(childRepository).when(applicationContext).getBean(ChildRepository.class);
+        lenient().doReturn(grandChildRepository).when(applicationContext).getBean(GrandChildRepository.class);
+
+        // Two children per parent id bound in the IN list, with ids parentId * 10 + 1 and + 2
+        lenient().doAnswer(invocation -> {
+            Map<String, Object> params = invocation.getArgument(1);
+            return ((List<?>) params.get("parentId")).stream()
+                    .flatMap(parentId -> List.of(child((Long) parentId, 1), child((Long) parentId, 2)).stream())
+                    .toList();
+        }).when(childRepository).findAllExternal(anyString(), anyMap(), eq(Child.class));
+
+        // One grandchild per child id bound in the IN list
+        lenient().doAnswer(invocation -> {
+            Map<String, Object> params = invocation.getArgument(1);
+            return ((List<?>) params.get("childId")).stream()
+                    .map(childId -> grandChild((Long) childId))
+                    .toList();
+        }).when(grandChildRepository).findAllExternal(anyString(), anyMap(), eq(GrandChild.class));
+    }
+
+    private static Parent parent(long id) {
+        Parent parent = new Parent();
+        parent.setId(id);
+        return parent;
+    }
+
+    private static Child child(long parentId, int rank) {
+        Child child = new Child();
+        child.setId(parentId * 10 + rank);
+        child.setParentId(parentId);
+        return child;
+    }
+
+    private static GrandChild grandChild(long childId) {
+        GrandChild grandChild = new GrandChild();
+        grandChild.setChildId(childId);
+        return grandChild;
+    }
+
+    @Test
+    void findAll_loads_children_of_all_parents_with_one_batched_query() {
+        // Given
+        doReturn(List.of(parent(1L), parent(2L), parent(3L))).when(parentRepository)
+                .findAllExternal(anyString(), anyMap(), eq(Parent.class));
+
+        // When
+        List<Parent> parents = parentRepository.findAllWithChildren();
+
+        // Then: a single child query for the three parents
+        verify(childRepository, times(1)).findAllExternal(anyString(), anyMap(), eq(Child.class));
+        assertThat(parents).allSatisfy(parent -> assertThat(parent.getChildren())
+                .hasSize(2)
+                .allSatisfy(child -> assertThat(child.getParentId()).isEqualTo(parent.getId())));
+    }
+
+    @Test
+    void findAll_with_10k_parents_issues_one_query_per_chunk_not_per_parent() {
+        // Given: 10k parents, chunks of 1000 foreign keys
+        List<Parent> tenThousandParents = LongStream.rangeClosed(1, 10_000).mapToObj(
+                GenericRepositoryFindAllAssociationsTest::parent).toList();
+        doReturn(tenThousandParents).when(parentRepository)
+                .findAllExternal(anyString(), anyMap(), eq(Parent.class));
+
+        // When
+        List<Parent> parents = parentRepository.findAllWithChildren();
+
+        // Then: 1 parent query + 10 child queries instead of 10k
+        verify(parentRepository, times(1)).findAllExternal(anyString(), anyMap(), eq(Parent.class));
+        verify(childRepository, times(10)).findAllExternal(anyString(), anyMap(), eq(Child.class));
+        assertThat(parents).hasSize(10_000)
+                .allSatisfy(parent -> assertThat(parent.getChildren()).hasSize(2));
+    }
+
+    @Test
+    void findAll_loads_nested_associations_with_one_query_per_level() {
+        // Given
+        doReturn(List.of(parent(1L), parent(2L), parent(3L))).when(parentRepository)
+                .findAllExternal(anyString(), anyMap(), eq(Parent.class));
+
+        // When
+        List<Parent> parents = parentRepository.findAllWithGrandChildren();
+
+        // Then: one query for the children of all parents, one for the grandchildren of all children
+        verify(childRepository, times(1)).findAllExternal(anyString(), anyMap(), eq(Child.class));
+        verify(grandChildRepository, times(1)).findAllExternal(anyString(), anyMap(), eq(GrandChild.class));
+        assertThat(parents).flatExtracting(Parent::getChildren)
+                .hasSize(6)
+                .allSatisfy(child -> assertThat(child.getGrandChildren())
+                        .singleElement()
+                        .satisfies(grandChild -> assertThat(grandChild.getChildId()).isEqualTo(child.getId())));
+    }
+
+    @Test
+    void then_without_associate_throws_nativsql_exception() {
+        assertThatThrownBy(() -> FindQuery.of(parentRepository).then("grandChildren", "id"))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("then() must follow associate()");
+    }
+
+    @Test
+    void findAll_loads_sibling_associations_on_the_parallel_executor_when_enabled() {
+        // Given
+        doReturn(List.of(parent(1L), parent(2L))).when(parentRepository)
+                .findAllExternal(anyString(), anyMap(), eq(Parent.class));
+        AtomicInteger submittedTasks = new AtomicInteger();
+        parentRepository.setParallelAssociations(true);
+        parentRepository.setParallelExecutor(task -> {
+            submittedTasks.incrementAndGet();
+            task.run();
+        });
+
+        // When
+        List<Parent> parents = parentRepository.findAllWithBothChildren();
+
+        // Then: one task and one batched query per association
+        assertThat(submittedTasks).hasValue(2);
+        verify(childRepository, times(2)).findAllExternal(anyString(), anyMap(), eq(Child.class));
+        assertThat(parents).allSatisfy(parent -> {
+            assertThat(parent.getChildren()).hasSize(2);
+            assertThat(parent.getOtherChildren()).hasSize(2);
+        });
+    }
+
+    @Test
+    @Timeout(10)
+    void findAll_does_not_deadlock_nested_parallel_loads_on_a_single_thread_executor() {
+        // Given: parallel associations and IN list chunks of one id, all on one thread
+        doReturn(List.of(parent(1L), parent(2L))).when(parentRepository)
+                .findAllExternal(anyString(), anyMap(), eq(Parent.class));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            parentRepository.setParallelAssociations(true);
+            for (GenericRepository<?, ?> repository : List.of(parentRepository, childRepository, grandChildRepository)) {
+                repository.setParallelExecutor(executor);
+                repository.setParallelInListChunks(true);
+                repository.setInListChunkSize(1);
+            }
+
+            // When
+            List<Parent> parents = parentRepository.findAllWithBothChildrenAndGrandChildren();
+
+            // Then: nested levels and chunks ran inline on the pool thread
+            verify(childRepository, times(4)).findAllExternal(anyString(), anyMap(), eq(Child.class));
+            verify(grandChildRepository, times(8)).findAllExternal(anyString(), anyMap(), eq(GrandChild.class));
+            assertThat(parents).allSatisfy(parent -> {
+                assertThat(parent.getChildren()).hasSize(2)
+                        .allSatisfy(child -> assertThat(child.getGrandChildren()).hasSize(1));
+                assertThat(parent.getOtherChildren()).hasSize(2)
+                        .allSatisfy(child -> assertThat(child.getGrandChildren()).hasSize(1));
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findAll_submits_parallel_tasks_again_after_a_parallel_load() {
+        // Given
+        doReturn(List.of(parent(1L), parent(2L))).when(parentRepository)
+                .findAllExternal(anyString(), anyMap(), eq(Parent.class));
+        AtomicInteger submittedTasks = new AtomicInteger();
+        parentRepository.setParallelAssociations(true);
+        parentRepository.setParallelExecutor(task -> {
+            submittedTasks.incrementAndGet();
+            task.run();
+        });
+
+        // When: two loads from the same thread, the tasks of the first one run by that thread
+        parentRepository.findAllWithBothChildren();
+        parentRepository.findAllWithBothChildren();
+
+        // Then: the inline marker of the first load's tasks did not stay on the thread
+        assertThat(submittedTasks).hasValue(4);
+    }
+}
@@ -168,7 +168,7 @@ class GenericRepositoryFindAsSubtypeTest {
     }
 
     @Test
-    void findAll_query_resultClass_does_not_load_associations() {
+    void findAll_query_resultClass_loads_associations_when_present() {
         // Given: a query with an association configured
         FindQuery<TestEntity, Long> query = repository.newQuery()
                 .select("id")
@@ -179,10 +179,11 @@ class GenericRepositoryFindAsSubtypeTest {
         doReturn(List.of(report)).when(repository)
                 .findAllExternal(anyString(), anyMap(), eq(TestEntityReport.class));
 
-        // When: findAll(query, resultClass) — the list variant never loads associations
+        // When: findAll(query, resultClass) — batch-loads associations like find(query, resultClass);
+        // without an ApplicationContext loadAssociationsInBatch is a no-op guard clause
         List<TestEntityReport> results = repository.exposedFindAll(query, TestEntityReport.class);
 
-        // Then: same N+1-avoidance behavior as findAll(query); no exception, no batch loading
+        // Then
         assertThat(results).hasSize(1);
     }
 
@@ -0,0 +1,191 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.domain.Page;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+import ovh.heraud.nativsql.util.FindQuery;
+import ovh.heraud.nativsql.util.TypeInfo;
+
+/**
+ * Unit tests for keyset pagination via {@link GenericRepository#findPage}.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryFindPageTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+        private String name;
+    }
+
+    static class TestRepository extends GenericRepository<TestEntity, Long> {
+
+        TestRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(TestEntity.class, "test_entity", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+
+        Page<TestEntity> findNamesPage(int pageSize, String token) {
+            return findPage(newFindQuery().select("id", "name").orderByAsc("name").orderByAsc("id"),
+                    pageSize, token);
+        }
+
+        Page<TestEntity> findPageWith(FindQuery<TestEntity, Long> query, int pageSize, String token) {
+            return findPage(query, pageSize, token);
+        }
+
+        Page<TestEntity> findUnorderedPage(int pageSize) {
+            return findPage(newFindQuery().select("id", "name"), pageSize);
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    private TestRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new TestRepository(rowMapperFactory, annotationManager));
+        lenient().doReturn(new TypeInfo()).when(annotationManager).getTypeInfo(any());
+    }
+
+    private static TestEntity entity(long id, String name) {
+        TestEntity entity = new TestEntity();
+        entity.setId(id);
+        entity.setName(name);
+        return entity;
+    }
+
+    @Test
+    void findPage_returns_token_when_more_rows_exist() {
+        // Given: one row more than the page size
+        doReturn(List.of(entity(1L, "Alice"), entity(2L, "Bob"), entity(3L, "Carol"))).when(repository)
+                .findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+
+        // When: the first page is read
+        Page<TestEntity> page = repository.findNamesPage(2, null);
+
+        // Then: the extra row is dropped and a token is returned
+        assertThat(page.content()).extracting(TestEntity::getName).containsExactly("Alice", "Bob");
+        assertThat(page.hasNext()).isTrue();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(repository).findAllExternal(sql.capture(), anyMap(), eq(TestEntity.class));
+        assertThat(sql.getValue()).contains("FETCH FIRST 3 ROWS ONLY");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPage_with_token_seeks_after_last_row_of_previous_page() {
+        // Given: the token of a page ending with (Bob, 2)
+        doReturn(List.of(entity(1L, "Alice"), entity(2L, "Bob"), entity(3L, "Carol"))).when(repository)
+                .findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        String token = repository.findNamesPage(2, null).continuationToken();
+
+        // When: the next page is read
+        doReturn(List.of(entity(3L, "Carol"))).when(repository)
+                .findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        Page<TestEntity> next = repository.findNamesPage(2, token);
+
+        // Then: the key values are bound with the entity field types and it is the last page
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify(repository, times(2))
+                .findAllExternal(anyString(), params.capture(), eq(TestEntity.class));
+        assertThat(params.getValue())
+                .containsEntry("afterName", "Bob")
+                .containsEntry("afterId", 2L);
+        assertThat(next.content()).extracting(TestEntity::getName).containsExactly("Carol");
+        assertThat(next.hasNext()).isFalse();
+        assertThat(next.continuationToken()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPage_leaves_the_query_unchanged_so_it_can_be_reused_for_the_next_page() {
+        // Given: one query for every page
+        FindQuery<TestEntity, Long> query = repository.newFindQuery().select("id", "name").orderByAsc("name")
+                .orderByAsc("id");
+        doReturn(List.of(entity(1L, "Alice"), entity(2L, "Bob"), entity(3L, "Carol"))).when(repository)
+                .findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        String token = repository.findPageWith(query, 2, null).continuationToken();
+
+        // When: the same query reads the next page
+        doReturn(List.of(entity(3L, "Carol"))).when(repository)
+                .findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        Page<TestEntity> next = repository.findPageWith(query, 2, token);
+
+        // Then: the query has neither the limit nor the key of the pages
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify(repository, times(2)).findAllExternal(sql.capture(), params.capture(), eq(TestEntity.class));
+        assertThat(sql.getAllValues().get(0)).doesNotContain("afterName");
+        assertThat(params.getAllValues().get(1)).containsEntry("afterName", "Bob");
+        assertThat(next.content()).extracting(TestEntity::getName).containsExactly("Carol");
+        assertThat(query.getLimit()).isNull();
+        assertThat(query.hasAfterKey()).isFalse();
+        assertThat(query.getParameters()).doesNotContainKey("afterName");
+    }
+
+    @Test
+    void findPage_without_order_by_throws_nativsql_exception() {
+        assertThatThrownBy(() -> repository.findUnorderedPage(10))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("Keyset pagination requires an ORDER BY");
+    }
+
+    @Test
+    void findPage_with_invalid_token_throws_nativsql_exception() {
+        assertThatThrownBy(() -> repository.findNamesPage(10, "not a token!"))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("Invalid continuation token");
+    }
+}
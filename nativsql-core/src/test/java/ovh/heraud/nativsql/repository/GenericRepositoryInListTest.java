@@ -0,0 +1,203 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+import ovh.heraud.nativsql.util.TypeInfo;
+
+/**
+ * Unit tests for the chunking of large IN lists in
+ * {@link GenericRepository#findAllByIds(List, String...)}.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryInListTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+        private String name;
+    }
+
+    static class TestRepository extends GenericRepository<TestEntity, Long> {
+
+        TestRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(TestEntity.class, "test_entity", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    private TestRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new TestRepository(rowMapperFactory, annotationManager));
+        lenient().doReturn(new TypeInfo()).when(annotationManager).getTypeInfo(any());
+        // Each query returns one entity per bound id
+        lenient().doAnswer(invocation -> {
+            Map<String, Object> params = invocation.getArgument(1);
+            return ((List<?>) params.get("id")).stream()
+                    .map(id -> entity((Long) id))
+                    .toList();
+        }).when(repository).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    private static TestEntity entity(long id) {
+        TestEntity entity = new TestEntity();
+        entity.setId(id);
+        return entity;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findAllByIds_splits_large_lists_into_chunks() {
+        // Given
+        repository.setInListChunkSize(2);
+
+        // When
+        List<TestEntity> result = repository.findAllByIds(List.of(1L, 2L, 3L, 4L, 5L), "name");
+
+        // Then: three queries of at most two ids each
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify(repository, times(3)).findAllExternal(anyString(), params.capture(), eq(TestEntity.class));
+        assertThat(params.getAllValues()).extracting(p -> p.get("id"))
+                .containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        assertThat(result).extracting(TestEntity::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void findAllByIds_drops_duplicates_before_chunking() {
+        // Given
+        repository.setInListChunkSize(2);
+
+        // When
+        List<TestEntity> result = repository.findAllByIds(List.of(1L, 2L, 1L, 3L, 2L), "name");
+
+        // Then
+        verify(repository, times(2)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        assertThat(result).extracting(TestEntity::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void findAllByIds_queries_chunks_in_parallel_when_enabled() {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        repository.setInListChunkSize(2);
+        repository.setParallelInListChunks(true);
+        repository.setParallelExecutor(executor);
+
+        try {
+            // When
+            List<TestEntity> result = repository.findAllByIds(List.of(1L, 2L, 3L, 4L, 5L), "name");
+
+            // Then: results keep the chunk order
+            verify(repository, times(3)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+            assertThat(result).extracting(TestEntity::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findAllByIds_queries_chunks_on_the_calling_thread_without_a_parallel_executor() {
+        // Given
+        Set<Thread> queryThreads = ConcurrentHashMap.newKeySet();
+        repository.setInListChunkSize(2);
+        repository.setParallelInListChunks(true);
+        doAnswer(invocation -> {
+            queryThreads.add(Thread.currentThread());
+            return List.of();
+        }).when(repository).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+
+        // When
+        repository.findAllByIds(List.of(1L, 2L, 3L, 4L, 5L), "name");
+
+        // Then: no pool is created, the chunks run one after the other
+        verify(repository, times(3)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        assertThat(queryThreads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void findAllByIds_rethrows_chunk_failure_from_parallel_execution() {
+        // Given
+        repository.setInListChunkSize(2);
+        repository.setParallelInListChunks(true);
+        repository.setParallelExecutor(Runnable::run);
+        doAnswer(invocation -> {
+            throw new NativSQLException("chunk failed");
+        }).when(repository).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+
+        // When / Then
+        assertThatThrownBy(() -> repository.findAllByIds(List.of(1L, 2L, 3L), "name"))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("chunk failed");
+    }
+
+    @Test
+    void setMaxParallelism_rejects_non_positive_values() {
+        assertThatThrownBy(() -> repository.setMaxParallelism(0))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("Max parallelism must be > 0, got 0");
+    }
+
+    @Test
+    void setInListChunkSize_rejects_non_positive_values() {
+        assertThatThrownBy(() -> repository.setInListChunkSize(0))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("IN list chunk size must be > 0, got 0");
+    }
+}
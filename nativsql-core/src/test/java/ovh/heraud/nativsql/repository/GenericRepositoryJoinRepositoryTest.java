@@ -0,0 +1,143 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+
+/**
+ * Unit tests for {@link GenericRepository#getJoinRepository(Class)}.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryJoinRepositoryTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+    }
+
+    static class TestRepository extends GenericRepository<TestEntity, Long> {
+
+        TestRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(TestEntity.class, "test_entity", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+    }
+
+    public static class JoinedRepository extends GenericRepository<TestEntity, Long> {
+
+        public JoinedRepository() {
+            super();
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+
+        @Override
+        public String getTableName() {
+            return "joined_entity";
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private ObjectProvider<Object> beanProvider;
+
+    private TestRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TestRepository(rowMapperFactory, annotationManager);
+    }
+
+    @Test
+    void getJoinRepository_without_context_instantiates_once() {
+        // When
+        GenericRepository<?, ?> first = repository.getJoinRepository(JoinedRepository.class);
+        GenericRepository<?, ?> second = repository.getJoinRepository(JoinedRepository.class);
+
+        // Then
+        assertThat(first).isInstanceOf(JoinedRepository.class).isSameAs(second);
+        assertThat(first.getTableName()).isEqualTo("joined_entity");
+    }
+
+    @Test
+    void getJoinRepository_resolves_spring_bean_once() {
+        // Given
+        JoinedRepository bean = new JoinedRepository();
+        repository.applicationContext = applicationContext;
+        doReturn(beanProvider).when(applicationContext).getBeanProvider(JoinedRepository.class);
+        doReturn(bean).when(beanProvider).getIfUnique();
+
+        // When
+        GenericRepository<?, ?> first = repository.getJoinRepository(JoinedRepository.class);
+        GenericRepository<?, ?> second = repository.getJoinRepository(JoinedRepository.class);
+
+        // Then
+        assertThat(first).isSameAs(bean).isSameAs(second);
+        verify(applicationContext, times(1)).getBeanProvider(JoinedRepository.class);
+    }
+
+    @Test
+    void getJoinRepository_rejects_non_repository_class() {
+        assertThatThrownBy(() -> repository.getJoinRepository(String.class))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("Not a GenericRepository: java.lang.String");
+    }
+}
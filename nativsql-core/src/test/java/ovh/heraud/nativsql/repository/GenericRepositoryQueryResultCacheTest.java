@@ -0,0 +1,261 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.annotation.OneToMany;
+import ovh.heraud.nativsql.annotation.type.TypeParamKey;
+import ovh.heraud.nativsql.cache.QueryResultCache;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+import ovh.heraud.nativsql.util.FieldAccessor;
+import ovh.heraud.nativsql.util.TypeInfo;
+
+/**
+ * Unit tests for the results of queries marked with {@code cacheFor(Duration)}
+ * in {@link GenericRepository#findAll(ovh.heraud.nativsql.util.FindQuery)}.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryQueryResultCacheTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class Settings {
+        private String theme;
+    }
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+        private String name;
+        private List<String> tags;
+        private Settings settings;
+        @OneToMany(mappedBy = "parentId", repository = TestRepository.class)
+        private List<TestEntity> children;
+    }
+
+    static class TestRepository extends GenericRepository<TestEntity, Long> {
+
+        TestRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager) {
+            super(TestEntity.class, "test_entity", rowMapperFactory, annotationManager, new DbOperationLogger());
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("No DataSource in unit tests");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+
+        List<TestEntity> findAllCached() {
+            return findAll(newFindQuery().select("id", "name", "tags", "settings")
+                    .cacheFor(Duration.ofMinutes(1)));
+        }
+
+        List<TestEntity> findAllWithChildrenCached() {
+            return findAll(newFindQuery().select("id", "name")
+                    .associate("children", "id")
+                    .cacheFor(Duration.ofMinutes(1)));
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private TestRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new TestRepository(rowMapperFactory, annotationManager));
+        lenient().doAnswer(invocation -> {
+            FieldAccessor<?> field = invocation.getArgument(0);
+            return field.getName().equals("settings")
+                    ? new TypeInfo(Map.of(TypeParamKey.JSON, Boolean.TRUE))
+                    : new TypeInfo();
+        }).when(annotationManager).getTypeInfo(any());
+        lenient().doAnswer(invocation -> {
+            TestEntity entity = new TestEntity();
+            entity.setId(1L);
+            entity.setName("name1");
+            entity.setTags(new ArrayList<>(List.of("tag1")));
+            Settings settings = new Settings();
+            settings.setTheme("dark");
+            entity.setSettings(settings);
+            return List.of(entity);
+        }).when(repository).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+    }
+
+    /**
+     * Completes the transaction synchronized on the current thread, as a
+     * transaction manager would after a commit.
+     */
+    private static void commitTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization
+                .afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    /**
+     * Lets {@code executeUpdate} run on a mocked DataSource.
+     */
+    private void mockWrites() throws Exception {
+        lenient().doReturn(connection).when(dataSource).getConnection();
+        lenient().doReturn(statement).when(connection).prepareStatement(anyString());
+        repository.setDataSource(dataSource);
+        repository.reinitializeJdbcTemplate();
+    }
+
+    @Test
+    void findAll_hands_each_caller_its_own_copy_of_the_cached_entities() {
+        // Given: the first caller modifies its entity, in place and through its values
+        TestEntity first = repository.findAllCached().get(0);
+        first.setName("changed");
+        first.getTags().add("added");
+        first.getSettings().setTheme("light");
+
+        // When
+        TestEntity second = repository.findAllCached().get(0);
+
+        // Then
+        verify(repository, times(1)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("name1");
+        assertThat(second.getTags()).containsExactly("tag1");
+        assertThat(second.getSettings().getTheme()).isEqualTo("dark");
+    }
+
+    @Test
+    void findAll_rejects_caching_a_query_with_associations() {
+        assertThatThrownBy(() -> repository.findAllWithChildrenCached())
+                .isInstanceOf(NativSQLException.class)
+                .hasMessageContaining("cacheFor() cannot be used on a query with joins or associations");
+        verify(repository, never()).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @Test
+    void write_invalidates_the_cached_results_again_after_the_transaction() throws Exception {
+        // Given
+        mockWrites();
+        QueryResultCache cache = spy(new QueryResultCache());
+        repository.setQueryResultCache(cache);
+        repository.findAllCached();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        repository.executeUpdate("UPDATE test_entity SET name = 'changed'", Map.of());
+
+        // Then: invalidated at once, and again once the transaction completes
+        assertThat(cache.size()).isZero();
+        verify(cache, times(1)).invalidateTable("test_entity");
+        commitTransaction();
+        verify(cache, times(2)).invalidateTable("test_entity");
+        repository.findAllCached();
+        verify(repository, times(2)).findAllExternal(anyString(), anyMap(), eq(TestEntity.class));
+    }
+
+    @Test
+    void write_without_cached_queries_of_the_table_does_not_invalidate() throws Exception {
+        // Given: a cache only used by the queries of another table
+        mockWrites();
+        QueryResultCache cache = spy(new QueryResultCache());
+        cache.get("other_table", "q1", Duration.ofMinutes(1), () -> "other");
+        repository.setQueryResultCache(cache);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        repository.executeUpdate("UPDATE test_entity SET name = 'changed'", Map.of());
+        commitTransaction();
+
+        // Then: nothing to invalidate, before or after the transaction
+        verify(cache, never()).invalidateTable(anyString());
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void getQueryResultCache_creates_a_single_cache_for_concurrent_callers() throws Exception {
+        // Given
+        TestRepository fresh = new TestRepository(rowMapperFactory, annotationManager);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // When
+            List<Future<QueryResultCache>> caches = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                caches.add(executor.submit(fresh::getQueryResultCache));
+            }
+
+            // Then
+            for (Future<QueryResultCache> cache : caches) {
+                assertThat(cache.get()).isSameAs(fresh.getQueryResultCache());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.mapper.ITypeMapper;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+import ovh.heraud.nativsql.util.FindQuery;
+import ovh.heraud.nativsql.util.TypeInfo;
+
+/**
+ * Unit tests for the JDBC statement settings (fetch size, max rows, timeout)
+ * applied to the queries of {@link GenericRepository}, on a mocked DataSource.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryStatementSettingsTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+        private String name;
+    }
+
+    static class TestRepository extends GenericRepository<TestEntity, Long> {
+
+        private final DatabaseDialect dialect;
+
+        TestRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager,
+                DatabaseDialect dialect) {
+            super(TestEntity.class, "test_entity", rowMapperFactory, annotationManager, new DbOperationLogger());
+            this.dialect = dialect;
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("DataSource is set by the test");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return dialect;
+        }
+
+        List<TestEntity> findAllWith(FindQuery<TestEntity, Long> query) {
+            return findAll(query);
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    @Mock
+    private DatabaseDialect dialect;
+
+    @Mock
+    private ITypeMapper<Object> typeMapper;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private TestRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().doReturn(new TypeInfo()).when(annotationManager).getTypeInfo(any());
+        lenient().doReturn(typeMapper).when(dialect).getMapper(any(), any());
+        lenient().doAnswer(invocation -> invocation.getArgument(0)).when(typeMapper).toDatabase(any(), any());
+        RowMapper<TestEntity> rowMapper = (rs, rowNum) -> new TestEntity();
+        lenient().doReturn(rowMapper).when(rowMapperFactory).getRowMapper(eq(TestEntity.class), any(), any());
+        lenient().doReturn(connection).when(dataSource).getConnection();
+        lenient().doReturn(statement).when(connection).prepareStatement(anyString());
+        lenient().doReturn(resultSet).when(statement).executeQuery();
+
+        repository = new TestRepository(rowMapperFactory, annotationManager, dialect);
+        repository.setDataSource(dataSource);
+        repository.reinitializeJdbcTemplate();
+        repository.setDefaultFetchSize(50);
+        repository.setDefaultMaxRows(100);
+    }
+
+    @Test
+    void findAll_applies_the_repository_defaults() throws Exception {
+        // When
+        repository.findAllWith(repository.newFindQuery().select("id", "name"));
+
+        // Then
+        verify(statement).setFetchSize(50);
+        verify(statement).setMaxRows(100);
+    }
+
+    @Test
+    void findAll_applies_the_query_settings_to_its_own_statement() throws Exception {
+        // When: two queries with distinct settings
+        repository.findAllWith(repository.newFindQuery().select("id", "name").fetchSize(500));
+        repository.findAllWith(repository.newFindQuery().select("id", "name").maxRows(10)
+                .timeout(Duration.ofMillis(1500)));
+
+        // Then: each statement gets its settings, completed by the defaults
+        verify(statement).setFetchSize(500);
+        verify(statement).setMaxRows(10);
+        verify(statement).setQueryTimeout(2);
+        verify(statement).setFetchSize(50);
+        verify(statement).setMaxRows(100);
+    }
+
+    @Test
+    void findAllByIds_is_not_limited_by_the_default_max_rows() throws Exception {
+        // Given
+        repository.setInListChunkSize(2);
+
+        // When: three IN list chunks
+        repository.findAllByIds(List.of(1L, 2L, 3L, 4L, 5L), "name");
+
+        // Then: no chunk is capped, the default fetch size still applies
+        verify(statement, times(3)).setMaxRows(0);
+        verify(statement, never()).setMaxRows(100);
+        verify(statement, times(3)).setFetchSize(50);
+    }
+}
@@ -0,0 +1,179 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.mapper.RowMapperFactory;
+
+/**
+ * Unit tests for the connection handling of
+ * {@link GenericRepository#streamExternal(String, Map, Class)}, on a mocked
+ * DataSource.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenericRepositoryStreamTest {
+
+    // ==================== Test fixtures ====================
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+    }
+
+    static class TestRepository extends GenericRepository<TestEntity, Long> {
+
+        private final DatabaseDialect dialect;
+
+        TestRepository(RowMapperFactory rowMapperFactory, AnnotationManager annotationManager,
+                DatabaseDialect dialect) {
+            super(TestEntity.class, "test_entity", rowMapperFactory, annotationManager, new DbOperationLogger());
+            this.dialect = dialect;
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            throw new UnsupportedOperationException("DataSource is set by the test");
+        }
+
+        @Override
+        protected Class<TestEntity> getEntityClass() {
+            return TestEntity.class;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return dialect;
+        }
+
+        Stream<TestEntity> streamAll() {
+            return streamExternal("SELECT id FROM test_entity", Map.of(), TestEntity.class);
+        }
+    }
+
+    @Mock
+    private RowMapperFactory rowMapperFactory;
+
+    @Mock
+    private AnnotationManager annotationManager;
+
+    @Mock
+    private DatabaseDialect dialect;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private TestRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RowMapper<TestEntity> rowMapper = (rs, rowNum) -> new TestEntity();
+        lenient().doReturn(rowMapper).when(rowMapperFactory).getRowMapper(eq(TestEntity.class), any(), any());
+        lenient().doReturn(true).when(dialect).requiresTransactionForStreaming();
+        lenient().doAnswer(invocation -> invocation.getArgument(0)).when(dialect).getStreamingFetchSize(anyInt());
+        lenient().doReturn(connection).when(dataSource).getConnection();
+        lenient().doReturn(true).when(connection).getAutoCommit();
+        lenient().doReturn(statement).when(connection).prepareStatement(anyString());
+        lenient().doReturn(resultSet).when(statement).executeQuery();
+
+        repository = new TestRepository(rowMapperFactory, annotationManager, dialect);
+        repository.setDataSource(dataSource);
+        repository.reinitializeJdbcTemplate();
+    }
+
+    @Test
+    void streamExternal_releases_the_connection_when_the_stream_is_closed() throws Exception {
+        // Given: more rows than are read
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        // When: a single row is read before closing
+        try (Stream<TestEntity> stream = repository.streamAll()) {
+            Iterator<TestEntity> rows = stream.iterator();
+            assertThat(rows.next()).isNotNull();
+            verify(connection, never()).close();
+        }
+
+        // Then: the cursor transaction is ended and the connection handed back once
+        verify(statement).setFetchSize(1000);
+        verify(connection).setAutoCommit(false);
+        verify(connection).rollback();
+        verify(connection).setAutoCommit(true);
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void streamExternal_releases_the_connection_as_soon_as_iterating_fails() throws Exception {
+        // Given: the second row fails
+        when(resultSet.next()).thenReturn(true).thenThrow(new SQLException("Connection reset"));
+        Stream<TestEntity> stream = repository.streamAll();
+
+        // When
+        assertThatThrownBy(() -> stream.forEach(entity -> {
+        })).isInstanceOf(DataAccessException.class);
+
+        // Then: released before the caller closes the stream, and only once
+        verify(connection).rollback();
+        verify(connection).setAutoCommit(true);
+        verify(connection, times(1)).close();
+        stream.close();
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void streamExternal_uses_the_fetch_size_of_the_dialect() throws Exception {
+        // Given: a dialect streaming with a special fetch size (MySQL)
+        doReturn(Integer.MIN_VALUE).when(dialect).getStreamingFetchSize(1000);
+        when(resultSet.next()).thenReturn(false);
+
+        // When
+        try (Stream<TestEntity> stream = repository.streamAll()) {
+            assertThat(stream).isEmpty();
+        }
+
+        // Then
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,85 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LongObjectMap} and {@link AssociationIndex}.
+ */
+class LongObjectMapTest {
+
+    @Test
+    void putIfAbsent_and_get_survive_resizing() {
+        // Given: far more keys than the initial capacity, including 0 and negatives
+        LongObjectMap<String> map = new LongObjectMap<>(1);
+        for (long key = -5_000; key <= 5_000; key++) {
+            assertThat(map.putIfAbsent(key, "v" + key)).isNull();
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(10_001);
+        assertThat(map.get(0)).isEqualTo("v0");
+        assertThat(map.get(-5_000)).isEqualTo("v-5000");
+        assertThat(map.get(5_000)).isEqualTo("v5000");
+        assertThat(map.get(5_001)).isNull();
+    }
+
+    @Test
+    void putIfAbsent_keeps_existing_value() {
+        // Given
+        LongObjectMap<String> map = new LongObjectMap<>(4);
+        map.putIfAbsent(42L, "first");
+
+        // When
+        String existing = map.putIfAbsent(42L, "second");
+
+        // Then
+        assertThat(existing).isEqualTo("first");
+        assertThat(map.get(42L)).isEqualTo("first");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void associationIndex_groups_children_by_parent_id() {
+        // Given: two parents with Long ids, children keyed by Long foreign keys
+        AssociationIndex<String, String> index = new AssociationIndex<>(2, true);
+        index.addParent(1L, "parent1");
+        index.addParent(2L, "parent2");
+        List<Object> foreignKeys = List.of(1L, 2L, 1L, 3L);
+        foreignKeys.forEach(index::count);
+
+        // When
+        List<String> children1 = index.allocate(1L, "parent1");
+        List<String> children2 = index.allocate(2L, "parent2");
+        for (int i = 0; i < foreignKeys.size(); i++) {
+            index.add(foreignKeys.get(i), "child" + i);
+        }
+
+        // Then: unknown parent id 3 is ignored
+        assertThat(index.getIds()).containsExactly(1L, 2L);
+        assertThat(children1).containsExactly("child0", "child2");
+        assertThat(children2).containsExactly("child1");
+    }
+
+    @Test
+    void associationIndex_gives_duplicate_parents_an_empty_list() {
+        // Given
+        AssociationIndex<String, String> index = new AssociationIndex<>(2, false);
+        assertThat(index.addParent("a", "first")).isTrue();
+        assertThat(index.addParent("a", "duplicate")).isFalse();
+        index.count("a");
+
+        // When
+        List<String> firstChildren = index.allocate("a", "first");
+        List<String> duplicateChildren = index.allocate("a", "duplicate");
+        index.add("a", "child");
+
+        // Then
+        assertThat(index.getIds()).containsExactly("a");
+        assertThat(firstChildren).containsExactly("child");
+        assertThat(duplicateChildren).isEmpty();
+    }
+}
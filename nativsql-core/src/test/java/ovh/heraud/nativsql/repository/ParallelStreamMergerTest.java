@@ -0,0 +1,141 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Unit tests for {@link ParallelStreamMerger} and the id range split used by
+ * {@link GenericRepository#parallelStream}.
+ */
+class ParallelStreamMergerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void mergesAllPartitions() {
+        // Given
+        ParallelStreamMerger<Integer> merger = new ParallelStreamMerger<>(3, 4);
+        for (int p = 0; p < 3; p++) {
+            int start = p * 100;
+            executor.execute(() -> merger.produce(() -> IntStream.range(start, start + 100).boxed()));
+        }
+
+        // When
+        List<Integer> result;
+        try (Stream<Integer> stream = merger.stream()) {
+            result = stream.sorted().collect(Collectors.toList());
+        }
+
+        // Then
+        assertThat(result).containsExactlyElementsOf(IntStream.range(0, 300).boxed().toList());
+    }
+
+    @Test
+    void rethrowsProducerFailure() {
+        // Given
+        ParallelStreamMerger<Integer> merger = new ParallelStreamMerger<>(2, 4);
+        executor.execute(() -> merger.produce(() -> IntStream.range(0, 10).boxed()));
+        executor.execute(() -> merger.produce(() -> {
+            throw new NativSQLException("partition failed");
+        }));
+
+        // When / Then
+        try (Stream<Integer> stream = merger.stream()) {
+            assertThatThrownBy(stream::count)
+                    .isInstanceOf(NativSQLException.class)
+                    .hasMessage("partition failed");
+        }
+    }
+
+    @Test
+    void closingStopsProducersAndClosesPartitions() throws InterruptedException {
+        // Given
+        ParallelStreamMerger<Integer> merger = new ParallelStreamMerger<>(1, 2);
+        AtomicInteger closedPartitions = new AtomicInteger();
+        executor.execute(() -> merger.produce(
+                () -> IntStream.iterate(0, i -> i + 1).boxed().onClose(closedPartitions::incrementAndGet)));
+
+        // When
+        try (Stream<Integer> stream = merger.stream()) {
+            assertThat(stream.limit(5).count()).isEqualTo(5);
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(closedPartitions).hasValue(1);
+    }
+
+    @Test
+    void mergesMorePartitionsThanThreads() {
+        // Given: six partitions on three threads, a queue smaller than a partition
+        ParallelStreamMerger<Integer> merger = new ParallelStreamMerger<>(6, 4);
+        for (int p = 0; p < 6; p++) {
+            int start = p * 100;
+            executor.execute(() -> merger.produce(() -> IntStream.range(start, start + 100).boxed()));
+        }
+
+        // When
+        long count;
+        try (Stream<Integer> stream = merger.stream()) {
+            count = stream.count();
+        }
+
+        // Then
+        assertThat(count).isEqualTo(600);
+    }
+
+    @Test
+    void producerStartingAfterCloseDoesNotOpenItsPartition() {
+        // Given
+        ParallelStreamMerger<Integer> merger = new ParallelStreamMerger<>(1, 2);
+        AtomicInteger openedPartitions = new AtomicInteger();
+        merger.close();
+
+        // When
+        merger.produce(() -> {
+            openedPartitions.incrementAndGet();
+            return Stream.of(1);
+        });
+
+        // Then
+        assertThat(openedPartitions).hasValue(0);
+    }
+
+    @Test
+    void splitIdRangeCoversBoundsWithoutOverlap() {
+        // When
+        List<long[]> ranges = GenericRepository.splitIdRange(1, 10, 3);
+
+        // Then
+        assertThat(ranges).extracting(r -> r[0] + "-" + r[1]).containsExactly("1-4", "5-8", "9-10");
+    }
+
+    @Test
+    void splitIdRangeNeverReturnsEmptyRanges() {
+        // When
+        List<long[]> ranges = GenericRepository.splitIdRange(5, 6, 4);
+
+        // Then
+        assertThat(ranges).extracting(r -> r[0] + "-" + r[1]).containsExactly("5-5", "6-6");
+    }
+}
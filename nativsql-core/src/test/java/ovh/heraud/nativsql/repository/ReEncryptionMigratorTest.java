@@ -0,0 +1,182 @@
+package ovh.heraud.nativsql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ovh.heraud.nativsql.crypt.ReEncryption;
+import ovh.heraud.nativsql.crypt.ReEncryptionProgress;
+import ovh.heraud.nativsql.exception.NativSQLException;
+
+/**
+ * Unit tests for {@link ReEncryptionMigrator}, over an in-memory table whose
+ * "conversion" upper-cases the values.
+ */
+class ReEncryptionMigratorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    /** The table: id to email, in id order. */
+    private final Map<Long, String> table = Collections.synchronizedMap(new TreeMap<>());
+
+    private final List<ReEncryptionProgress> reported = new ArrayList<>();
+
+    /** Simulates writes of the application between the read and the update. */
+    private Runnable beforeWrite = () -> {
+    };
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private List<Map<String, Object>> read(Object afterId, int batchSize) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        synchronized (table) {
+            for (Map.Entry<Long, String> entry : table.entrySet()) {
+                if ((afterId == null || entry.getKey() > (Long) afterId) && rows.size() < batchSize) {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("id", entry.getKey());
+                    row.put("email", entry.getValue());
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private List<Map<String, Object>> readRows(List<Object> ids) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object id : ids) {
+            if (table.containsKey(id)) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("id", id);
+                row.put("email", table.get(id));
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /** Compare-and-set writes, like the repository's UPDATE ... AND email = :old_email. */
+    private List<Object> write(List<ReEncryptionMigrator.RowUpdate> rows) {
+        beforeWrite.run();
+        List<Object> conflicts = new ArrayList<>();
+        for (ReEncryptionMigrator.RowUpdate row : rows) {
+            Long id = (Long) row.id();
+            if (!table.replace(id, (String) row.oldValues().get("email"), (String) row.newValues().get("email"))) {
+                conflicts.add(id);
+            }
+        }
+        return conflicts;
+    }
+
+    private ReEncryptionProgress migrate(ReEncryption settings) {
+        List<ReEncryptionMigrator.Column> columns = List.of(new ReEncryptionMigrator.Column("email", "email",
+                raw -> raw.toString().toUpperCase()));
+        return new ReEncryptionMigrator(settings.onProgress(reported::add), "id", columns, this::read,
+                this::readRows, this::write, executor).run();
+    }
+
+    @Test
+    void run_converts_every_row_by_batches_and_reports_checkpoints_in_order() {
+        // Given: 10 rows, one of them null
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, id == 5 ? null : "user" + id);
+        }
+
+        // When
+        ReEncryptionProgress progress = migrate(ReEncryption.of("email").batchSize(3).parallelism(3));
+
+        // Then
+        assertThat(table.values()).containsExactly("USER1", "USER2", "USER3", "USER4", null, "USER6", "USER7",
+                "USER8", "USER9", "USER10");
+        assertThat(progress.rowsRead()).isEqualTo(10);
+        assertThat(progress.rowsUpdated()).isEqualTo(9);
+        assertThat(progress.checkpoint()).isEqualTo(10L);
+        assertThat(reported).extracting(ReEncryptionProgress::checkpoint).containsExactly(3L, 6L, 9L, 10L);
+    }
+
+    @Test
+    void run_resumes_after_the_checkpoint_and_skips_unchanged_rows() {
+        // Given: the first rows already converted by an interrupted run
+        table.put(1L, "USER1");
+        table.put(2L, "USER2");
+        table.put(3L, "user3");
+        table.put(4L, "USER4");
+
+        // When
+        ReEncryptionProgress progress = migrate(ReEncryption.of("email").batchSize(2).startAfter(2L));
+
+        // Then: only row 3 needed a write
+        assertThat(table.values()).containsExactly("USER1", "USER2", "USER3", "USER4");
+        assertThat(progress.rowsRead()).isEqualTo(2);
+        assertThat(progress.rowsUpdated()).isEqualTo(1);
+        assertThat(progress.checkpoint()).isEqualTo(4L);
+    }
+
+    @Test
+    void run_on_an_empty_table_reports_nothing() {
+        // When
+        ReEncryptionProgress progress = migrate(ReEncryption.of("email"));
+
+        // Then
+        assertThat(progress.rowsRead()).isZero();
+        assertThat(progress.checkpoint()).isNull();
+        assertThat(reported).isEmpty();
+    }
+
+    @Test
+    void run_does_not_overwrite_rows_written_between_the_read_and_the_update() {
+        // Given: row 2 rewritten by the application (already in the new format) and
+        // row 3 updated to a new value (old format) after the batch was read
+        for (long id = 1; id <= 4; id++) {
+            table.put(id, "user" + id);
+        }
+        AtomicBoolean written = new AtomicBoolean();
+        beforeWrite = () -> {
+            if (written.compareAndSet(false, true)) {
+                table.put(2L, "APP2");
+                table.put(3L, "app3");
+                table.remove(4L);
+            }
+        };
+
+        // When
+        ReEncryptionProgress progress = migrate(ReEncryption.of("email").batchSize(10));
+
+        // Then: the application's values are kept (converted if needed), the deleted row is not recreated
+        assertThat(table).containsExactly(Map.entry(1L, "USER1"), Map.entry(2L, "APP2"), Map.entry(3L, "APP3"));
+        assertThat(progress.rowsRead()).isEqualTo(4);
+        assertThat(progress.rowsUpdated()).isEqualTo(2);
+        assertThat(progress.checkpoint()).isEqualTo(4L);
+    }
+
+    @Test
+    void run_fails_without_moving_the_checkpoint_when_rows_keep_changing() {
+        // Given: row 2 rewritten in the old format before every update
+        table.put(1L, "user1");
+        table.put(2L, "user2");
+        AtomicInteger version = new AtomicInteger();
+        beforeWrite = () -> table.put(2L, "user2-v" + version.incrementAndGet());
+
+        // When / Then
+        assertThatThrownBy(() -> migrate(ReEncryption.of("email").batchSize(10)))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessageContaining("modified concurrently");
+        assertThat(reported).isEmpty();
+    }
+}
@@ -29,6 +29,7 @@ import ovh.heraud.nativsql.repository.GenericRepository;
  * GCM is non-deterministic, so {@code whereAndEquals} and {@code whereAndIn}
  * must reject GCM-encrypted columns.
  * BCRYPT is one-way, so they must also be rejected.
+ * GCM_DETERMINISTIC supports equality checks only.
  */
 class FindQueryCryptTest {
 
@@ -54,6 +55,12 @@ class FindQueryCryptTest {
         @CryptCost(4)
         private String encryptedBcrypt;
 
+        @Encrypted
+        @CryptAlgo(CryptAlgorithm.GCM_DETERMINISTIC)
+        @ovh.heraud.nativsql.annotation.type.CryptKeyProvider(TestKeyProvider.class)
+        @CryptPrefix("{DET}")
+        private String encryptedDeterministic;
+
         private String plainField;
 
         @Override
@@ -155,6 +162,31 @@ class FindQueryCryptTest {
         assertThat(params).containsEntry("plainField", values);
     }
 
+    @Test
+    void deterministicField_whereAndEquals_allowed() {
+        findQuery.select("id").whereAndEquals("encryptedDeterministic", "a@example.com");
+
+        Map<String, Object> params = findQuery.getParameters();
+        assertThat(params).containsEntry("encryptedDeterministic", "a@example.com");
+    }
+
+    @Test
+    void deterministicField_whereAndIn_allowed() {
+        List<String> values = List.of("a@example.com", "b@example.com");
+        findQuery.select("id").whereAndIn("encryptedDeterministic", values);
+
+        Map<String, Object> params = findQuery.getParameters();
+        assertThat(params).containsEntry("encryptedDeterministic", values);
+    }
+
+    @Test
+    void deterministicField_whereAndOperator_like_throwsNativSQLException() {
+        findQuery.select("id");
+        assertThatThrownBy(() -> findQuery.whereAndOperator("encryptedDeterministic", Operator.LIKE, "a%"))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessageContaining("only supports WHERE equality");
+    }
+
     @Test
     void unknownColumn_whereAndIn_throwsNativSQLException() {
         findQuery.select("id");
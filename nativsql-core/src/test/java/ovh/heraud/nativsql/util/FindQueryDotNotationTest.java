@@ -19,6 +19,7 @@ import ovh.heraud.nativsql.repository.GenericRepository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -153,6 +154,7 @@ class FindQueryDotNotationTest {
         when(mockFields.get("group")).thenReturn(groupField);
         when(mockAnnotationManager.getMappedByInfo(groupField))
                 .thenReturn(new MappedByInfo("groupId", GroupRepositoryStub.class));
+        doReturn(new GroupRepositoryStub()).when(mockRepository).getJoinRepository(GroupRepositoryStub.class);
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -161,6 +163,7 @@ class FindQueryDotNotationTest {
         when(mockFields.get("profile")).thenReturn(profileField);
         when(mockAnnotationManager.getMappedByInfo(profileField))
                 .thenReturn(new MappedByInfo("profileId", ProfileRepositoryStub.class));
+        doReturn(new ProfileRepositoryStub()).when(mockRepository).getJoinRepository(ProfileRepositoryStub.class);
     }
 
     @Test
@@ -19,6 +19,7 @@ import ovh.heraud.nativsql.repository.GenericRepository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -157,6 +158,7 @@ class FindQueryJoinedOrderByTest {
         when(mockFields.get("group")).thenReturn(groupField);
         when(mockAnnotationManager.getMappedByInfo(groupField))
                 .thenReturn(new MappedByInfo("groupId", GroupRepositoryStub.class));
+        doReturn(new GroupRepositoryStub()).when(mockRepository).getJoinRepository(GroupRepositoryStub.class);
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -165,6 +167,7 @@ class FindQueryJoinedOrderByTest {
         when(mockFields.get("secondaryGroup")).thenReturn(secondaryGroupField);
         when(mockAnnotationManager.getMappedByInfo(secondaryGroupField))
                 .thenReturn(new MappedByInfo("secondaryGroupId", SecondaryGroupRepositoryStub.class));
+        doReturn(new SecondaryGroupRepositoryStub()).when(mockRepository).getJoinRepository(SecondaryGroupRepositoryStub.class);
     }
 
     @Test
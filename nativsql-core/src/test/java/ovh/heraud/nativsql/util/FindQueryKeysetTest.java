@@ -0,0 +1,154 @@
+package ovh.heraud.nativsql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.db.SnakeCaseIdentifierConverter;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.repository.GenericRepository;
+
+class FindQueryKeysetTest {
+
+    @Mock
+    private GenericRepository<TestEntity, Long> mockRepository;
+
+    @Mock
+    private AnnotationManager mockAnnotationManager;
+
+    @Mock
+    private DatabaseDialect mockDialect;
+
+    private FindQuery<TestEntity, Long> findQuery;
+    private SnakeCaseIdentifierConverter identifierConverter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockRepository.getAnnotationManager()).thenReturn(mockAnnotationManager);
+        when(mockRepository.getTableName()).thenReturn("test_entity");
+
+        findQuery = FindQuery.of(mockRepository);
+        identifierConverter = new SnakeCaseIdentifierConverter();
+    }
+
+    private static Map<String, Object> key(String column1, Object value1, String column2, Object value2) {
+        Map<String, Object> key = new LinkedHashMap<>();
+        key.put(column1, value1);
+        key.put(column2, value2);
+        return key;
+    }
+
+    @Test
+    void after_generates_expanded_form_without_row_value_support() {
+        // Given: no row-value support and a two-column ORDER BY
+        findQuery.select("id", "lastName")
+                .orderByAsc("lastName")
+                .orderByAsc("id")
+                .after(key("lastName", "Smith", "id", 42L));
+
+        // When: building the SQL
+        String sql = findQuery.buildString(identifierConverter);
+
+        // Then: the expanded OR form is used
+        assertThat(sql).isEqualTo("""
+                SELECT
+                    test_entity.id AS "id",
+                    test_entity.last_name AS "lastName"
+                FROM test_entity
+                WHERE
+                        (last_name > :afterLastName OR (last_name = :afterLastName AND id > :afterId))
+                ORDER BY
+                    last_name ASC,
+                    id ASC
+                """);
+        assertThat(findQuery.getParameters())
+                .containsEntry("afterLastName", "Smith")
+                .containsEntry("afterId", 42L);
+    }
+
+    @Test
+    void after_generates_row_value_comparison_when_supported() {
+        // Given: a dialect supporting row-value comparison and a uniform DESC ordering
+        when(mockRepository.getDatabaseDialect()).thenReturn(mockDialect);
+        when(mockDialect.supportsRowValueComparison()).thenReturn(true);
+        findQuery.select("id")
+                .whereAndEquals("status", "ACTIVE")
+                .orderByDesc("lastName")
+                .orderByDesc("id")
+                .after(key("lastName", "Smith", "id", 42L));
+
+        // When: building the SQL
+        String sql = findQuery.buildString(identifierConverter);
+
+        // Then: the keyset condition is ANDed with the other conditions as a row-value comparison
+        assertThat(sql).contains("""
+                WHERE
+                        status = :status
+                    AND
+                        (last_name, id) < (:afterLastName, :afterId)
+                ORDER BY""");
+    }
+
+    @Test
+    void after_with_mixed_directions_uses_expanded_form() {
+        // Given: row-value support but mixed ASC/DESC directions
+        when(mockRepository.getDatabaseDialect()).thenReturn(mockDialect);
+        when(mockDialect.supportsRowValueComparison()).thenReturn(true);
+        findQuery.select("id")
+                .orderByDesc("lastName")
+                .orderByAsc("id")
+                .after(key("lastName", "Smith", "id", 42L));
+
+        // When: building the SQL
+        String sql = findQuery.buildString(identifierConverter);
+
+        // Then: each column is compared in its own direction
+        assertThat(sql).contains(
+                "(last_name < :afterLastName OR (last_name = :afterLastName AND id > :afterId))");
+    }
+
+    @Test
+    void after_key_not_matching_order_by_throws_nativsql_exception() {
+        // Given: a key on a column that is not part of the ORDER BY
+        findQuery.select("id")
+                .orderByAsc("id")
+                .after(Map.of("lastName", "Smith"));
+
+        // When / Then: building the SQL fails
+        assertThatThrownBy(() -> findQuery.buildString(identifierConverter))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessageContaining("must match the ORDER BY columns");
+    }
+
+    @Test
+    void after_with_null_value_throws_nativsql_exception() {
+        Map<String, Object> key = new LinkedHashMap<>();
+        key.put("id", null);
+
+        assertThatThrownBy(() -> findQuery.after(key))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("after() key value cannot be null for column 'id'");
+    }
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+        private String lastName;
+        private String status;
+    }
+}
@@ -0,0 +1,223 @@
+package ovh.heraud.nativsql.util;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.DatabaseDialect;
+import ovh.heraud.nativsql.db.SnakeCaseIdentifierConverter;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.repository.GenericRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for nested joins (join of a join) in FindQuery.
+ * Verifies SQL generation and parameter extraction without a real database.
+ */
+class FindQueryNestedJoinTest {
+
+    /**
+     * Join repository of the first level, whose entity has a @MappedBy
+     * association to the country.
+     */
+    public static class CustomerRepositoryStub extends GenericRepository<CustomerEntity, Long> {
+        @Override
+        public String getTableName() {
+            return "customer";
+        }
+
+        @Override
+        protected Class<CustomerEntity> getEntityClass() {
+            return CustomerEntity.class;
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            return null;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+    }
+
+    /**
+     * Join repository of the second level.
+     */
+    public static class CountryRepositoryStub extends GenericRepository<CountryEntity, Long> {
+        @Override
+        public String getTableName() {
+            return "country";
+        }
+
+        @Override
+        protected Class<CountryEntity> getEntityClass() {
+            return CountryEntity.class;
+        }
+
+        @Override
+        protected DataSource getDataSource() {
+            return null;
+        }
+
+        @Override
+        protected DatabaseDialect getDatabaseDialectInstance() {
+            return null;
+        }
+    }
+
+    static class CountryEntity implements IEntity<Long> {
+        private Long id;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    static class CustomerEntity implements IEntity<Long> {
+        private Long id;
+        private CountryEntity country;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    static class OrderEntity implements IEntity<Long> {
+        private Long id;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    @Mock
+    private GenericRepository<OrderEntity, Long> mockRepository;
+
+    @Mock
+    private AnnotationManager mockAnnotationManager;
+
+    @Mock
+    private Fields mockFields;
+
+    private SnakeCaseIdentifierConverter identifierConverter;
+
+    @BeforeEach
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockRepository.getAnnotationManager()).thenReturn(mockAnnotationManager);
+        when(mockRepository.getTableName()).thenReturn("orders");
+        when(mockRepository.getEntityFields()).thenReturn(mockFields);
+        when(mockAnnotationManager.getTypeInfo(any())).thenReturn(new TypeInfo());
+
+        FieldAccessor customerField = mock(FieldAccessor.class);
+        when(mockFields.get("customer")).thenReturn(customerField);
+        when(mockAnnotationManager.getMappedByInfo(customerField))
+                .thenReturn(new MappedByInfo("customerId", CustomerRepositoryStub.class));
+        doReturn(new CustomerRepositoryStub()).when(mockRepository).getJoinRepository(CustomerRepositoryStub.class);
+        when(mockAnnotationManager.getMappedByInfo(argThat(field -> field != null && "country".equals(field.getName()))))
+                .thenReturn(new MappedByInfo("countryId", CountryRepositoryStub.class));
+        identifierConverter = new SnakeCaseIdentifierConverter();
+    }
+
+    @Test
+    void nested_leftJoin_joins_the_second_level_under_a_generated_alias() {
+        // Given: order -> customer -> country
+        FindQuery<OrderEntity, Long> query = FindQuery.of(mockRepository)
+                .select("id")
+                .innerJoin("customer", "name")
+                .leftJoin("customer.country", "isoCode");
+
+        // When: building the SQL
+        String sql = query.buildString(identifierConverter);
+
+        // Then: one statement, the nested join is aliased and keyed on the first join
+        assertThat(sql).contains("customer.name AS \"customer.name\"");
+        assertThat(sql).contains("customer__country.iso_code AS \"customer.country.isoCode\"");
+        assertThat(sql).contains("INNER JOIN customer ON orders.customer_id = customer.id");
+        assertThat(sql).contains(
+                "LEFT JOIN country customer__country ON customer.country_id = customer__country.id");
+    }
+
+    @Test
+    void where_and_order_by_on_nested_path_resolve_to_the_nested_alias() {
+        // Given: a condition and an ordering on the second join level
+        FindQuery<OrderEntity, Long> query = FindQuery.of(mockRepository)
+                .select("id")
+                .leftJoin("customer", "name")
+                .leftJoin("customer.country", "name")
+                .whereAndEquals("customer.country.isoCode", "FR")
+                .orderByAsc("customer.country.name");
+
+        // When: building the SQL
+        String sql = query.buildString(identifierConverter);
+
+        // Then
+        assertThat(sql).contains("customer__country.iso_code = :customerCountryIsoCode");
+        assertThat(sql).contains("customer__country.name ASC");
+        Map<String, Object> params = query.getParameters();
+        assertThat(params).containsEntry("customerCountryIsoCode", "FR");
+    }
+
+    @Test
+    void copy_keeps_nested_joins_and_is_independent_of_the_original() {
+        // Given: order -> customer -> country
+        FindQuery<OrderEntity, Long> query = FindQuery.of(mockRepository)
+                .select("id")
+                .innerJoin("customer", "name")
+                .leftJoin("customer.country", "isoCode");
+        String originalSql = query.buildString(identifierConverter);
+
+        // When: the copy goes on with a condition on the nested join
+        FindQuery<OrderEntity, Long> copy = query.copy().whereAndEquals("customer.country.isoCode", "FR");
+
+        // Then: the copy resolves the nested alias, the original is unchanged
+        assertThat(copy.buildString(identifierConverter))
+                .contains("LEFT JOIN country customer__country ON customer.country_id = customer__country.id")
+                .contains("customer__country.iso_code = :customerCountryIsoCode");
+        assertThat(query.buildString(identifierConverter)).isEqualTo(originalSql);
+    }
+
+    @Test
+    void nested_join_without_parent_join_throws_NativSQLException() {
+        // Given / When / Then: "customer" is not joined yet
+        assertThatThrownBy(() -> FindQuery.of(mockRepository)
+                .select("id")
+                .leftJoin("customer.country", "name"))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessageContaining("No join found for association 'customer'");
+    }
+}
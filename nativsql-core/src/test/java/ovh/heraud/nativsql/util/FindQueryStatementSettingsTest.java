@@ -0,0 +1,113 @@
+package ovh.heraud.nativsql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import lombok.Getter;
+import lombok.Setter;
+import ovh.heraud.nativsql.annotation.AnnotationManager;
+import ovh.heraud.nativsql.db.SnakeCaseIdentifierConverter;
+import ovh.heraud.nativsql.domain.IEntity;
+import ovh.heraud.nativsql.exception.NativSQLException;
+import ovh.heraud.nativsql.repository.GenericRepository;
+
+class FindQueryStatementSettingsTest {
+
+    @Mock
+    private GenericRepository<TestEntity, Long> mockRepository;
+
+    @Mock
+    private AnnotationManager mockAnnotationManager;
+
+    private FindQuery<TestEntity, Long> findQuery;
+    private SnakeCaseIdentifierConverter identifierConverter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockRepository.getAnnotationManager()).thenReturn(mockAnnotationManager);
+        when(mockRepository.getTableName()).thenReturn("test_entity");
+
+        findQuery = FindQuery.of(mockRepository);
+        identifierConverter = new SnakeCaseIdentifierConverter();
+    }
+
+    @Test
+    void no_statement_settings_by_default() {
+        // Given / When: a plain FindQuery
+        // Then: no statement setting is set
+        assertThat(findQuery.hasStatementSettings()).isFalse();
+        assertThat(findQuery.getFetchSize()).isNull();
+        assertThat(findQuery.getMaxRows()).isNull();
+        assertThat(findQuery.getTimeout()).isNull();
+    }
+
+    @Test
+    void statement_settings_are_exposed_and_do_not_change_sql() {
+        // Given: a FindQuery with fetchSize, maxRows and timeout
+        findQuery.select("id").fetchSize(500).maxRows(10_000).timeout(Duration.ofSeconds(30));
+
+        // When: building the SQL
+        String sql = findQuery.buildString(identifierConverter);
+
+        // Then: settings are exposed, SQL is unchanged
+        assertThat(findQuery.hasStatementSettings()).isTrue();
+        assertThat(findQuery.getFetchSize()).isEqualTo(500);
+        assertThat(findQuery.getMaxRows()).isEqualTo(10_000);
+        assertThat(findQuery.getTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(sql).isEqualTo("""
+                SELECT
+                    test_entity.id AS "id"
+                FROM test_entity
+                """);
+    }
+
+    @Test
+    void no_max_rows_is_exposed_as_zero() {
+        // Given / When: a FindQuery lifting the default max rows
+        findQuery.select("id").noMaxRows();
+
+        // Then: 0 is the JDBC "no limit"
+        assertThat(findQuery.hasStatementSettings()).isTrue();
+        assertThat(findQuery.getMaxRows()).isZero();
+    }
+
+    @Test
+    void fetch_size_zero_throws_nativsql_exception() {
+        assertThatThrownBy(() -> findQuery.fetchSize(0))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("fetchSize must be greater than 0");
+    }
+
+    @Test
+    void max_rows_negative_throws_nativsql_exception() {
+        assertThatThrownBy(() -> findQuery.maxRows(-1))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("maxRows must be greater than 0");
+    }
+
+    @Test
+    void non_positive_timeout_throws_nativsql_exception() {
+        assertThatThrownBy(() -> findQuery.timeout(Duration.ZERO))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("timeout must be a positive duration");
+        assertThatThrownBy(() -> findQuery.timeout(null))
+                .isInstanceOf(NativSQLException.class)
+                .hasMessage("timeout must be a positive duration");
+    }
+
+    @Getter
+    @Setter
+    static class TestEntity implements IEntity<Long> {
+        private Long id;
+        private String name;
+    }
+}
@@ -537,6 +537,37 @@ class FindQueryTest {
         assertThat(query.getAssociations()).hasSize(1);
     }
 
+    @Test
+    void copy_continues_the_last_association_with_then() {
+        // Given
+        findQuery.select("id").associate("orders", "id");
+
+        // When
+        FindQuery<TestEntity, Long> copy = findQuery.copy().then("lines", "id");
+
+        // Then: the nested association is added to the copy only
+        assertThat(copy.getAssociations()).hasSize(1);
+        assertThat(copy.getAssociations().get(0).getChildren()).extracting(Association::getName)
+                .containsExactly("lines");
+        assertThat(findQuery.getAssociations().get(0).hasChildren()).isFalse();
+    }
+
+    @Test
+    void copy_association_tree_is_independent_of_the_original() {
+        // Given
+        findQuery.select("id").associate("orders", "id").then("lines", "id");
+        FindQuery<TestEntity, Long> copy = findQuery.copy();
+
+        // When: the original goes on with its last association
+        findQuery.then("allocations", "id");
+
+        // Then
+        Association copiedLines = copy.getAssociations().get(0).getChildren().get(0);
+        assertThat(copiedLines.getName()).isEqualTo("lines");
+        assertThat(copiedLines.hasChildren()).isFalse();
+        assertThat(copy.getAssociations().get(0)).isNotSameAs(findQuery.getAssociations().get(0));
+    }
+
     @Test
     void testReturnsSelfForChaining() {
         FindQuery<TestEntity, Long> result1 = findQuery.select("id");
@@ -42,12 +42,13 @@ class SqlUtilsColumnPathTest {
     }
 
     @Test
-    void two_dots_throws_NativSQLException() {
-        // Given: a path with two dots (nested)
-        // When / Then: NativSQLException is thrown mentioning "Nested column paths"
-        assertThatThrownBy(() -> SqlUtils.columnPathToParamName("a.b.value"))
-                .isInstanceOf(NativSQLException.class)
-                .hasMessageContaining("Nested column paths are not supported");
+    void two_dots_produces_camelCase_param_name_over_all_segments() {
+        // Given: a nested path (join of a join)
+        // When: converting to param name
+        String result = SqlUtils.columnPathToParamName("customer.country.name");
+
+        // Then: every segment after the first is capitalised
+        assertThat(result).isEqualTo("customerCountryName");
     }
 
     @Test
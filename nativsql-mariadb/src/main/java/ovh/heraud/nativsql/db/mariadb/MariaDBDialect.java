@@ -9,7 +9,7 @@ import ovh.heraud.nativsql.db.mysql.MySQLDialect;
  *
  * Extends MySQLDialect since MariaDB is MySQL-compatible, but overrides
  * getGeneratedKey to use MariaDB's "insert_id" field name instead of
- * MySQL's "GENERATED_KEY".
+ * MySQL's "GENERATED_KEY", and streams with the requested fetch size.
  */
 public class MariaDBDialect extends MySQLDialect {
 
@@ -25,4 +25,13 @@ public class MariaDBDialect extends MySQLDialect {
  public <ID> ID getGeneratedKey(Map<String, Object> keys, String idColumn) {
         return (ID) keys.get("insert_id");
     }
+
+    /**
+     * MariaDB Connector/J streams results fetchSize rows at a time, unlike MySQL
+     * Connector/J.
+     */
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
 }
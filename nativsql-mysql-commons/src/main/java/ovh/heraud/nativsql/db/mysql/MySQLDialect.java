@@ -45,4 +45,21 @@ public class MySQLDialect extends AbstractChainedDialect {
   public <ID> ID getGeneratedKey(Map<String, Object> keys, String idColumn) {
         return (ID) keys.get("GENERATED_KEY");
     }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    /**
+     * MySQL Connector/J buffers the whole result set in memory whatever the
+     * fetch size, unless the connection sets useCursorFetch=true, or the fetch
+     * size is Integer.MIN_VALUE: rows are then streamed one at a time, with or
+     * without useCursorFetch. The connection cannot run any other statement
+     * until the stream is closed.
+     */
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        return Integer.MIN_VALUE;
+    }
 }
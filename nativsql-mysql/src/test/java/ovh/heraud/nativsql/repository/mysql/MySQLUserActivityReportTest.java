@@ -124,7 +124,7 @@ class MySQLUserActivityReportTest extends MySQLRepositoryTest {
                 .orElseThrow();
         assertThat(report.getGroup()).isNotNull();
         assertThat(report.getGroup().getName()).isEqualTo("Engineering");
-        assertThat(report.getContacts()).isNullOrEmpty();
+        assertThat(report.getContacts()).hasSize(2);
         assertThat(report.getContactCount()).isEqualTo(2L);
     }
 
@@ -28,6 +28,9 @@ import ovh.heraud.nativsql.mapper.ITypeMapper;
  */
 public class PostgresDialect extends GenericDialect {
 
+    /** JSON mapper shared by every JSON field, rebuilt if the ObjectMapper changes. */
+    private volatile PostgreJSONTypeMapper<?> postgresJsonMapper;
+
     /**
      * Create a PostgreSQL dialect that chains to the default dialect.
      *
@@ -50,10 +53,16 @@ public class PostgresDialect extends GenericDialect {
         return (ITypeMapper<E>) new PostgresEnumMapper<>();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> ITypeMapper<T> getJsonMapper() {
-        // PostgreSQL uses the dedicated PostgreJSONTypeMapper
-        return new PostgreJSONTypeMapper<>();
+        // PostgreSQL uses the dedicated PostgreJSONTypeMapper, shared by every JSON field
+        PostgreJSONTypeMapper<?> mapper = postgresJsonMapper;
+        if (mapper == null || mapper.getObjectMapper() != getObjectMapper()) {
+            mapper = new PostgreJSONTypeMapper<>(getObjectMapper());
+            postgresJsonMapper = mapper;
+        }
+        return (ITypeMapper<T>) mapper;
     }
 
     @Override
@@ -76,4 +85,33 @@ public class PostgresDialect extends GenericDialect {
         return new PostgresByteArrayTypeMapper();
     }
 
+    /**
+     * The PostgreSQL driver ignores the fetch size in auto-commit mode and
+     * buffers the whole result set in memory.
+     */
+    @Override
+    public boolean requiresTransactionForStreaming() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    /**
+     * Numeric ids bind as a native array, so {@code id = ANY(:ids)} keeps the
+     * same statement text whatever the number of values.
+     */
+    @Override
+    public String getArrayElementType(Class<?> javaType) {
+        if (javaType == Long.class) {
+            return "bigint";
+        }
+        if (javaType == Integer.class) {
+            return "integer";
+        }
+        return null;
+    }
+
 }
@@ -1,10 +1,18 @@
 package ovh.heraud.nativsql.db.postgres.mapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import org.postgresql.util.PGobject;
 import ovh.heraud.nativsql.annotation.DbDataType;
@@ -13,29 +21,103 @@ import ovh.heraud.nativsql.annotation.type.TypeParamKey;
 import ovh.heraud.nativsql.exception.NativSQLException;
 import ovh.heraud.nativsql.mapper.AbstractTypeMapper;
 import ovh.heraud.nativsql.util.FieldAccessor;
+import ovh.heraud.nativsql.util.JsonUtils;
 
 /**
  * PostgreSQL-specific TypeMapper for JSON/JSONB types.
  * Handles reading from and writing to PostgreSQL JSON/JSONB columns.
  *
+ * <p>
+ * Unencrypted columns are read through {@link ResultSet#getBinaryStream(int)},
+ * which gives the UTF-8 bytes received from the server: Jackson parses them
+ * directly, without a {@code PGobject} nor an intermediate String. When jsonb
+ * is transferred in binary format ({@code binaryTransferEnable=jsonb}), these
+ * bytes start with a version byte, which is skipped.
+ *
+ * <p>
+ * An {@link ObjectReader} is built once per generic type of field and an {@link ObjectWriter}
+ * once per value class: a single instance serves every JSON field of the
+ * dialect.
+ *
  * @param <T> the Java type to map to/from JSON
  */
 public class PostgreJSONTypeMapper<T> extends AbstractTypeMapper<T> {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final ConcurrentHashMap<java.lang.reflect.Field, JavaType> TYPE_CACHE = new ConcurrentHashMap<>();
+    /** Version of the binary format of jsonb, sent before the JSON text. */
+    private static final int JSONB_BINARY_FORMAT_VERSION = 1;
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a JSON mapper with a default ObjectMapper.
+     */
+    public PostgreJSONTypeMapper() {
+        this(new ObjectMapper());
+    }
+
+    /**
+     * Creates a JSON mapper on the given ObjectMapper.
+     *
+     * @param objectMapper the ObjectMapper to build the readers and writers from
+     */
+    public PostgreJSONTypeMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @Override
+    protected Object readValue(ResultSet rs, int index, Map<ParamKey, Object> params) throws SQLException {
+        if (params.containsKey(TypeParamKey.ENCRYPTED)) {
+            // The ciphertext is decrypted as a whole
+            return super.readValue(rs, index, params);
+        }
+        InputStream stream = rs.getBinaryStream(index);
+        return stream != null ? skipJsonbVersion(stream) : null;
+    }
+
+    /**
+     * Skips the version byte of a jsonb value received in binary format. A value
+     * received as text, or a json value, starts with the JSON text itself, which
+     * cannot begin with this control character.
+     */
+    private static InputStream skipJsonbVersion(InputStream stream) throws SQLException {
+        PushbackInputStream pushbackStream = new PushbackInputStream(stream, 1);
+        try {
+            int first = pushbackStream.read();
+            if (first != -1 && first != JSONB_BINARY_FORMAT_VERSION) {
+                pushbackStream.unread(first);
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to read JSON value: " + e.getMessage(), e);
+        }
+        return pushbackStream;
+    }
 
     @Override
  public T fromValue(Object value, FieldAccessor<?> fieldAccessor,
  Map<ParamKey, Object> params) {
-        JavaType javaType = TYPE_CACHE.computeIfAbsent(fieldAccessor.getField(),
-                f -> objectMapper.constructType(f.getGenericType()));
+        ObjectReader reader = readers.computeIfAbsent(fieldAccessor.getGenericType(),
+                type -> objectMapper.readerFor(objectMapper.constructType(type)));
+        if (value instanceof InputStream || value instanceof Reader) {
+            try {
+                // An empty stream fails as "no content", like an empty String
+                return value instanceof InputStream inputStream ? reader.readValue(inputStream)
+                        : reader.readValue((Reader) value);
+            } catch (Exception e) {
+                throw new NativSQLException("Failed to parse JSON value", e);
+            }
+        }
         String jsonStr = value instanceof PGobject pg ? pg.getValue()
                 : value instanceof String str ? str : value.toString();
         if (jsonStr.isEmpty())
-            throw new NativSQLException("Empty JSON value cannot be converted to " + javaType.getRawClass());
+            throw new NativSQLException("Empty JSON value cannot be converted to " + fieldAccessor.getType());
         try {
-            return objectMapper.readValue(jsonStr, javaType);
+            return reader.readValue(jsonStr);
         } catch (Exception e) {
             throw new NativSQLException("Failed to parse JSON value", e);
         }
@@ -59,7 +141,8 @@ public class PostgreJSONTypeMapper<T> extends AbstractTypeMapper<T> {
         try {
             PGobject pgObject = new PGobject();
             pgObject.setType("jsonb");
-            pgObject.setValue(objectMapper.writeValueAsString(value));
+            ObjectWriter writer = writers.computeIfAbsent(value.getClass(), objectMapper::writerFor);
+            pgObject.setValue(JsonUtils.writeValueAsString(writer, value));
             return pgObject;
         } catch (Exception e) {
             throw new NativSQLException("Failed to convert to JSONB", e);
@@ -0,0 +1,67 @@
+package ovh.heraud.nativsql.repository.postgres;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+
+import ovh.heraud.nativsql.domain.postgres.Preferences;
+import ovh.heraud.nativsql.domain.postgres.User;
+import ovh.heraud.nativsql.domain.postgres.UserStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for JSONB columns read with the driver's binary transfer
+ * enabled for jsonb, where each value starts with a version byte.
+ */
+@Import({ PostgresUserRepository.class })
+class PostgresJsonBinaryTransferTest extends PostgresRepositoryTest {
+
+        @Autowired
+        private PostgresUserRepository userRepository;
+
+        /**
+         * Requests jsonb in binary format, from the first execution of each
+         * statement on.
+         */
+        @Override
+        protected DataSource createDataSourceFromContainer(JdbcDatabaseContainer<?> container) {
+                DriverManagerDataSource dataSource = (DriverManagerDataSource) super.createDataSourceFromContainer(
+                                container);
+                String url = container.getJdbcUrl();
+                dataSource.setUrl(url + (url.contains("?") ? "&" : "?")
+                                + "binaryTransferEnable=jsonb&prepareThreshold=-1");
+                return dataSource;
+        }
+
+        @Test
+        void testReadJsonbWithBinaryTransfer() {
+                // Given
+                User user = User.builder()
+                                .firstName("Bruce")
+                                .lastName("Banner")
+                                .email("bruce@example.com")
+                                .status(UserStatus.ACTIVE)
+                                .preferences(Preferences.builder().language("en").theme("green").notifications(true)
+                                                .build())
+                                .tagIds(List.of(1L, 2L, 3L))
+                                .build();
+                userRepository.insert(user, "firstName", "lastName", "email", "status", "preferences", "tagIds");
+
+                // When
+                User found = userRepository.findByEmail("bruce@example.com", "id", "preferences", "tagIds");
+
+                // Then: the version byte is not part of the parsed JSON
+                assertThat(found).isNotNull();
+                assertThat(found.getPreferences().getLanguage()).isEqualTo("en");
+                assertThat(found.getPreferences().getTheme()).isEqualTo("green");
+                assertThat(found.getPreferences().isNotifications()).isTrue();
+                assertThat(found.getTagIds()).containsExactly(1L, 2L, 3L);
+        }
+}